@@ -0,0 +1,106 @@
+package upei.project;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the TicTacToe board operations on partially filled boards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    @Param({"3", "5", "9", "15", "25"})
+    int boardSize;
+
+    /** Percentage of cells occupied before measuring. */
+    @Param({"0", "50", "90"})
+    int fillPercent;
+
+    private TicTacToe game;
+    private int freeRow;
+    private int freeCol;
+
+    @Setup
+    public void setUp() {
+        game = new TicTacToe(boardSize);
+        fill(game, fillPercent, 2910L);
+        char[][] board = game.getBoard();
+        for (int cell = boardSize * boardSize - 1; cell >= 0; cell--) {
+            if (board[cell / boardSize][cell % boardSize] == '-') {
+                freeRow = cell / boardSize;
+                freeCol = cell % boardSize;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Plays a move on a free cell and takes it back, leaving the board unchanged.
+     */
+    @Benchmark
+    public boolean playMove() {
+        boolean played = game.playMove(freeRow, freeCol);
+        game.undoMove();
+        return played;
+    }
+
+    @Benchmark
+    public boolean checkWinner() {
+        return game.checkWinner();
+    }
+
+    @Benchmark
+    public boolean isBoardFull() {
+        return game.isBoardFull();
+    }
+
+    /**
+     * Fills a board with alternating moves on random cells without ending the game.
+     * A move that would win is taken back and its cell skipped.
+     * @param game The game to fill; its board is reinitialized first.
+     * @param fillPercent The percentage of cells to try to occupy.
+     * @param seed The seed choosing the cells.
+     */
+    static void fill(TicTacToe game, int fillPercent, long seed) {
+        game.initializeBoard();
+        int size = game.getBoard().length;
+        int cells = size * size;
+        int[] order = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            order[i] = i;
+        }
+        Random random = new Random(seed);
+        for (int i = cells - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        int target = Math.min(cells - 1, cells * fillPercent / 100);
+        int placed = 0;
+        for (int i = 0; i < cells && placed < target; i++) {
+            game.playMove(order[i] / size, order[i] % size);
+            if (game.checkWinner()) {
+                game.undoMove();
+            } else {
+                placed++;
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package upei.project;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the original sequential experiment loop, reported in games per second.
+ * It always plays on a 3x3 board, so unlike GameBenchmark it takes no board size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExperimentBenchmark {
+    private Player randomX;
+    private Player blockingO;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(2910L);
+        randomX = new RandomPlayer('X', random);
+        blockingO = new BlockingPlayer('O', random);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SimulationExperiment.NUM_TRIALS)
+    public Map<String, Integer> simulationExperimentPlayGames() {
+        return SimulationExperiment.playGames(randomX, blockingO);
+    }
+}
@@ -0,0 +1,57 @@
+package upei.project;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for full-game throughput, reported in games per second.
+ * The 3x3-only experiment loop is measured by ExperimentBenchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+    @Param({"3", "5", "9", "15", "25"})
+    int boardSize;
+
+    private TicTacToe game;
+    private Player randomX;
+    private Player randomO;
+    private Player blockingX;
+    private Player blockingO;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(2910L);
+        game = new TicTacToe(boardSize);
+        randomX = new RandomPlayer('X', random);
+        randomO = new RandomPlayer('O', random);
+        blockingX = new BlockingPlayer('X', random);
+        blockingO = new BlockingPlayer('O', random);
+    }
+
+    @Benchmark
+    public char randomVsBlocking() {
+        return SimulationRunner.playGame(game, randomX, blockingO);
+    }
+
+    @Benchmark
+    public char blockingVsBlocking() {
+        return SimulationRunner.playGame(game, blockingX, blockingO);
+    }
+}
@@ -0,0 +1,68 @@
+package upei.project;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for move selection by each player strategy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+    @Param({"3", "5", "9", "15", "25"})
+    int boardSize;
+
+    /** Percentage of cells occupied before measuring. */
+    @Param({"0", "50", "90"})
+    int fillPercent;
+
+    private char[][] board;
+    private Player randomPlayer;
+    private Player blockingPlayer;
+    private Player threatPlayer;
+
+    @Setup
+    public void setUp() {
+        TicTacToe game = new TicTacToe(boardSize);
+        BoardBenchmark.fill(game, fillPercent, 2910L);
+        board = game.getBoard();
+        randomPlayer = new RandomPlayer(game.getCurrentPlayer(), new Random(1L));
+        blockingPlayer = new BlockingPlayer(game.getCurrentPlayer(), new Random(1L));
+        threatPlayer = new ThreatPlayer(game.getCurrentPlayer(), new Random(1L));
+    }
+
+    @Benchmark
+    public int randomPlayerChooseMove() {
+        return randomPlayer.chooseMove(board);
+    }
+
+    @Benchmark
+    public int blockingPlayerChooseMove() {
+        return blockingPlayer.chooseMove(board);
+    }
+
+    /**
+     * After the first call the board is unchanged, so this measures candidate ranking
+     * on an up-to-date threat map, as in a game where one stone is added per call.
+     */
+    @Benchmark
+    public int threatPlayerChooseMove() {
+        return threatPlayer.chooseMove(board);
+    }
+}
@@ -0,0 +1,53 @@
+package upei.project;
+
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for each generator algorithm, alone and driving a RandomPlayer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomSourceBenchmark {
+    @Param({"RANDOM", "SPLITTABLE", "L64X128", "XOROSHIRO128"})
+    String source;
+
+    private RandomGenerator random;
+    private Player randomPlayer;
+    private char[][] board;
+
+    @Setup
+    public void setUp() {
+        random = RandomSource.valueOf(source).create(2910L);
+        randomPlayer = new RandomPlayer('X', RandomSource.valueOf(source).create(2910L));
+        TicTacToe game = new TicTacToe(15);
+        BoardBenchmark.fill(game, 50, 2910L);
+        board = game.getBoard();
+    }
+
+    @Benchmark
+    public int nextInt() {
+        return random.nextInt(225);
+    }
+
+    @Benchmark
+    public int randomPlayerChooseMove() {
+        return randomPlayer.chooseMove(board);
+    }
+}
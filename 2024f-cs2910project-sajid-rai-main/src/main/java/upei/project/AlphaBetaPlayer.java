@@ -0,0 +1,376 @@
+package upei.project;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * AlphaBetaPlayer class that searches the game tree with negamax alpha-beta pruning.
+ * Positions are hashed with Zobrist keys under all 8 board symmetries and the smallest
+ * hash is used as the canonical key into a transposition table, so mirrored and rotated
+ * positions share one entry. Without limits the game is searched to the end (perfect
+ * play on 3x3); on larger boards a depth limit and/or time budget applies, with
+ * iterative deepening keeping the best move of the last completed depth. The same
+ * applies to a deadline set by a GameController under time control.
+ * Wins follow the player's WinRule; full-line games use LineCounters for O(1) checks.
+ */
+class AlphaBetaPlayer extends Player implements AnytimePlayer {
+    private static final int WIN = 1_000_000_000;
+    private static final int INFINITY = WIN + 2;
+    private static final int MATE_BOUND = WIN - 100_000;
+    private static final int TABLE_SIZE_LOG2 = 20;
+
+    private final int maxDepth;
+    private final long timeBudgetNanos;
+    private final TranspositionTable table;
+
+    // Search state, rebuilt whenever the board size changes
+    private int boardSize;
+    private WinRule activeRule;
+    private char[] cells;
+    private LineCounters counters;
+    private int[][] symmetries;
+    private int[][] inverses;
+    private long[][] zobrist;
+    private long sideKey;
+    private int[] searchOrder;
+    private int[][] moveLists;
+    private final long[] hashes = new long[BoardSymmetry.COUNT];
+    private int empties;
+
+    private long deadline;
+    private long moveDeadline = Long.MAX_VALUE;
+    private boolean timed;
+    private long nodes;
+    private boolean aborted;
+
+    /**
+     * Constructor for a player that searches every position to the end of the game.
+     * @param symbol The player symbol ('X' or 'O').
+     */
+    public AlphaBetaPlayer(char symbol) {
+        this(symbol, Integer.MAX_VALUE, 0L);
+    }
+
+    /**
+     * Constructor for a player with a search budget.
+     * @param symbol The player symbol ('X' or 'O').
+     * @param maxDepth The maximum number of plies to search.
+     * @param timeBudgetMillis The time allowed per move in milliseconds, or 0 for no limit.
+     */
+    public AlphaBetaPlayer(char symbol, int maxDepth, long timeBudgetMillis) {
+        super(symbol);
+        this.maxDepth = maxDepth;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.table = new TranspositionTable(TABLE_SIZE_LOG2);
+    }
+
+    @Override
+    public void setDeadline(long deadlineNanos) {
+        moveDeadline = deadlineNanos;
+    }
+
+    /**
+     * A search cut short by the clock depends on the machine's speed, so only moves of
+     * untimed searches are cacheable.
+     * @return True if the last search had no time limit.
+     */
+    @Override
+    public boolean isLastMoveCacheable() {
+        return !timed;
+    }
+
+    /**
+     * Chooses the move with the best searched score.
+     * @param board The current state of the board.
+     * @return The cell index of the move.
+     */
+    @Override
+    public int chooseMove(char[][] board) {
+        long externalDeadline = moveDeadline;
+        moveDeadline = Long.MAX_VALUE;
+        timed = timeBudgetNanos > 0 || externalDeadline != Long.MAX_VALUE;
+        load(board);
+        table.newSearch();
+        int limit = Math.min(maxDepth, empties);
+
+        // A previous search may already have solved this position exactly
+        long entry = table.probe(canonicalKey(symbol));
+        if (entry != 0L && TranspositionTable.flag(entry) == TranspositionTable.EXACT
+                && TranspositionTable.depth(entry) >= limit) {
+            int move = fromCanonical(TranspositionTable.move(entry));
+            if (move >= 0 && cells[move] == '-') {
+                return move;
+            }
+        }
+
+        aborted = false;
+        nodes = 0;
+        deadline = timeBudgetNanos > 0 ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE;
+        deadline = Math.min(deadline, externalDeadline);
+        int best = -1;
+        // Without a clock there is nothing to gain from shallower iterations
+        int depth = deadline != Long.MAX_VALUE ? 1 : limit;
+        for (; depth <= limit; depth++) {
+            int move = searchRoot(depth);
+            if (aborted) {
+                break;
+            }
+            best = move;
+        }
+        if (best < 0) {
+            best = firstEmpty();
+        }
+        return best;
+    }
+
+    private int searchRoot(int depth) {
+        char opponent = opponentOf(symbol);
+        int alpha = -INFINITY;
+        int bestMove = -1;
+        int[] moves = orderedMoves(0, canonicalKey(symbol));
+        int count = moves[moves.length - 1];
+        for (int i = 0; i < count; i++) {
+            int cell = moves[i];
+            make(cell, symbol);
+            int score = decay(-search(depth - 1, -INFINITY, -(alpha - 1), opponent, cell, 1));
+            unmake(cell, symbol);
+            if (aborted) {
+                return bestMove;
+            }
+            if (score > alpha || bestMove < 0) {
+                alpha = score;
+                bestMove = cell;
+            }
+        }
+        table.store(canonicalKey(symbol), alpha, toCanonical(bestMove), Math.min(depth, empties), TranspositionTable.EXACT);
+        return bestMove;
+    }
+
+    private int search(int depth, int alpha, int beta, char side, int lastCell, int ply) {
+        char opponent = opponentOf(side);
+        if (activeRule.isFullLine()
+                ? counters.completesLine(lastCell / boardSize, lastCell % boardSize, opponent)
+                : activeRule.completesLine(cells, lastCell, opponent)) {
+            return -WIN;
+        }
+        if (empties == 0) {
+            return 0;
+        }
+        if (depth == 0) {
+            return activeRule.isFullLine() ? counters.openLineScore(side) : activeRule.openWindowScore(cells, side);
+        }
+        if ((++nodes & 0xFFF) == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+            return 0;
+        }
+
+        long key = canonicalKey(side);
+        int needed = Math.min(depth, empties);
+        long entry = table.probe(key);
+        if (entry != 0L && TranspositionTable.depth(entry) >= needed) {
+            int value = TranspositionTable.value(entry);
+            int flag = TranspositionTable.flag(entry);
+            if (flag == TranspositionTable.EXACT
+                    || (flag == TranspositionTable.LOWER && value >= beta)
+                    || (flag == TranspositionTable.UPPER && value <= alpha)) {
+                return value;
+            }
+        }
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = -1;
+        int[] moves = orderedMoves(ply, key);
+        int count = moves[moves.length - 1];
+        for (int i = 0; i < count; i++) {
+            int cell = moves[i];
+            make(cell, side);
+            // The window is widened by one because decay() can shift a mate score by one
+            int score = decay(-search(depth - 1, -(beta + 1), -(alpha - 1), opponent, cell, ply + 1));
+            unmake(cell, side);
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = cell;
+            }
+            if (best > alpha) {
+                alpha = best;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int flag = best <= originalAlpha ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+        table.store(key, best, toCanonical(bestMove), needed, flag);
+        return best;
+    }
+
+    /**
+     * Moves a mate score one ply further away, so that quicker wins score higher.
+     */
+    private static int decay(int score) {
+        if (score > MATE_BOUND) {
+            return score - 1;
+        }
+        if (score < -MATE_BOUND) {
+            return score + 1;
+        }
+        return score;
+    }
+
+    /**
+     * Fills the move list for a ply: the transposition-table move first, then the
+     * empty cells from the centre outwards. The last slot holds the move count.
+     */
+    private int[] orderedMoves(int ply, long key) {
+        int[] moves = moveLists[ply];
+        if (moves == null) {
+            moves = new int[cells.length + 1];
+            moveLists[ply] = moves;
+        }
+        int count = 0;
+        int hashMove = -1;
+        long entry = table.probe(key);
+        if (entry != 0L) {
+            hashMove = fromCanonical(TranspositionTable.move(entry));
+            if (hashMove >= 0 && cells[hashMove] == '-') {
+                moves[count++] = hashMove;
+            } else {
+                hashMove = -1;
+            }
+        }
+        for (int cell : searchOrder) {
+            if (cells[cell] == '-' && cell != hashMove) {
+                moves[count++] = cell;
+            }
+        }
+        moves[moves.length - 1] = count;
+        return moves;
+    }
+
+    private void make(int cell, char player) {
+        cells[cell] = player;
+        counters.add(cell / boardSize, cell % boardSize, player);
+        toggle(cell, player);
+        empties--;
+    }
+
+    private void unmake(int cell, char player) {
+        cells[cell] = '-';
+        counters.remove(cell / boardSize, cell % boardSize, player);
+        toggle(cell, player);
+        empties++;
+    }
+
+    private void toggle(int cell, char player) {
+        int p = player == 'X' ? 0 : 1;
+        for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+            hashes[s] ^= zobrist[symmetries[s][cell]][p];
+        }
+    }
+
+    private long canonicalKey(char side) {
+        long key = hashes[0];
+        for (int s = 1; s < BoardSymmetry.COUNT; s++) {
+            key = Math.min(key, hashes[s]);
+        }
+        return side == 'O' ? key ^ sideKey : key;
+    }
+
+    /**
+     * Index of the symmetry whose hash is the canonical one.
+     */
+    private int canonicalSymmetry() {
+        int best = 0;
+        for (int s = 1; s < BoardSymmetry.COUNT; s++) {
+            if (hashes[s] < hashes[best]) {
+                best = s;
+            }
+        }
+        return best;
+    }
+
+    private int toCanonical(int cell) {
+        return cell < 0 ? -1 : symmetries[canonicalSymmetry()][cell];
+    }
+
+    private int fromCanonical(int cell) {
+        return cell < 0 || cell >= cells.length ? -1 : inverses[canonicalSymmetry()][cell];
+    }
+
+    private int firstEmpty() {
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] == '-') {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copies the board into the search state, rebuilding the tables on a size change.
+     */
+    private void load(char[][] board) {
+        WinRule rule = ruleFor(board);
+        if (activeRule != null && rule.getWinLength() != activeRule.getWinLength()) {
+            // Stored results are only valid under the rule they were searched with
+            table.clear();
+        }
+        activeRule = rule;
+        if (cells == null || board.length != boardSize) {
+            boardSize = board.length;
+            int cellCount = boardSize * boardSize;
+            cells = new char[cellCount];
+            counters = new LineCounters(boardSize);
+            symmetries = BoardSymmetry.permutations(boardSize);
+            inverses = BoardSymmetry.inverses(boardSize);
+            moveLists = new int[cellCount + 1][];
+            Random random = new Random(0x5EEDL + boardSize);
+            zobrist = new long[cellCount][2];
+            for (int cell = 0; cell < cellCount; cell++) {
+                zobrist[cell][0] = random.nextLong();
+                zobrist[cell][1] = random.nextLong();
+            }
+            sideKey = random.nextLong();
+            searchOrder = centreFirstOrder(boardSize);
+        }
+        counters.load(board);
+        Arrays.fill(hashes, 0L);
+        empties = 0;
+        for (int row = 0; row < boardSize; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                int cell = row * boardSize + col;
+                cells[cell] = board[row][col];
+                if (board[row][col] == '-') {
+                    empties++;
+                } else {
+                    toggle(cell, board[row][col]);
+                }
+            }
+        }
+    }
+
+    private static int[] centreFirstOrder(int n) {
+        Integer[] order = new Integer[n * n];
+        for (int cell = 0; cell < order.length; cell++) {
+            order[cell] = cell;
+        }
+        double centre = (n - 1) / 2.0;
+        Arrays.sort(order, (a, b) -> Double.compare(
+                Math.abs(a / n - centre) + Math.abs(a % n - centre),
+                Math.abs(b / n - centre) + Math.abs(b % n - centre)));
+        int[] result = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = order[i];
+        }
+        return result;
+    }
+
+    private static char opponentOf(char player) {
+        return player == 'X' ? 'O' : 'X';
+    }
+}
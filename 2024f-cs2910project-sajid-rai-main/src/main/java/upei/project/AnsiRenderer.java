@@ -0,0 +1,68 @@
+package upei.project;
+
+import java.io.PrintStream;
+
+/**
+ * AnsiRenderer class for terminals that understand ANSI escape codes. The board is drawn
+ * once per game; after that a move redraws only its own cell and the line naming it,
+ * a few dozen bytes however large the board is. Status lines are written below the
+ * board, one after another.
+ */
+class AnsiRenderer extends TextRenderer {
+    private static final String CLEAR_SCREEN = "\033[2J\033[H";
+    private static final String CLEAR_LINE = "\033[2K";
+
+    // 1-based terminal row of the line naming the last move
+    private int moveRow;
+    private int messageRow;
+
+    /**
+     * Constructor for a renderer writing to a terminal stream, e.g. System.out.
+     * @param out The stream every update is written to.
+     */
+    public AnsiRenderer(PrintStream out) {
+        super(out);
+    }
+
+    @Override
+    public void gameStarted(TicTacToe game) {
+        int boardSize = game.getBoard().length;
+        // Row 1 is the "Current board:" header and rows 2 to boardSize + 1 the board
+        moveRow = boardSize + 2;
+        messageRow = moveRow + 1;
+        frame.setLength(0);
+        frame.append(CLEAR_SCREEN);
+        appendBoard(frame, game.getBoard());
+        flushFrame();
+    }
+
+    @Override
+    public void movePlayed(TicTacToe game, int cell) {
+        int boardSize = game.getBoard().length;
+        int row = cell / boardSize;
+        int col = cell % boardSize;
+        frame.setLength(0);
+        moveTo(row + 2, 2 * col + 1);
+        frame.append(game.getLastPlayer());
+        moveTo(moveRow, 1);
+        frame.append(CLEAR_LINE).append("Player ").append(game.getLastPlayer())
+                .append(" makes a move at: (").append(row).append(", ").append(col).append(')');
+        moveTo(messageRow, 1);
+        flushFrame();
+    }
+
+    @Override
+    public void message(String text) {
+        frame.setLength(0);
+        for (String line : text.split("\n")) {
+            moveTo(messageRow++, 1);
+            frame.append(CLEAR_LINE).append(line);
+        }
+        moveTo(messageRow, 1);
+        flushFrame();
+    }
+
+    private void moveTo(int row, int col) {
+        frame.append("\033[").append(row).append(';').append(col).append('H');
+    }
+}
@@ -0,0 +1,16 @@
+package upei.project;
+
+/**
+ * AnytimePlayer interface for search-based players that can stop early and answer with
+ * the best move found so far, so a GameController under time control gets a move in
+ * time rather than a late one.
+ */
+interface AnytimePlayer {
+
+    /**
+     * Setter for the deadline of the next chooseMove call only; the player stops
+     * searching by then, or earlier if its own budget runs out first.
+     * @param deadlineNanos The System.nanoTime() value to answer by.
+     */
+    void setDeadline(long deadlineNanos);
+}
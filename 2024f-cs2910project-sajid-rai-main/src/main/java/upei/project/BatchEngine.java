@@ -0,0 +1,140 @@
+package upei.project;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * BatchEngine class to play many games in lockstep without any per-game objects.
+ * Each board of the batch is two longs (one bitboard per player) and a ply counter,
+ * stored in flat arrays. Every step advances each active game by one ply, and games
+ * that finish are swapped out of the active list, so later steps only touch live
+ * boards. Wins are found by comparing the mover's bitboard with every winLength
+ * window mask in a tight branch-free loop.
+ * Boards are limited to 64 cells (8x8) so that one board fits in a single long.
+ */
+class BatchEngine {
+    /**
+     * Built-in strategies, matching RandomPlayer and BlockingPlayer.
+     */
+    enum Strategy {
+        RANDOM,
+        BLOCKING
+    }
+
+    private final int cellCount;
+    private final int winLength;
+    private final long fullMask;
+    private final long[] windows;
+    private final long[] xStones;
+    private final long[] oStones;
+    private final int[] plies;
+    private final int[] active;
+    private final RandomGenerator random;
+
+    /**
+     * Constructor to create an engine.
+     * @param rule The rule the games are won by.
+     * @param batchSize The number of games played in lockstep.
+     * @param random The generator the random moves are drawn from, used by this engine alone.
+     */
+    public BatchEngine(WinRule rule, int batchSize, RandomGenerator random) {
+        int boardSize = rule.getBoardSize();
+        cellCount = boardSize * boardSize;
+        if (cellCount > 64) {
+            throw new IllegalArgumentException("Batch boards are limited to 8x8");
+        }
+        winLength = rule.getWinLength();
+        fullMask = cellCount == 64 ? -1L : (1L << cellCount) - 1;
+        windows = BitBoard.windowMasks(boardSize, winLength);
+        xStones = new long[batchSize];
+        oStones = new long[batchSize];
+        plies = new int[batchSize];
+        active = new int[batchSize];
+        this.random = random;
+    }
+
+    /**
+     * Method to play a number of games, one batch at a time.
+     * @param games The number of games to play.
+     * @param strategyX The strategy of 'X'.
+     * @param strategyO The strategy of 'O'.
+     * @return The results of the games.
+     */
+    public SimulationRunner.Tally play(long games, Strategy strategyX, Strategy strategyO) {
+        SimulationRunner.Tally tally = new SimulationRunner.Tally();
+        for (long played = 0; played < games; ) {
+            int size = (int) Math.min(xStones.length, games - played);
+            for (int g = 0; g < size; g++) {
+                xStones[g] = 0L;
+                oStones[g] = 0L;
+                plies[g] = 0;
+                active[g] = g;
+            }
+            int count = size;
+            while (count > 0) {
+                count = step(count, strategyX, strategyO, tally);
+            }
+            played += size;
+        }
+        return tally;
+    }
+
+    /**
+     * Method to advance every active game by one ply.
+     * @return The number of games still active.
+     */
+    private int step(int count, Strategy strategyX, Strategy strategyO, SimulationRunner.Tally tally) {
+        int i = 0;
+        while (i < count) {
+            int g = active[i];
+            boolean xToMove = (plies[g] & 1) == 0;
+            long own = xToMove ? xStones[g] : oStones[g];
+            long opponent = xToMove ? oStones[g] : xStones[g];
+            long empty = ~(own | opponent) & fullMask;
+            Strategy strategy = xToMove ? strategyX : strategyO;
+            long move = strategy == Strategy.BLOCKING ? blockingMove(opponent, empty) : randomMove(empty);
+            own |= move;
+            if (xToMove) {
+                xStones[g] = own;
+            } else {
+                oStones[g] = own;
+            }
+            plies[g]++;
+            boolean won = hasWindow(own);
+            if (won || plies[g] == cellCount) {
+                tally.record(won ? (xToMove ? 'X' : 'O') : '-');
+                // Compact: the last active game takes this slot and moves in this same step
+                active[i] = active[--count];
+            } else {
+                i++;
+            }
+        }
+        return count;
+    }
+
+    private boolean hasWindow(long stones) {
+        boolean won = false;
+        for (long window : windows) {
+            won |= (stones & window) == window;
+        }
+        return won;
+    }
+
+    /**
+     * The first empty cell, in row-major order, that would complete a window for the opponent,
+     * or a random empty cell if there is none.
+     */
+    private long blockingMove(long opponent, long empty) {
+        long threats = 0L;
+        for (long window : windows) {
+            threats |= Long.bitCount(opponent & window) == winLength - 1 ? window & empty : 0L;
+        }
+        return threats != 0L ? Long.lowestOneBit(threats) : randomMove(empty);
+    }
+
+    private long randomMove(long empty) {
+        for (int skip = random.nextInt(Long.bitCount(empty)); skip > 0; skip--) {
+            empty &= empty - 1;
+        }
+        return Long.lowestOneBit(empty);
+    }
+}
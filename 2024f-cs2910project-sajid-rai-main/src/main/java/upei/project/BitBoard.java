@@ -0,0 +1,125 @@
+package upei.project;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * BitBoard class that packs each player's stones into one long, so it serves boards
+ * up to 8x8. Cell (row, col) maps to bit (row * boardSize + col).
+ * Wins are tested with a few AND/compare operations against precomputed masks of the
+ * winLength windows through the cell last played, shared by every bitboard of the same
+ * board size and win length.
+ */
+class BitBoard {
+    static final int MAX_BOARD_SIZE = 8;
+
+    private static final ConcurrentHashMap<Integer, long[][]> WINDOWS_THROUGH = new ConcurrentHashMap<>();
+
+    private final long[][] windowsThrough;
+    private long xStones;
+    private long oStones;
+
+    /**
+     * Constructor to create an empty bitboard for a rule's board.
+     * @param rule The rule the game is won by; its board must be at most MAX_BOARD_SIZE.
+     */
+    public BitBoard(WinRule rule) {
+        int boardSize = rule.getBoardSize();
+        if (boardSize > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Bitboards are limited to 8x8");
+        }
+        windowsThrough = WINDOWS_THROUGH.computeIfAbsent(boardSize << 8 | rule.getWinLength(),
+                key -> windowsThrough(boardSize, rule.getWinLength()));
+    }
+
+    /**
+     * Method to remove every stone from the board.
+     */
+    public void clear() {
+        xStones = 0L;
+        oStones = 0L;
+    }
+
+    /**
+     * Method to place a stone for the given player.
+     * @param cell The cell index of the stone.
+     * @param player The player symbol ('X' or 'O').
+     */
+    public void place(int cell, char player) {
+        if (player == 'X') {
+            xStones |= 1L << cell;
+        } else {
+            oStones |= 1L << cell;
+        }
+    }
+
+    /**
+     * Method to remove whatever stone occupies the given cell.
+     * @param cell The cell index of the stone.
+     */
+    public void remove(int cell) {
+        long keep = ~(1L << cell);
+        xStones &= keep;
+        oStones &= keep;
+    }
+
+    /**
+     * Method to check if the given player has completed a window through a cell.
+     * @param cell The cell index, typically of the player's last move.
+     * @param player The player symbol to check.
+     * @return True if the player owns every cell of one of those windows, false otherwise.
+     */
+    public boolean hasWonThrough(int cell, char player) {
+        long stones = player == 'X' ? xStones : oStones;
+        for (long window : windowsThrough[cell]) {
+            if ((stones & window) == window) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method to list the mask of every winLength window on an n x n board, row windows
+     * first, then columns, main and anti diagonals. With k == 1 every direction yields
+     * the same single-cell windows.
+     * @param n The board size, at most MAX_BOARD_SIZE.
+     * @param k The win length.
+     * @return The window masks.
+     */
+    static long[] windowMasks(int n, int k) {
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        long[] masks = new long[4 * n * n];
+        int count = 0;
+        for (int[] direction : directions) {
+            for (int row = 0; row < n; row++) {
+                for (int col = 0; col < n; col++) {
+                    int endRow = row + direction[0] * (k - 1);
+                    int endCol = col + direction[1] * (k - 1);
+                    if (endRow < 0 || endRow >= n || endCol < 0 || endCol >= n) {
+                        continue;
+                    }
+                    long mask = 0L;
+                    for (int step = 0; step < k; step++) {
+                        mask |= 1L << ((row + step * direction[0]) * n + col + step * direction[1]);
+                    }
+                    masks[count++] = mask;
+                }
+            }
+        }
+        return Arrays.copyOf(masks, count);
+    }
+
+    /**
+     * Groups the distinct windows by the cells they cover.
+     */
+    private static long[][] windowsThrough(int n, int k) {
+        long[] windows = Arrays.stream(windowMasks(n, k)).distinct().toArray();
+        long[][] through = new long[n * n][];
+        for (int cell = 0; cell < n * n; cell++) {
+            long bit = 1L << cell;
+            through[cell] = Arrays.stream(windows).filter(window -> (window & bit) != 0).toArray();
+        }
+        return through;
+    }
+}
@@ -0,0 +1,46 @@
+package upei.project;
+
+/**
+ * BoardRenderer interface through which a GameController shows a game as it is played.
+ * The controller reports each new game, each legal move and each status line, and the
+ * renderer decides how much output that is worth: nothing at all (HEADLESS, for bulk
+ * runs), one buffered frame per move (TextRenderer) or just the changed cell
+ * (AnsiRenderer).
+ */
+interface BoardRenderer {
+    /**
+     * Renderer that shows nothing, so a game costs no output at all.
+     */
+    BoardRenderer HEADLESS = new BoardRenderer() {
+        @Override
+        public void gameStarted(TicTacToe game) {
+        }
+
+        @Override
+        public void movePlayed(TicTacToe game, int cell) {
+        }
+
+        @Override
+        public void message(String text) {
+        }
+    };
+
+    /**
+     * Shows the empty board of a new game.
+     * @param game The game, with its board initialized.
+     */
+    void gameStarted(TicTacToe game);
+
+    /**
+     * Shows a legal move, played by game.getLastPlayer().
+     * @param game The game, with the move on its board.
+     * @param cell The cell index of the move.
+     */
+    void movePlayed(TicTacToe game, int cell);
+
+    /**
+     * Shows a status line such as an invalid move, the result or the score.
+     * @param text The text, which may span several lines.
+     */
+    void message(String text);
+}
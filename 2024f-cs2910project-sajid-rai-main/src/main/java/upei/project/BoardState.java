@@ -0,0 +1,170 @@
+package upei.project;
+
+import java.util.Arrays;
+
+/**
+ * BoardState class representing one position of a game as an immutable value.
+ * Playing a move never changes a state; it returns a new one with a copy of the cells,
+ * so a state can be handed to any number of threads and read without locks. The result
+ * of the game is worked out once, when the move that ends it is played.
+ */
+final class BoardState {
+    /**
+     * Winner value of a game that is not over yet.
+     */
+    static final char ONGOING = 0;
+
+    private final WinRule rule;
+    private final char[] cells;
+    private final int moveCount;
+    private final int lastMove;
+    private final char winner;
+
+    private BoardState(WinRule rule, char[] cells, int moveCount, int lastMove, char winner) {
+        this.rule = rule;
+        this.cells = cells;
+        this.moveCount = moveCount;
+        this.lastMove = lastMove;
+        this.winner = winner;
+    }
+
+    /**
+     * Method to create the empty board of a game.
+     * @param rule The rule the game is won by.
+     * @return The state before the first move.
+     */
+    static BoardState empty(WinRule rule) {
+        char[] cells = new char[rule.getBoardSize() * rule.getBoardSize()];
+        Arrays.fill(cells, '-');
+        return new BoardState(rule, cells, 0, -1, ONGOING);
+    }
+
+    /**
+     * Method to copy a position from a board array, e.g. one taken from a TicTacToe.
+     * @param rule The rule the game is won by.
+     * @param board The board to copy; it is not kept.
+     * @param moveCount The number of moves played to reach the position.
+     * @param lastMove The cell index of the last move, or -1 if none.
+     * @return The state.
+     */
+    static BoardState copyOf(WinRule rule, char[][] board, int moveCount, int lastMove) {
+        int boardSize = board.length;
+        char[] cells = new char[boardSize * boardSize];
+        for (int row = 0; row < boardSize; row++) {
+            System.arraycopy(board[row], 0, cells, row * boardSize, boardSize);
+        }
+        char winner = ONGOING;
+        if (lastMove >= 0 && rule.completesLine(cells, lastMove, cells[lastMove])) {
+            winner = cells[lastMove];
+        } else if (moveCount == cells.length) {
+            winner = '-';
+        }
+        return new BoardState(rule, cells, moveCount, lastMove, winner);
+    }
+
+    /**
+     * Method to check that a move can be played.
+     * @param cell The cell index of the move.
+     * @return True if the game is not over and the cell is on the board and empty.
+     */
+    public boolean isLegal(int cell) {
+        return winner == ONGOING && cell >= 0 && cell < cells.length && cells[cell] == '-';
+    }
+
+    /**
+     * Method to play a move for the side to move.
+     * @param cell The cell index of the move.
+     * @return The state after the move.
+     * @throws IllegalArgumentException If the move is not legal.
+     */
+    public BoardState play(int cell) {
+        if (!isLegal(cell)) {
+            throw new IllegalArgumentException("Illegal move " + cell);
+        }
+        char player = getCurrentPlayer();
+        char[] next = cells.clone();
+        next[cell] = player;
+        char result = rule.completesLine(cells, cell, player) ? player
+                : moveCount + 1 == cells.length ? '-' : ONGOING;
+        return new BoardState(rule, next, moveCount + 1, cell, result);
+    }
+
+    /**
+     * Getter for one cell.
+     * @param row The row index.
+     * @param col The column index.
+     * @return 'X', 'O' or '-'.
+     */
+    public char get(int row, int col) {
+        return cells[row * getBoardSize() + col];
+    }
+
+    /**
+     * Method to make a private, mutable copy of the board, e.g. for a player to search on.
+     * @return A new board array.
+     */
+    public char[][] toArray() {
+        int boardSize = getBoardSize();
+        char[][] board = new char[boardSize][boardSize];
+        for (int row = 0; row < boardSize; row++) {
+            System.arraycopy(cells, row * boardSize, board[row], 0, boardSize);
+        }
+        return board;
+    }
+
+    public int getBoardSize() {
+        return rule.getBoardSize();
+    }
+
+    public WinRule getRule() {
+        return rule;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Getter for the last move.
+     * @return The cell index of the last move, or -1 on the empty board.
+     */
+    public int getLastMove() {
+        return lastMove;
+    }
+
+    /**
+     * Getter for the side to move.
+     * @return 'X' after an even number of moves, 'O' otherwise.
+     */
+    public char getCurrentPlayer() {
+        return moveCount % 2 == 0 ? 'X' : 'O';
+    }
+
+    public boolean isOver() {
+        return winner != ONGOING;
+    }
+
+    /**
+     * Getter for the result.
+     * @return The winner's symbol, '-' for a draw, or ONGOING.
+     */
+    public char getWinner() {
+        return winner;
+    }
+
+    /**
+     * @return The rows separated by '/', e.g. "XO-/-X-/---".
+     */
+    @Override
+    public String toString() {
+        int boardSize = getBoardSize();
+        StringBuilder out = new StringBuilder(cells.length + boardSize);
+        for (int row = 0; row < boardSize; row++) {
+            if (row > 0) {
+                out.append('/');
+            }
+            out.append(cells, row * boardSize, boardSize);
+        }
+        return out.toString();
+    }
+}
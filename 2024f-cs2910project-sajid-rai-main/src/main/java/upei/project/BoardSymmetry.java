@@ -0,0 +1,66 @@
+package upei.project;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * BoardSymmetry class providing the 8 symmetries of a square board (4 rotations,
+ * each optionally mirrored) as cell-index permutations. Permutation s maps a cell
+ * index to the index it moves to under that symmetry; index 0 is the identity.
+ */
+final class BoardSymmetry {
+    static final int COUNT = 8;
+
+    private static final ConcurrentHashMap<Integer, int[][][]> CACHE = new ConcurrentHashMap<>();
+
+    private BoardSymmetry() {
+    }
+
+    /**
+     * Getter for the forward permutations of a board size.
+     * @param boardSize The size of the game board.
+     * @return COUNT permutations of boardSize * boardSize cells; shared, do not modify.
+     */
+    static int[][] permutations(int boardSize) {
+        return tables(boardSize)[0];
+    }
+
+    /**
+     * Getter for the inverse permutations of a board size.
+     * @param boardSize The size of the game board.
+     * @return inverse[s][permutations[s][cell]] == cell; shared, do not modify.
+     */
+    static int[][] inverses(int boardSize) {
+        return tables(boardSize)[1];
+    }
+
+    private static int[][][] tables(int boardSize) {
+        return CACHE.computeIfAbsent(boardSize, BoardSymmetry::build);
+    }
+
+    private static int[][][] build(int n) {
+        int[][] forward = new int[COUNT][n * n];
+        int[][] inverse = new int[COUNT][n * n];
+        for (int s = 0; s < COUNT; s++) {
+            for (int row = 0; row < n; row++) {
+                for (int col = 0; col < n; col++) {
+                    int r = row;
+                    int c = col;
+                    // Rotate by 90 degrees (s & 3) times, then mirror left-right when s >= 4
+                    for (int turn = 0; turn < (s & 3); turn++) {
+                        int t = r;
+                        r = c;
+                        c = n - 1 - t;
+                    }
+                    if (s >= 4) {
+                        c = n - 1 - c;
+                    }
+                    int from = row * n + col;
+                    int to = r * n + c;
+                    forward[s][from] = to;
+                    inverse[s][to] = from;
+                }
+            }
+        }
+        return new int[][][]{forward, inverse};
+    }
+}
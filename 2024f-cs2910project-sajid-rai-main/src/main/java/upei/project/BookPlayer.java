@@ -0,0 +1,86 @@
+package upei.project;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * BookPlayer class that plays perfectly by looking moves up in an OpeningBook file.
+ * The file is memory-mapped read-only, so loading costs no heap and no search; every
+ * move is one canonical-index computation and one byte read.
+ */
+class BookPlayer extends Player {
+    private final MappedByteBuffer book;
+    private final int boardSize;
+    private final int winLength;
+    private final int[][] symmetries;
+    private final int[][] inverses;
+    private final int[] powers;
+    private final int[] indexes = new int[BoardSymmetry.COUNT];
+
+    /**
+     * Constructor to map a book written by OpeningBook.build.
+     * @param symbol The player symbol ('X' or 'O').
+     * @param file The book file.
+     * @throws IOException If the file cannot be read or is not a book.
+     */
+    public BookPlayer(char symbol, Path file) throws IOException {
+        super(symbol);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            book = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (book.limit() < OpeningBook.HEADER_BYTES || book.getInt(0) != OpeningBook.MAGIC) {
+            throw new IOException("Not an opening book: " + file);
+        }
+        boardSize = book.getInt(4);
+        winLength = book.getInt(8);
+        if (boardSize < 1 || boardSize > OpeningBook.MAX_BOARD_SIZE || winLength < 1 || winLength > boardSize
+                || book.limit() != OpeningBook.HEADER_BYTES + OpeningBook.entryCount(boardSize)) {
+            throw new IOException("Corrupt opening book: " + file);
+        }
+        symmetries = BoardSymmetry.permutations(boardSize);
+        inverses = BoardSymmetry.inverses(boardSize);
+        powers = new int[boardSize * boardSize];
+        for (int cell = 0, power = 1; cell < powers.length; cell++, power *= 3) {
+            powers[cell] = power;
+        }
+    }
+
+    /**
+     * Looks the best move up in the book.
+     * @param board The current state of the board.
+     * @return The cell index of the move.
+     */
+    @Override
+    public int chooseMove(char[][] board) {
+        if (board.length != boardSize || ruleFor(board).getWinLength() != winLength) {
+            throw new IllegalArgumentException("Book is for " + winLength + " in a row on " + boardSize + "x" + boardSize + " boards");
+        }
+        Arrays.fill(indexes, 0);
+        for (int row = 0; row < boardSize; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                int digit = OpeningBook.digit(board[row][col]);
+                if (digit != 0) {
+                    int cell = row * boardSize + col;
+                    for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+                        indexes[s] += digit * powers[symmetries[s][cell]];
+                    }
+                }
+            }
+        }
+        int symmetry = 0;
+        for (int s = 1; s < BoardSymmetry.COUNT; s++) {
+            if (indexes[s] < indexes[symmetry]) {
+                symmetry = s;
+            }
+        }
+        byte entry = book.get(OpeningBook.HEADER_BYTES + indexes[symmetry]);
+        if (OpeningBook.value(entry) == OpeningBook.UNKNOWN) {
+            throw new IllegalStateException("Position is not in the opening book");
+        }
+        return inverses[symmetry][OpeningBook.move(entry)];
+    }
+}
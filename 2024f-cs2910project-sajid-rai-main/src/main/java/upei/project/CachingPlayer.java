@@ -0,0 +1,77 @@
+package upei.project;
+
+/**
+ * CachingPlayer class that wraps any Player and replays the move it chose the last time
+ * the same position came up, from a MoveCache shared by every instance of the strategy.
+ * A move is only stored when the wrapped player reports it as cacheable, so random
+ * choices keep being made afresh.
+ *
+ * One cache must only ever hold the moves of one strategy under one WinRule, since the
+ * key is the position alone.
+ */
+class CachingPlayer extends Player {
+    private final Player delegate;
+    private final MoveCache cache;
+    private boolean lastCacheable;
+
+    /**
+     * Constructor for a caching wrapper.
+     * @param delegate The player whose moves are cached; it plays the same symbol.
+     * @param cache The cache shared by the strategy's players.
+     */
+    public CachingPlayer(Player delegate, MoveCache cache) {
+        super(delegate.getSymbol());
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    /**
+     * Method to wrap every player a factory creates, e.g. for SimulationRunner workers.
+     * @param factory The factory of the strategy.
+     * @param cache The cache shared by all the players created.
+     * @return A factory of caching players.
+     */
+    static PlayerFactory caching(PlayerFactory factory, MoveCache cache) {
+        return (symbol, random) -> new CachingPlayer(factory.create(symbol, random), cache);
+    }
+
+    @Override
+    public void setRule(WinRule rule) {
+        super.setRule(rule);
+        delegate.setRule(rule);
+    }
+
+    /**
+     * Looks the position up, asking the wrapped player only on a miss.
+     * @param board The current state of the board.
+     * @return The cell index of the move.
+     */
+    @Override
+    public int chooseMove(char[][] board) {
+        long key = MoveCache.key(board);
+        int move = cache.get(key);
+        if (move != MoveCache.ABSENT) {
+            lastCacheable = true;
+            return move;
+        }
+        move = delegate.chooseMove(board);
+        lastCacheable = delegate.isLastMoveCacheable();
+        if (lastCacheable) {
+            cache.put(key, move);
+        }
+        return move;
+    }
+
+    @Override
+    public boolean isLastMoveCacheable() {
+        return lastCacheable;
+    }
+
+    /**
+     * Getter for the cache, e.g. to report its statistics.
+     * @return The shared cache.
+     */
+    public MoveCache getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,202 @@
+package upei.project;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * GameMetrics class collecting live counters and latency histograms from the game loop.
+ * Counters are LongAdders, so any number of simulation threads can update one instance
+ * without contending. chooseMove latencies are kept per Player class. Code that is
+ * handed no GameMetrics (null) skips every timer, so instrumentation costs nothing
+ * until it is switched on.
+ */
+final class GameMetrics implements GameMetricsMXBean {
+    private final LongAdder games = new LongAdder();
+    private final LongAdder playerXWins = new LongAdder();
+    private final LongAdder playerOWins = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+    private final LongAdder invalidMoves = new LongAdder();
+    private final LatencyHistogram playMove = new LatencyHistogram();
+    private final LatencyHistogram checkWinner = new LatencyHistogram();
+    private final ConcurrentHashMap<String, LatencyHistogram> chooseMove = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+
+    // Previous snapshot, for the throughput over the last interval
+    private long lastSnapshotGames;
+    private long lastSnapshotNanos = startNanos;
+
+    /**
+     * Method to get the chooseMove histogram of a player's class. Callers on the hot path
+     * should look it up once per game rather than once per move.
+     * @param player The player whose moves are timed.
+     * @return The shared histogram for the player's class.
+     */
+    public LatencyHistogram chooseMoveHistogram(Player player) {
+        return chooseMove.computeIfAbsent(player.getClass().getSimpleName(), name -> new LatencyHistogram());
+    }
+
+    /**
+     * Getter for the histogram of TicTacToe.playMove latencies.
+     * @return The histogram.
+     */
+    public LatencyHistogram playMoveHistogram() {
+        return playMove;
+    }
+
+    /**
+     * Getter for the histogram of TicTacToe.checkWinner latencies.
+     * @return The histogram.
+     */
+    public LatencyHistogram checkWinnerHistogram() {
+        return checkWinner;
+    }
+
+    /**
+     * Method to count a move that was rejected and has to be chosen again.
+     */
+    public void recordInvalidMove() {
+        invalidMoves.increment();
+    }
+
+    /**
+     * Method to count a batch of games that were played without per-move timing.
+     * @param tally The results of the batch.
+     */
+    public void recordGames(SimulationRunner.Tally tally) {
+        games.add(tally.total());
+        playerXWins.add(tally.playerXWins);
+        playerOWins.add(tally.playerOWins);
+        draws.add(tally.draws);
+    }
+
+    /**
+     * Method to count a finished game.
+     * @param winner The winner's symbol, or '-' for a draw.
+     */
+    public void recordGame(char winner) {
+        games.increment();
+        if (winner == 'X') {
+            playerXWins.increment();
+        } else if (winner == 'O') {
+            playerOWins.increment();
+        } else {
+            draws.increment();
+        }
+    }
+
+    @Override
+    public long getGames() {
+        return games.sum();
+    }
+
+    @Override
+    public long getPlayerXWins() {
+        return playerXWins.sum();
+    }
+
+    @Override
+    public long getPlayerOWins() {
+        return playerOWins.sum();
+    }
+
+    @Override
+    public long getDraws() {
+        return draws.sum();
+    }
+
+    /**
+     * Getter for the number of playMove calls, including rejected ones.
+     * @return The number of moves attempted.
+     */
+    @Override
+    public long getMoves() {
+        return playMove.count();
+    }
+
+    @Override
+    public long getInvalidMoves() {
+        return invalidMoves.sum();
+    }
+
+    /**
+     * Getter for the average throughput since the metrics were created.
+     * @return Finished games per second.
+     */
+    @Override
+    public double getGamesPerSecond() {
+        return perSecond(games.sum(), System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public long getPlayMoveP99Nanos() {
+        return playMove.valueAtPercentile(99);
+    }
+
+    @Override
+    public long getCheckWinnerP99Nanos() {
+        return checkWinner.valueAtPercentile(99);
+    }
+
+    @Override
+    public Map<String, Long> getChooseMoveP99Nanos() {
+        Map<String, Long> result = new TreeMap<>();
+        chooseMove.forEach((name, histogram) -> result.put(name, histogram.valueAtPercentile(99)));
+        return result;
+    }
+
+    /**
+     * Method to register these metrics with the platform MBean server.
+     * @param name The value of the name key, e.g. the experiment being run.
+     * @return The name the MBean was registered under.
+     * @throws JMException If the name is taken or invalid.
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName("upei.project:type=GameMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Method to render every counter and latency percentile as text, one metric per line.
+     * The interval throughput covers the time since the previous snapshot.
+     * @return The snapshot.
+     */
+    public synchronized String snapshot() {
+        long now = System.nanoTime();
+        long gameCount = games.sum();
+        StringBuilder out = new StringBuilder();
+        out.append("uptime.seconds ").append((now - startNanos) / 1_000_000_000L).append('\n');
+        out.append("games ").append(gameCount).append('\n');
+        out.append("games.x_wins ").append(playerXWins.sum()).append('\n');
+        out.append("games.o_wins ").append(playerOWins.sum()).append('\n');
+        out.append("games.draws ").append(draws.sum()).append('\n');
+        out.append("games.per_second ").append(String.format("%.1f", perSecond(gameCount - lastSnapshotGames, now - lastSnapshotNanos))).append('\n');
+        out.append("games.per_second.average ").append(String.format("%.1f", perSecond(gameCount, now - startNanos))).append('\n');
+        out.append("moves.invalid ").append(invalidMoves.sum()).append('\n');
+        appendHistogram(out, "playMove", playMove);
+        appendHistogram(out, "checkWinner", checkWinner);
+        new TreeMap<>(chooseMove).forEach((name, histogram) -> appendHistogram(out, "chooseMove." + name, histogram));
+        lastSnapshotGames = gameCount;
+        lastSnapshotNanos = now;
+        return out.toString();
+    }
+
+    private static void appendHistogram(StringBuilder out, String name, LatencyHistogram histogram) {
+        long[] counts = histogram.counts();
+        out.append(name).append(".count ").append(LatencyHistogram.total(counts)).append('\n');
+        for (double percentile : new double[] {50, 90, 99, 99.9, 100}) {
+            String label = percentile == 100 ? "max" : "p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile));
+            out.append(name).append('.').append(label).append("_ns ")
+                    .append(LatencyHistogram.valueAtPercentile(counts, percentile)).append('\n');
+        }
+    }
+
+    private static double perSecond(long count, long nanos) {
+        return nanos > 0 ? count * 1e9 / nanos : 0.0;
+    }
+}
@@ -0,0 +1,29 @@
+package upei.project;
+
+import java.util.Map;
+
+/**
+ * Management interface of GameMetrics, as seen from JConsole or any other JMX client.
+ * JMX only exposes public interfaces, so unlike the rest of the package this one is public.
+ */
+public interface GameMetricsMXBean {
+    long getGames();
+
+    long getPlayerXWins();
+
+    long getPlayerOWins();
+
+    long getDraws();
+
+    long getMoves();
+
+    long getInvalidMoves();
+
+    double getGamesPerSecond();
+
+    long getPlayMoveP99Nanos();
+
+    long getCheckWinnerP99Nanos();
+
+    Map<String, Long> getChooseMoveP99Nanos();
+}
@@ -0,0 +1,106 @@
+package upei.project;
+
+/**
+ * GameProtocol class executing the text commands of one client connection against a
+ * SessionRegistry; the connection's attached session is its only state. Shared by the
+ * thread-per-connection GameServer and the event-loop NioGameServer.
+ */
+final class GameProtocol {
+    static final int MAX_BOARD_SIZE = 64;
+    static final int MAX_ECHO_CHARS = 64;
+
+    private final SessionRegistry registry;
+    private long sessionId = -1;
+
+    /**
+     * Constructor for a connection that has no session yet.
+     * @param registry The registry sessions are created in and looked up from.
+     */
+    public GameProtocol(SessionRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Method to run one protocol command.
+     * @param line The command line, without its newline.
+     * @return The response line, without its newline.
+     */
+    public String execute(String line) {
+        String[] words = line.trim().split("\\s+");
+        try {
+            switch (words[0].toUpperCase()) {
+                case "NEW" -> {
+                    int boardSize = Integer.parseInt(words[1]);
+                    int winLength = words.length > 2 ? Integer.parseInt(words[2]) : boardSize;
+                    if (boardSize < 1 || boardSize > MAX_BOARD_SIZE || winLength < 1 || winLength > boardSize) {
+                        return "ERR bad board size or win length";
+                    }
+                    PlayerFactory bot = GameSession.bot(words.length > 3 ? words[3] : "blocking");
+                    sessionId = registry.create(boardSize, winLength, bot).getId();
+                    return "OK " + sessionId;
+                }
+                case "ATTACH" -> {
+                    long id = Long.parseLong(words[1]);
+                    if (registry.get(id) == null) {
+                        return "ERR no session " + id;
+                    }
+                    sessionId = id;
+                    return "OK " + id;
+                }
+                case "MOVE" -> {
+                    GameSession session = session();
+                    return session == null ? expired() : session.move(Integer.parseInt(words[1]), Integer.parseInt(words[2]));
+                }
+                case "BOARD" -> {
+                    GameSession session = session();
+                    return session == null ? expired() : session.board();
+                }
+                case "SCORE" -> {
+                    GameSession session = session();
+                    return session == null ? expired() : session.score();
+                }
+                case "RESET" -> {
+                    GameSession session = session();
+                    if (session == null) {
+                        return expired();
+                    }
+                    session.reset();
+                    return "OK " + sessionId;
+                }
+                case "QUIT" -> {
+                    return "BYE";
+                }
+                default -> {
+                    return "ERR unknown command " + echo(words[0]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            return "ERR malformed command";
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return "ERR " + echo(e.getMessage());
+        }
+    }
+
+    /**
+     * Cuts client input quoted back in an error line, so a response stays short however
+     * long the command was.
+     */
+    private static String echo(String text) {
+        return text.length() <= MAX_ECHO_CHARS ? text : text.substring(0, MAX_ECHO_CHARS) + "...";
+    }
+
+    /**
+     * Method to look the attached session up, marking it as used.
+     * @return The session, or null if none is attached or it was evicted.
+     */
+    GameSession session() {
+        return sessionId < 0 ? null : registry.get(sessionId);
+    }
+
+    /**
+     * @return The error line for a command that needs a session when session() is null.
+     */
+    String expired() {
+        return sessionId < 0 ? "ERR no game, send NEW" : "ERR session " + sessionId + " expired";
+    }
+}
@@ -0,0 +1,71 @@
+package upei.project;
+
+/**
+ * GameRecord class holding one recorded game: its trial number, result and moves.
+ * A GameRecordReader fills the same instance again for every game it reads, so
+ * scanning a file allocates nothing per game.
+ */
+final class GameRecord {
+    long trial;
+    char winner;
+    int[] moves = new int[0];
+    int moveCount;
+
+    /**
+     * Getter for the trial number the game was played as.
+     * @return The trial number.
+     */
+    public long getTrial() {
+        return trial;
+    }
+
+    /**
+     * Getter for the result of the game.
+     * @return The winner's symbol, or '-' for a draw.
+     */
+    public char getWinner() {
+        return winner;
+    }
+
+    /**
+     * Getter for the number of moves in the game.
+     * @return The number of moves.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Getter for one move of the game.
+     * @param ply The zero-based number of the move.
+     * @return The cell index of that move.
+     */
+    public int getMove(int ply) {
+        if (ply < 0 || ply >= moveCount) {
+            throw new IndexOutOfBoundsException("No move " + ply + " in a game of " + moveCount);
+        }
+        return moves[ply];
+    }
+
+    /**
+     * Method to play the recorded moves on a freshly initialized game.
+     * @param game The game to replay on; its board is reinitialized first.
+     * @return The winner's symbol after the last move, or '-' if nobody has won.
+     * @throws IllegalStateException If a recorded move is not legal.
+     */
+    public char replay(TicTacToe game) {
+        game.initializeBoard();
+        for (int ply = 0; ply < moveCount; ply++) {
+            if (!game.playMove(moves[ply])) {
+                throw new IllegalStateException("Illegal move " + moves[ply] + " at ply " + ply + " of trial " + trial);
+            }
+        }
+        return game.checkWinner() ? game.getLastPlayer() : '-';
+    }
+
+    void ensureCapacity(int count) {
+        if (moves.length < count) {
+            moves = new int[count];
+        }
+    }
+}
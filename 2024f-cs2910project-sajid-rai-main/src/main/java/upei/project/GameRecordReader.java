@@ -0,0 +1,243 @@
+package upei.project;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * GameRecordReader class to stream the games of a file written by GameRecordWriter.
+ * The file is read through one fixed direct buffer and every game is decoded into a
+ * reused GameRecord, so files of any length are scanned in constant memory.
+ */
+final class GameRecordReader implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int MAX_NAME_BYTES = 1 << 10;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int boardSize;
+    private final int winLength;
+    private final long seed;
+    private final String playerX;
+    private final String playerO;
+    private final int maxRecordBytes;
+    private boolean endOfFile;
+
+    /**
+     * Constructor to open a record file and read its header.
+     * @param file The file to read.
+     * @throws IOException If the file cannot be read or is not a record file.
+     */
+    public GameRecordReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(24);
+            readFully(header);
+            if (header.getInt() != GameRecordWriter.MAGIC || header.getInt() != GameRecordWriter.VERSION) {
+                throw new IOException("Not a game record file: " + file);
+            }
+            boardSize = header.getInt();
+            winLength = header.getInt();
+            seed = header.getLong();
+            if (boardSize < 1 || winLength < 1 || winLength > boardSize) {
+                throw new IOException("Corrupt game record header: " + file);
+            }
+            playerX = readName();
+            playerO = readName();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        maxRecordBytes = GameRecordWriter.maxRecordBytes(boardSize);
+        buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_BYTES, 2 * maxRecordBytes));
+        buffer.limit(0);
+    }
+
+    /**
+     * Main method to aggregate, and optionally replay, a record file.
+     * Usage: GameRecordReader file [-replay]
+     * @param args The file name and options.
+     */
+    public static void main(String[] args) throws IOException {
+        boolean replay = args.length > 1 && args[1].equals("-replay");
+        try (GameRecordReader reader = new GameRecordReader(Paths.get(args[0]))) {
+            System.out.println(reader.getPlayerX() + " vs " + reader.getPlayerO() + " on "
+                    + reader.getBoardSize() + "x" + reader.getBoardSize() + ", " + reader.getWinLength()
+                    + " in a row, seed " + reader.getSeed());
+            SimulationRunner.Tally tally = replay ? reader.replayAll() : reader.tally();
+            System.out.println("Games: " + tally.total());
+            System.out.println("Player X Wins: " + tally.playerXWins);
+            System.out.println("Player O Wins: " + tally.playerOWins);
+            System.out.println("Draws: " + tally.draws);
+        }
+    }
+
+    /**
+     * Method to read the next game.
+     * @param record The record to fill.
+     * @return True if a game was read, false at the end of the file.
+     * @throws IOException If the file cannot be read or ends inside a record.
+     */
+    public boolean next(GameRecord record) throws IOException {
+        if (buffer.remaining() < maxRecordBytes && !endOfFile) {
+            fill();
+        }
+        if (!buffer.hasRemaining()) {
+            return false;
+        }
+        record.trial = getVarint();
+        long summary = getVarint();
+        int moveCount = (int) (summary >>> 2);
+        int result = (int) summary & 0x3;
+        if (result == 3 || moveCount > boardSize * boardSize) {
+            throw new IOException("Corrupt game record for trial " + record.trial);
+        }
+        record.winner = result == 1 ? 'X' : result == 2 ? 'O' : '-';
+        record.ensureCapacity(moveCount);
+        for (int ply = 0; ply < moveCount; ply++) {
+            record.moves[ply] = (int) getVarint();
+        }
+        record.moveCount = moveCount;
+        return true;
+    }
+
+    /**
+     * Method to count the results of every remaining game without replaying them.
+     * @return The counted results.
+     * @throws IOException If the file cannot be read.
+     */
+    public SimulationRunner.Tally tally() throws IOException {
+        SimulationRunner.Tally tally = new SimulationRunner.Tally();
+        GameRecord record = new GameRecord();
+        while (next(record)) {
+            tally.record(record.winner);
+        }
+        return tally;
+    }
+
+    /**
+     * Method to replay every remaining game on a board, checking that each ends as recorded.
+     * @return The counted results.
+     * @throws IOException If the file cannot be read or a game does not replay to its result.
+     */
+    public SimulationRunner.Tally replayAll() throws IOException {
+        SimulationRunner.Tally tally = new SimulationRunner.Tally();
+        TicTacToe game = new TicTacToe(boardSize, winLength);
+        GameRecord record = new GameRecord();
+        while (next(record)) {
+            char winner;
+            try {
+                winner = record.replay(game);
+            } catch (IllegalStateException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            if (winner != record.winner) {
+                throw new IOException("Trial " + record.trial + " replays to '" + winner
+                        + "' but was recorded as '" + record.winner + "'");
+            }
+            tally.record(winner);
+        }
+        return tally;
+    }
+
+    /**
+     * Getter for a header field.
+     * @return The size of the game board.
+     */
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    /**
+     * Getter for a header field.
+     * @return The number of stones in a row needed to win.
+     */
+    public int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * Getter for a header field.
+     * @return The seed of the run the games come from.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Getter for a header field.
+     * @return The name of the strategy that played 'X'.
+     */
+    public String getPlayerX() {
+        return playerX;
+    }
+
+    /**
+     * Getter for a header field.
+     * @return The name of the strategy that played 'O'.
+     */
+    public String getPlayerO() {
+        return playerO;
+    }
+
+    /**
+     * Method to close the file.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void fill() throws IOException {
+        buffer.compact();
+        while (buffer.position() < maxRecordBytes) {
+            if (channel.read(buffer) < 0) {
+                endOfFile = true;
+                break;
+            }
+        }
+        buffer.flip();
+    }
+
+    private long getVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new EOFException("Game record file ends inside a record");
+            }
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in game record file");
+    }
+
+    private String readName() throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(4);
+        readFully(length);
+        int bytes = length.getInt();
+        if (bytes < 0 || bytes > MAX_NAME_BYTES) {
+            throw new IOException("Corrupt player name in game record header");
+        }
+        ByteBuffer name = ByteBuffer.allocate(bytes);
+        readFully(name);
+        return StandardCharsets.UTF_8.decode(name).toString();
+    }
+
+    private void readFully(ByteBuffer target) throws IOException {
+        while (target.hasRemaining()) {
+            if (channel.read(target) < 0) {
+                throw new EOFException("Game record file ends inside its header");
+            }
+        }
+        target.flip();
+    }
+}
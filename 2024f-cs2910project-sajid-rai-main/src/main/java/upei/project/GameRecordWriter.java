@@ -0,0 +1,232 @@
+package upei.project;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GameRecordWriter class to stream every simulated game to a compact binary file.
+ *
+ * File layout: a header (MAGIC, format version, board size, win length, run seed and
+ * the two player names) followed by one record per game. A record is the trial number
+ * as a varint, then (moveCount << 2 | result) as a varint with result 0 for a draw,
+ * 1 for 'X' and 2 for 'O', then every move's cell index as a varint. A 3x3 game takes
+ * about a dozen bytes. Records appear in the order their batches were flushed, which
+ * is not trial order when several threads write.
+ *
+ * Simulation threads append to their own Batch buffer and only hand full buffers over
+ * to a single background thread that writes them to the FileChannel, so they never
+ * wait on the disk unless it falls more than QUEUED_BUFFERS buffers behind.
+ */
+final class GameRecordWriter implements Closeable {
+    static final int MAGIC = 0x54545247;
+    static final int VERSION = 1;
+
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int QUEUED_BUFFERS = 16;
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final FileChannel channel;
+    private final int maxRecordBytes;
+    private final BlockingQueue<ByteBuffer> full = new ArrayBlockingQueue<>(QUEUED_BUFFERS);
+    private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger allocatedBuffers = new AtomicInteger();
+    private final Thread flusher;
+    private volatile IOException failure;
+    private boolean closed;
+
+    /**
+     * Constructor to create (or truncate) a record file and write its header.
+     * @param file The file to write.
+     * @param boardSize The size of the game board.
+     * @param winLength The number of stones in a row needed to win.
+     * @param playerX The name of the strategy playing 'X'.
+     * @param playerO The name of the strategy playing 'O'.
+     * @param seed The seed of the run the games come from.
+     * @throws IOException If the file cannot be created.
+     */
+    public GameRecordWriter(Path file, int boardSize, int winLength, String playerX, String playerO, long seed)
+            throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        maxRecordBytes = maxRecordBytes(boardSize);
+        try {
+            byte[] nameX = playerX.getBytes(StandardCharsets.UTF_8);
+            byte[] nameO = playerO.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer header = ByteBuffer.allocate(24 + 2 * 4 + nameX.length + nameO.length);
+            header.putInt(MAGIC).putInt(VERSION).putInt(boardSize).putInt(winLength).putLong(seed);
+            header.putInt(nameX.length).put(nameX).putInt(nameO.length).put(nameO).flip();
+            writeFully(header);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        flusher = new Thread(this::drain, "game-record-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Upper bound on the encoded size of one record on a board of the given size.
+     */
+    static int maxRecordBytes(int boardSize) {
+        int cells = boardSize * boardSize;
+        return 10 + 5 + 5 * cells;
+    }
+
+    /**
+     * Method to start a new buffer for one simulation thread. A Batch must only be used
+     * by one thread at a time; give every chunk or worker its own.
+     * @return An empty batch.
+     */
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    /**
+     * Method to write every handed-over buffer and close the file. Batches must be flushed first.
+     * @throws IOException If any earlier write failed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            full.put(END);
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing the record file");
+        } finally {
+            channel.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                ByteBuffer buffer = full.take();
+                if (buffer == END) {
+                    return;
+                }
+                if (failure == null) {
+                    try {
+                        writeFully(buffer);
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+                buffer.clear();
+                free.offer(buffer);
+            }
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("Record writer interrupted");
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Getter for the number of buffers allocated so far; the pool keeps it near the
+     * number of batches in use plus QUEUED_BUFFERS however many games are written.
+     * @return The buffers allocated since the writer was created.
+     */
+    int getAllocatedBuffers() {
+        return allocatedBuffers.get();
+    }
+
+    private ByteBuffer takeBuffer() {
+        ByteBuffer buffer = free.poll();
+        if (buffer != null) {
+            return buffer;
+        }
+        allocatedBuffers.incrementAndGet();
+        return ByteBuffer.allocateDirect(Math.max(BUFFER_BYTES, 2 * maxRecordBytes));
+    }
+
+    private void handOver(ByteBuffer buffer) {
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+        buffer.flip();
+        try {
+            full.put(buffer);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while queueing records"));
+        }
+    }
+
+    static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Batch class buffering the records of one simulation thread.
+     */
+    final class Batch {
+        // Taken from the pool at the first record, so a flushed batch holds no buffer
+        private ByteBuffer buffer;
+
+        /**
+         * Method to append the finished game held by a TicTacToe.
+         * @param trial The trial number of the game.
+         * @param winner The winner's symbol, or '-' for a draw.
+         * @param game The game, still holding its move history.
+         */
+        void append(long trial, char winner, TicTacToe game) {
+            if (buffer == null) {
+                buffer = takeBuffer();
+            } else if (buffer.remaining() < maxRecordBytes) {
+                handOver(buffer);
+                buffer = takeBuffer();
+            }
+            int moveCount = game.getMoveCount();
+            int result = winner == 'X' ? 1 : winner == 'O' ? 2 : 0;
+            putVarint(buffer, trial);
+            putVarint(buffer, ((long) moveCount << 2) | result);
+            for (int ply = 0; ply < moveCount; ply++) {
+                putVarint(buffer, game.getMove(ply));
+            }
+        }
+
+        /**
+         * Method to hand the buffered records over to the writer thread. The batch gives
+         * up its buffer, so one that is dropped after its last flush leaks nothing.
+         */
+        void flush() {
+            if (buffer == null) {
+                return;
+            }
+            if (buffer.position() > 0) {
+                handOver(buffer);
+            } else {
+                free.offer(buffer);
+            }
+            buffer = null;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package upei.project;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * GameServer class hosting many concurrent games over TCP with a line protocol.
+ * Every connection is served by its own thread doing plain blocking I/O; on a JVM with
+ * virtual threads (Java 21+) those are virtual threads, so thousands of mostly idle
+ * connections cost little, and otherwise they are pooled platform threads.
+ *
+ * Protocol, one command per line, one response line per command:
+ * <pre>
+ * NEW size [winLength [random|blocking|none]]  -&gt; OK id          (client plays 'X')
+ * ATTACH id                                    -&gt; OK id
+ * MOVE row col                                 -&gt; OK reply status (reply: bot cell or -1)
+ * BOARD                                        -&gt; BOARD rows status (rows separated by '/')
+ * SCORE                                        -&gt; SCORE xWins oWins draws
+ * RESET                                        -&gt; OK id
+ * QUIT                                         -&gt; BYE
+ * </pre>
+ * status is PLAYING, X_WINS, O_WINS or DRAW; failures answer "ERR message". A line
+ * longer than MAX_LINE_CHARS is answered with "ERR line too long" and the connection
+ * is closed.
+ */
+final class GameServer implements Closeable {
+    static final int MAX_LINE_CHARS = 256;
+
+    private final ServerSocket serverSocket;
+    private final SessionRegistry registry;
+    private final ExecutorService connections;
+    private final Thread acceptor;
+
+    /**
+     * Constructor to bind the server to the loopback interface and start accepting.
+     * @param port The port to listen on, or 0 for any free port.
+     * @param maxSessions The maximum number of live sessions.
+     * @param idleTimeoutMillis The time after its last command a session is evicted.
+     * @throws IOException If the port cannot be bound.
+     */
+    public GameServer(int port, int maxSessions, long idleTimeoutMillis) throws IOException {
+        serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        registry = new SessionRegistry(maxSessions, idleTimeoutMillis);
+        connections = newThreadPerTaskExecutor("game-connection");
+        acceptor = new Thread(this::acceptLoop, "game-acceptor");
+        acceptor.start();
+    }
+
+    /**
+     * Main method to run a server until the process is stopped.
+     * Usage: GameServer [port] [maxSessions] [idleSeconds]
+     * @param args Command line arguments.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 2910;
+        int maxSessions = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        long idleSeconds = args.length > 2 ? Long.parseLong(args[2]) : 300;
+        GameServer server = new GameServer(port, maxSessions, idleSeconds * 1000);
+        System.out.println("Serving games on port " + server.getPort());
+    }
+
+    /**
+     * Method to create an executor running every task on a new thread, virtual if the
+     * JVM supports them. Looked up reflectively so the code still builds on Java 17.
+     * @param name The name given to platform threads.
+     * @return The executor.
+     */
+    static ExecutorService newThreadPerTaskExecutor(String name) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Getter for the port the server listens on.
+     * @return The local port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Getter for the session registry.
+     * @return The registry.
+     */
+    SessionRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Method to stop accepting, close every connection and stop the session sweeper.
+     * @throws IOException If the listening socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+        registry.close();
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.execute(new Connection(socket));
+            } catch (SocketException e) {
+                // Closed by close()
+            } catch (IOException e) {
+                System.err.println("Accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Connection class serving the commands of one client socket.
+     */
+    final class Connection implements Runnable {
+        private final Socket socket;
+        private final GameProtocol protocol = new GameProtocol(registry);
+
+        Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        @Override
+        public void run() {
+            try (Socket s = socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+                 Writer out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.US_ASCII))) {
+                StringBuilder line = new StringBuilder();
+                while (readLine(in, line)) {
+                    if (line.length() > MAX_LINE_CHARS) {
+                        out.write("ERR line too long\n");
+                        break;
+                    }
+                    String response = protocol.execute(line.toString());
+                    out.write(response);
+                    out.write('\n');
+                    // Pipelined commands are answered in one write
+                    if (!in.ready()) {
+                        out.flush();
+                    }
+                    if (response.equals("BYE")) {
+                        break;
+                    }
+                }
+                out.flush();
+            } catch (IOException e) {
+                // Client went away; its session stays until evicted
+            }
+        }
+
+        /**
+         * Reads one line like BufferedReader.readLine, without its '\n' or "\r\n", but
+         * stops reading once it is longer than MAX_LINE_CHARS, so a client cannot make the
+         * server buffer an endless line.
+         * @param in The client's input.
+         * @param line The builder the line is put in; longer than MAX_LINE_CHARS if cut off.
+         * @return False at the end of the input.
+         * @throws IOException If the input cannot be read.
+         */
+        private boolean readLine(Reader in, StringBuilder line) throws IOException {
+            line.setLength(0);
+            int c;
+            while ((c = in.read()) != '\n') {
+                if (c < 0) {
+                    return line.length() > 0;
+                }
+                if (line.length() > MAX_LINE_CHARS) {
+                    return true;
+                }
+                line.append((char) c);
+            }
+            if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package upei.project;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GameSession class holding the state of one game hosted by the GameServer: the board,
+ * the score across restarts and, optionally, a bot that answers every move as 'O'.
+ * Several connections may share a session, so the board is a SharedGame: a move and the
+ * bot's answer are worked out on a snapshot and installed together with one
+ * compare-and-set, retried if another connection moved first, and BOARD reads a
+ * snapshot without waiting for anyone. The bot searches on a private copy of the board.
+ * Responses can be produced as Strings or encoded straight into a ByteBuffer as ASCII,
+ * the latter without allocating.
+ */
+final class GameSession {
+    static final String PLAYING = "PLAYING";
+    static final String X_WINS = "X_WINS";
+    static final String O_WINS = "O_WINS";
+    static final String DRAW = "DRAW";
+
+    private static final String[] STATUS_NAMES = {PLAYING, X_WINS, O_WINS, DRAW};
+    private static final byte[][] STATUS_BYTES = new byte[STATUS_NAMES.length][];
+    private static final byte[] OK = ascii("OK ");
+    private static final byte[] BOARD = ascii("BOARD ");
+    private static final byte[] INVALID_MOVE = ascii("ERR invalid move\n");
+    private static final byte[] GAME_OVER = ascii("ERR game over, send RESET\n");
+
+    static {
+        for (int s = 0; s < STATUS_NAMES.length; s++) {
+            STATUS_BYTES[s] = ascii(STATUS_NAMES[s]);
+        }
+    }
+
+    // Indexes into STATUS_NAMES
+    private static final int IN_PROGRESS = 0;
+    private static final int X_WON = 1;
+    private static final int O_WON = 2;
+    private static final int DRAWN = 3;
+
+    // Results of play() besides a packed reply and status
+    private static final int INVALID = -2;
+    private static final int OVER = -3;
+
+    private final long id;
+    private final SharedGame game;
+    private final PlayerFactory bot;
+    private final AtomicInteger playerXWins = new AtomicInteger();
+    private final AtomicInteger playerOWins = new AtomicInteger();
+    private final AtomicInteger draws = new AtomicInteger();
+    private volatile long lastAccessNanos = System.nanoTime();
+
+    /**
+     * Constructor to start a session.
+     * @param id The registry id of the session.
+     * @param boardSize The size of the game board.
+     * @param winLength The number of stones in a row needed to win.
+     * @param bot Factory for the player answering as 'O', or null when both sides are played by clients.
+     */
+    public GameSession(long id, int boardSize, int winLength, PlayerFactory bot) {
+        this.id = id;
+        this.game = new SharedGame(boardSize, winLength);
+        this.bot = bot;
+    }
+
+    /**
+     * Method to look up the bot named in a NEW command.
+     * @param name "random", "blocking", "threat" or "none".
+     * @return Factory for the bot, or null for "none".
+     * @throws IllegalArgumentException If the name is unknown.
+     */
+    static PlayerFactory bot(String name) {
+        return switch (name) {
+            case "random" -> RandomPlayer::new;
+            case "blocking" -> BlockingPlayer::new;
+            case "threat" -> ThreatPlayer::new;
+            case "none" -> null;
+            default -> throw new IllegalArgumentException("unknown opponent " + name);
+        };
+    }
+
+    /**
+     * Upper bound on the length of any response line for a board of the given size.
+     */
+    static int maxResponseBytes(int boardSize) {
+        return 32 + boardSize * (boardSize + 1);
+    }
+
+    /**
+     * Getter for the registry id.
+     * @return The session id.
+     */
+    public long getId() {
+        return id;
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    /**
+     * Getter for the current position.
+     * @return An immutable snapshot of the board.
+     */
+    public BoardState snapshot() {
+        return game.snapshot();
+    }
+
+    /**
+     * Method to play a client move and, if the game goes on, the bot's answer.
+     * @param row The row index of the move.
+     * @param col The column index of the move.
+     * @return "OK reply status", where reply is the bot's cell index or -1.
+     */
+    public String move(int row, int col) {
+        int result = play(row, col);
+        if (result == INVALID) {
+            return "ERR invalid move";
+        } else if (result == OVER) {
+            return "ERR game over, send RESET";
+        }
+        return "OK " + ((result >> 2) - 1) + " " + STATUS_NAMES[result & 3];
+    }
+
+    /**
+     * Method to play a move like move(row, col), encoding the response line into a buffer.
+     * @param row The row index of the move.
+     * @param col The column index of the move.
+     * @param out The buffer the response line, with its newline, is put into.
+     */
+    public void move(int row, int col, ByteBuffer out) {
+        int result = play(row, col);
+        if (result == INVALID) {
+            out.put(INVALID_MOVE);
+        } else if (result == OVER) {
+            out.put(GAME_OVER);
+        } else {
+            out.put(OK);
+            putInt(out, (result >> 2) - 1);
+            out.put((byte) ' ').put(STATUS_BYTES[result & 3]).put((byte) '\n');
+        }
+    }
+
+    /**
+     * Method to render the board, rows separated by '/'.
+     * @return "BOARD rows status".
+     */
+    public String board() {
+        BoardState state = game.snapshot();
+        return "BOARD " + state + " " + STATUS_NAMES[status(state)];
+    }
+
+    /**
+     * Method to encode the board response line, as board() renders it, into a buffer.
+     * @param out The buffer the response line, with its newline, is put into.
+     */
+    public void board(ByteBuffer out) {
+        BoardState state = game.snapshot();
+        int boardSize = state.getBoardSize();
+        out.put(BOARD);
+        for (int row = 0; row < boardSize; row++) {
+            if (row > 0) {
+                out.put((byte) '/');
+            }
+            for (int col = 0; col < boardSize; col++) {
+                out.put((byte) state.get(row, col));
+            }
+        }
+        out.put((byte) ' ').put(STATUS_BYTES[status(state)]).put((byte) '\n');
+    }
+
+    /**
+     * Method to report the score of every finished game in the session.
+     * The three counts are read one after another, so a game finishing meanwhile may
+     * show up in one of them only.
+     * @return "SCORE xWins oWins draws".
+     */
+    public String score() {
+        return "SCORE " + playerXWins.get() + " " + playerOWins.get() + " " + draws.get();
+    }
+
+    /**
+     * Method to start another game in the session, keeping the score.
+     */
+    public void reset() {
+        game.reset();
+    }
+
+    /**
+     * Plays the client's move and the bot's answer as one update of the shared game.
+     * @return (reply + 1) << 2 | status, where reply is the bot's cell or -1, or INVALID or OVER.
+     */
+    private int play(int row, int col) {
+        while (true) {
+            BoardState current = game.snapshot();
+            int boardSize = current.getBoardSize();
+            if (current.isOver()) {
+                return OVER;
+            }
+            if (row < 0 || row >= boardSize || col < 0 || col >= boardSize || !current.isLegal(row * boardSize + col)) {
+                return INVALID;
+            }
+            BoardState next = current.play(row * boardSize + col);
+            int reply = -1;
+            if (!next.isOver() && bot != null) {
+                reply = botMove(next);
+                next = next.play(reply);
+            }
+            if (game.compareAndSet(current, next)) {
+                if (next.isOver()) {
+                    // Only the thread whose update ended the game counts it
+                    updateScore(next.getWinner());
+                }
+                return (reply + 1) << 2 | status(next);
+            }
+        }
+    }
+
+    private int botMove(BoardState state) {
+        Player player = bot.create('O', ThreadLocalRandom.current());
+        player.setRule(state.getRule());
+        int reply = player.chooseMove(state.toArray());
+        if (!state.isLegal(reply)) {
+            throw new IllegalStateException("Bot chose occupied cell " + reply);
+        }
+        return reply;
+    }
+
+    private void updateScore(char winner) {
+        if (winner == 'X') {
+            playerXWins.incrementAndGet();
+        } else if (winner == 'O') {
+            playerOWins.incrementAndGet();
+        } else {
+            draws.incrementAndGet();
+        }
+    }
+
+    private static int status(BoardState state) {
+        return switch (state.getWinner()) {
+            case 'X' -> X_WON;
+            case 'O' -> O_WON;
+            case '-' -> DRAWN;
+            default -> IN_PROGRESS;
+        };
+    }
+
+    /**
+     * Puts the decimal digits of a value into a buffer without creating a String.
+     */
+    static void putInt(ByteBuffer out, int value) {
+        if (value < 0) {
+            out.put((byte) '-');
+            value = -value;
+        }
+        int divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
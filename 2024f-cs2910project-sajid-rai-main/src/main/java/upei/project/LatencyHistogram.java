@@ -0,0 +1,115 @@
+package upei.project;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram class counting durations in log-linear buckets, in the manner of
+ * HdrHistogram. Values below 32 get a bucket each; above that every power of two is
+ * split into 32 equal sub-buckets, so any recorded value is reported to within about
+ * 3% using a fixed 15 KB per stripe. Recording is a single atomic increment on a
+ * stripe picked by thread, so concurrent recorders rarely touch the same cache line.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+
+    /**
+     * Constructor to create an empty histogram with one stripe per core.
+     */
+    public LatencyHistogram() {
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+        stripes = new AtomicLongArray[count];
+        for (int s = 0; s < count; s++) {
+            stripes[s] = new AtomicLongArray(BUCKETS);
+        }
+        stripeMask = count - 1;
+    }
+
+    /**
+     * Method to record one duration.
+     * @param nanos The duration in nanoseconds; negative values are counted as 0.
+     */
+    public void record(long nanos) {
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        stripes[stripe].incrementAndGet(bucketOf(Math.max(0L, nanos)));
+    }
+
+    /**
+     * Method to merge every stripe into one array of bucket counts.
+     * @return The count of each bucket.
+     */
+    public long[] counts() {
+        long[] counts = new long[BUCKETS];
+        for (AtomicLongArray stripe : stripes) {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                counts[bucket] += stripe.get(bucket);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Method to count every recorded value.
+     * @return The number of values recorded.
+     */
+    public long count() {
+        return total(counts());
+    }
+
+    /**
+     * Method to estimate a percentile of the recorded values.
+     * @param percentile The percentile, from 0 to 100.
+     * @return The highest value equivalent to the percentile's bucket, or 0 when empty.
+     */
+    public long valueAtPercentile(double percentile) {
+        return valueAtPercentile(counts(), percentile);
+    }
+
+    static long valueAtPercentile(long[] counts, double percentile) {
+        long total = total(counts);
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(total * Math.min(100.0, percentile) / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return highestValueIn(bucket);
+            }
+        }
+        return highestValueIn(counts.length - 1);
+    }
+
+    static long total(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + sub;
+    }
+
+    static long highestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        long sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lowest = (1L << exponent) | (sub * width);
+        return lowest + width - 1;
+    }
+}
@@ -0,0 +1,87 @@
+package upei.project;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * LearnedPlayer class that plays greedily from a ValueTable trained by SelfPlayTrainer.
+ * The table is only read, so a player loaded from a file plays without any training and
+ * any number of players can share one table.
+ */
+class LearnedPlayer extends Player {
+    private final ValueTable table;
+    private final int boardSize;
+    private final int[][] symmetries;
+    private final int[] powers;
+    private final int[] indexes = new int[BoardSymmetry.COUNT];
+
+    /**
+     * Constructor for a player using a table in memory.
+     * @param symbol The player symbol ('X' or 'O').
+     * @param table The trained table.
+     */
+    public LearnedPlayer(char symbol, ValueTable table) {
+        super(symbol);
+        this.table = table;
+        this.boardSize = table.getBoardSize();
+        this.symmetries = BoardSymmetry.permutations(boardSize);
+        this.powers = new int[boardSize * boardSize];
+        for (int cell = 0, power = 1; cell < powers.length; cell++, power *= 3) {
+            powers[cell] = power;
+        }
+    }
+
+    /**
+     * Constructor to map a table written by ValueTable.save.
+     * @param symbol The player symbol ('X' or 'O').
+     * @param file The table file.
+     * @throws IOException If the file cannot be read or is not a value table.
+     */
+    public LearnedPlayer(char symbol, Path file) throws IOException {
+        this(symbol, ValueTable.load(file));
+    }
+
+    /**
+     * Chooses the empty cell leading to the highest-valued position, the lowest cell on ties.
+     * @param board The current state of the board.
+     * @return The cell index of the move.
+     */
+    @Override
+    public int chooseMove(char[][] board) {
+        if (board.length != boardSize || ruleFor(board).getWinLength() != table.getWinLength()) {
+            throw new IllegalArgumentException("Table is for " + table.getWinLength() + " in a row on "
+                    + boardSize + "x" + boardSize + " boards");
+        }
+        Arrays.fill(indexes, 0);
+        for (int row = 0; row < boardSize; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                int digit = OpeningBook.digit(board[row][col]);
+                if (digit != 0) {
+                    int cell = row * boardSize + col;
+                    for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+                        indexes[s] += digit * powers[symmetries[s][cell]];
+                    }
+                }
+            }
+        }
+        int mover = OpeningBook.digit(symbol);
+        int best = -1;
+        float bestValue = -1f;
+        for (int cell = 0; cell < powers.length; cell++) {
+            if (board[cell / boardSize][cell % boardSize] != '-') {
+                continue;
+            }
+            int after = Integer.MAX_VALUE;
+            for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+                after = Math.min(after, indexes[s] + mover * powers[symmetries[s][cell]]);
+            }
+            float value = table.get(after);
+            if (value > bestValue) {
+                best = cell;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+}
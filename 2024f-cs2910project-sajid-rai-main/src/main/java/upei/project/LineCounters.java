@@ -0,0 +1,184 @@
+package upei.project;
+
+/**
+ * LineCounters class that keeps, for each player, how many of their stones lie
+ * in every row, column and diagonal. Updating a move touches at most four
+ * counters, so a win through the last move is detected in constant time.
+ */
+class LineCounters {
+    private final int boardSize;
+    private final int[][] rowCounts;
+    private final int[][] colCounts;
+    private final int[] mainDiagonalCounts;
+    private final int[] antiDiagonalCounts;
+
+    /**
+     * Constructor to create zeroed counters for the specified board size.
+     * @param boardSize The size of the game board.
+     */
+    public LineCounters(int boardSize) {
+        this.boardSize = boardSize;
+        rowCounts = new int[2][boardSize];
+        colCounts = new int[2][boardSize];
+        mainDiagonalCounts = new int[2];
+        antiDiagonalCounts = new int[2];
+    }
+
+    /**
+     * Builds counters for an existing board in a single pass.
+     * @param board The current state of the board.
+     * @return Counters matching every stone on the board.
+     */
+    public static LineCounters fromBoard(char[][] board) {
+        LineCounters counters = new LineCounters(board.length);
+        counters.load(board);
+        return counters;
+    }
+
+    /**
+     * Method to reset the counters to match an existing board of the same size.
+     * @param board The current state of the board.
+     */
+    public void load(char[][] board) {
+        clear();
+        for (int i = 0; i < boardSize; i++) {
+            for (int j = 0; j < boardSize; j++) {
+                if (board[i][j] != '-') {
+                    add(i, j, board[i][j]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to overwrite these counters with a copy of another set of the same size.
+     * @param other The counters to copy.
+     */
+    public void copyFrom(LineCounters other) {
+        for (int p = 0; p < 2; p++) {
+            System.arraycopy(other.rowCounts[p], 0, rowCounts[p], 0, boardSize);
+            System.arraycopy(other.colCounts[p], 0, colCounts[p], 0, boardSize);
+            mainDiagonalCounts[p] = other.mainDiagonalCounts[p];
+            antiDiagonalCounts[p] = other.antiDiagonalCounts[p];
+        }
+    }
+
+    /**
+     * Getter for the board size the counters were created for.
+     * @return The size of the game board.
+     */
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    /**
+     * Method to reset every counter to zero.
+     */
+    public void clear() {
+        for (int p = 0; p < 2; p++) {
+            for (int i = 0; i < boardSize; i++) {
+                rowCounts[p][i] = 0;
+                colCounts[p][i] = 0;
+            }
+            mainDiagonalCounts[p] = 0;
+            antiDiagonalCounts[p] = 0;
+        }
+    }
+
+    /**
+     * Method to record a stone placed by the given player.
+     * @param row The row index of the stone.
+     * @param col The column index of the stone.
+     * @param player The player symbol ('X' or 'O').
+     */
+    public void add(int row, int col, char player) {
+        update(row, col, index(player), 1);
+    }
+
+    /**
+     * Method to take back a stone previously recorded with add.
+     * @param row The row index of the stone.
+     * @param col The column index of the stone.
+     * @param player The player symbol ('X' or 'O').
+     */
+    public void remove(int row, int col, char player) {
+        update(row, col, index(player), -1);
+    }
+
+    /**
+     * Method to check if the player owns a complete line through the given cell.
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @param player The player symbol to check.
+     * @return True if a line through the cell is complete, false otherwise.
+     */
+    public boolean completesLine(int row, int col, char player) {
+        return longestLineThrough(row, col, index(player)) == boardSize;
+    }
+
+    /**
+     * Method to check if a stone on an empty cell would complete a line for the player.
+     * @param row The row index of the empty cell.
+     * @param col The column index of the empty cell.
+     * @param player The player symbol to check.
+     * @return True if placing the stone would win, false otherwise.
+     */
+    public boolean wouldComplete(int row, int col, char player) {
+        return longestLineThrough(row, col, index(player)) == boardSize - 1;
+    }
+
+    /**
+     * Heuristic score of the position for the given player. Every line the opponent
+     * has not entered is worth 4^stones to the player, and vice versa.
+     * @param player The player symbol to score for.
+     * @return Positive if the player has more promising lines than the opponent.
+     */
+    public int openLineScore(char player) {
+        int me = index(player);
+        int other = 1 - me;
+        int score = 0;
+        for (int i = 0; i < boardSize; i++) {
+            score += lineScore(rowCounts[me][i], rowCounts[other][i]);
+            score += lineScore(colCounts[me][i], colCounts[other][i]);
+        }
+        score += lineScore(mainDiagonalCounts[me], mainDiagonalCounts[other]);
+        score += lineScore(antiDiagonalCounts[me], antiDiagonalCounts[other]);
+        return score;
+    }
+
+    private static int lineScore(int mine, int theirs) {
+        if (mine > 0 && theirs == 0) {
+            return 1 << (2 * Math.min(mine, 10));
+        }
+        if (theirs > 0 && mine == 0) {
+            return -(1 << (2 * Math.min(theirs, 10)));
+        }
+        return 0;
+    }
+
+    private int longestLineThrough(int row, int col, int p) {
+        int best = Math.max(rowCounts[p][row], colCounts[p][col]);
+        if (row == col) {
+            best = Math.max(best, mainDiagonalCounts[p]);
+        }
+        if (row + col == boardSize - 1) {
+            best = Math.max(best, antiDiagonalCounts[p]);
+        }
+        return best;
+    }
+
+    private void update(int row, int col, int p, int delta) {
+        rowCounts[p][row] += delta;
+        colCounts[p][col] += delta;
+        if (row == col) {
+            mainDiagonalCounts[p] += delta;
+        }
+        if (row + col == boardSize - 1) {
+            antiDiagonalCounts[p] += delta;
+        }
+    }
+
+    private static int index(char player) {
+        return player == 'X' ? 0 : 1;
+    }
+}
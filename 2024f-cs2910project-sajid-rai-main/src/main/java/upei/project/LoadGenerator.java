@@ -0,0 +1,180 @@
+package upei.project;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoadGenerator class to measure a GameServer from the same machine. Every client
+ * opens its own connection and plays random legal moves against the server's bot
+ * until its games are done; the round trip of every MOVE goes into one histogram.
+ */
+final class LoadGenerator {
+    private final String host;
+    private final int port;
+    private final int boardSize;
+    private final int winLength;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder games = new LongAdder();
+
+    /**
+     * Constructor to configure a load run.
+     * @param host The server host.
+     * @param port The server port.
+     * @param boardSize The size of the boards to play on.
+     * @param winLength The number of stones in a row needed to win.
+     */
+    public LoadGenerator(String host, int port, int boardSize, int winLength) {
+        this.host = host;
+        this.port = port;
+        this.boardSize = boardSize;
+        this.winLength = winLength;
+    }
+
+    /**
+     * Main method to run a load test and print throughput and latency percentiles.
+     * Usage: LoadGenerator port|-server|-nio [clients] [gamesPerClient] [size] [k], where
+     * -server and -nio start an in-process GameServer or NioGameServer on a free port
+     * instead of using a running one.
+     * @param args Command line arguments.
+     */
+    public static void main(String[] args) throws Exception {
+        String target = args.length > 0 ? args[0] : "2910";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int gamesPerClient = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int boardSize = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+        int winLength = args.length > 4 ? Integer.parseInt(args[4]) : boardSize;
+        Closeable server = null;
+        int port;
+        if (target.equals("-server")) {
+            GameServer threaded = new GameServer(0, clients * 2, 60_000);
+            server = threaded;
+            port = threaded.getPort();
+        } else if (target.equals("-nio")) {
+            NioGameServer nio = new NioGameServer(0, clients * 2, 60_000);
+            server = nio;
+            port = nio.getPort();
+        } else {
+            port = Integer.parseInt(target);
+        }
+        try {
+            LoadGenerator generator = new LoadGenerator("localhost", port, boardSize, winLength);
+            long start = System.nanoTime();
+            generator.run(clients, gamesPerClient, 1L);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            LatencyHistogram moves = generator.getLatency();
+            System.out.printf("%d clients, %d games, %d moves in %.2f s%n", clients, generator.getGames(), moves.count(), seconds);
+            System.out.printf("%.0f games/s, %.0f moves/s%n", generator.getGames() / seconds, moves.count() / seconds);
+            System.out.printf("MOVE round trip us: p50 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n",
+                    moves.valueAtPercentile(50) / 1e3, moves.valueAtPercentile(99) / 1e3,
+                    moves.valueAtPercentile(99.9) / 1e3, moves.valueAtPercentile(100) / 1e3);
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    /**
+     * Method to run all clients concurrently and wait for them to finish.
+     * @param clients The number of concurrent connections.
+     * @param gamesPerClient The number of games each client plays.
+     * @param seed The seed the clients' generators are split from.
+     * @throws Exception If a client fails.
+     */
+    public void run(int clients, int gamesPerClient, long seed) throws Exception {
+        ExecutorService executor = GameServer.newThreadPerTaskExecutor("load-client");
+        try {
+            SplittableRandom random = new SplittableRandom(seed);
+            Future<?>[] futures = new Future<?>[clients];
+            for (int c = 0; c < clients; c++) {
+                SplittableRandom clientRandom = random.split();
+                futures[c] = executor.submit(() -> {
+                    playClient(gamesPerClient, clientRandom);
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Getter for the MOVE round-trip latencies recorded so far.
+     * @return The histogram, in nanoseconds.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Getter for the number of games finished so far.
+     * @return The number of games.
+     */
+    public long getGames() {
+        return games.sum();
+    }
+
+    private void playClient(int gamesToPlay, SplittableRandom random) throws IOException {
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+            socket.setTcpNoDelay(true);
+            char[] cells = new char[boardSize * boardSize];
+            int[] empty = new int[cells.length];
+            request(in, out, "NEW " + boardSize + " " + winLength + " blocking");
+            for (int g = 0; g < gamesToPlay; g++) {
+                if (g > 0) {
+                    request(in, out, "RESET");
+                }
+                Arrays.fill(cells, '-');
+                String status = GameSession.PLAYING;
+                while (status.equals(GameSession.PLAYING)) {
+                    int emptyCount = 0;
+                    for (int cell = 0; cell < cells.length; cell++) {
+                        if (cells[cell] == '-') {
+                            empty[emptyCount++] = cell;
+                        }
+                    }
+                    int move = empty[random.nextInt(emptyCount)];
+                    long start = System.nanoTime();
+                    String[] reply = request(in, out, "MOVE " + move / boardSize + " " + move % boardSize).split(" ");
+                    latency.record(System.nanoTime() - start);
+                    cells[move] = 'X';
+                    int botMove = Integer.parseInt(reply[1]);
+                    if (botMove >= 0) {
+                        cells[botMove] = 'O';
+                    }
+                    status = reply[2];
+                }
+                games.increment();
+            }
+            request(in, out, "QUIT");
+        }
+    }
+
+    private static String request(BufferedReader in, Writer out, String command) throws IOException {
+        out.write(command);
+        out.write('\n');
+        out.flush();
+        String response = in.readLine();
+        if (response == null || response.startsWith("ERR")) {
+            throw new IOException("'" + command + "' failed: " + response);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,341 @@
+package upei.project;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * MctsPlayer class that chooses moves by Monte Carlo Tree Search (UCT).
+ * Several workers grow one shared tree at the same time. Visit and value counters are
+ * updated with atomic field updaters and a virtual loss steers concurrent workers to
+ * different branches, so no locks are taken. Random playouts draw from an explicit
+ * list of empty cells and detect wins with LineCounters, so every playout step is O(1)
+ * (O(winLength) with a windowed WinRule). Under time control the search also stops at
+ * the GameController's deadline and plays the most visited move so far.
+ * The calling thread runs the first worker and the others run in the common
+ * ForkJoinPool, so a player owns no threads and needs no closing however many are
+ * created, e.g. one per tournament matchup or server session.
+ */
+class MctsPlayer extends Player implements AnytimePlayer {
+    private static final int VIRTUAL_LOSS = 3;
+    private static final int EXPANSION_VISITS = 2;
+    private static final double EXPLORATION = 1.4;
+    private static final char ONGOING = 0;
+
+    private final long simulations;
+    private final long timeBudgetNanos;
+    private final Worker[] workers;
+
+    // Root position, read by every worker at the start of a playout
+    private int boardSize;
+    private WinRule activeRule;
+    private char[] rootCells;
+    private LineCounters rootCounters;
+    private int[] rootEmpty;
+    private int[] rootPosition;
+    private int rootEmptyCount;
+    private long moveDeadline = Long.MAX_VALUE;
+
+    /**
+     * Constructor for a player using every core and a fixed number of playouts per move.
+     * @param symbol The player symbol ('X' or 'O').
+     * @param simulations The number of playouts per move.
+     */
+    public MctsPlayer(char symbol, long simulations) {
+        this(symbol, Runtime.getRuntime().availableProcessors(), simulations, 0L, System.nanoTime());
+    }
+
+    /**
+     * Constructor for a player with an explicit budget.
+     * @param symbol The player symbol ('X' or 'O').
+     * @param threads The number of workers searching in parallel; beyond one more than
+     *                the common pool's parallelism they add no speed.
+     * @param simulations The maximum number of playouts per move, or 0 for no limit.
+     * @param timeBudgetMillis The time allowed per move in milliseconds, or 0 for no limit.
+     * @param seed The seed the workers' generators are split from.
+     */
+    public MctsPlayer(char symbol, int threads, long simulations, long timeBudgetMillis, long seed) {
+        super(symbol);
+        if (simulations <= 0 && timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("A simulation or time budget is required");
+        }
+        this.simulations = simulations > 0 ? simulations : Long.MAX_VALUE;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        SplittableRandom random = new SplittableRandom(seed);
+        workers = new Worker[threads];
+        for (int w = 0; w < threads; w++) {
+            workers[w] = new Worker(random.split());
+        }
+    }
+
+    @Override
+    public void setDeadline(long deadlineNanos) {
+        moveDeadline = deadlineNanos;
+    }
+
+    @Override
+    public boolean isLastMoveCacheable() {
+        return false;
+    }
+
+    /**
+     * Chooses the most visited move after the search budget is spent.
+     * @param board The current state of the board.
+     * @return The cell index of the move.
+     */
+    @Override
+    public int chooseMove(char[][] board) {
+        long externalDeadline = moveDeadline;
+        moveDeadline = Long.MAX_VALUE;
+        load(board);
+        if (rootEmptyCount == 1) {
+            return rootEmpty[0];
+        }
+        Node root = new Node(-1, opponentOf(symbol), ONGOING);
+        AtomicLong budget = new AtomicLong(simulations);
+        long deadline = Math.min(externalDeadline,
+                timeBudgetNanos > 0 ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE);
+        ForkJoinTask<?>[] helpers = new ForkJoinTask<?>[workers.length - 1];
+        for (int w = 1; w < workers.length; w++) {
+            Worker worker = workers[w];
+            helpers[w - 1] = ForkJoinPool.commonPool().submit(() -> worker.search(root, budget, deadline));
+        }
+        workers[0].search(root, budget, deadline);
+        for (ForkJoinTask<?> helper : helpers) {
+            helper.join();
+        }
+
+        Edges edges = root.edges;
+        int best = rootEmpty[0];
+        long bestVisits = -1;
+        for (int slot = 0; edges != null && slot < edges.moves.length; slot++) {
+            Node child = edges.children.get(slot);
+            if (child != null && child.visits > bestVisits) {
+                bestVisits = child.visits;
+                best = child.move;
+            }
+        }
+        return best;
+    }
+
+    private void load(char[][] board) {
+        activeRule = ruleFor(board);
+        if (rootCounters == null || board.length != boardSize) {
+            boardSize = board.length;
+            rootCells = new char[boardSize * boardSize];
+            rootCounters = new LineCounters(boardSize);
+            rootEmpty = new int[boardSize * boardSize];
+            rootPosition = new int[boardSize * boardSize];
+            for (Worker worker : workers) {
+                worker.resize();
+            }
+        }
+        rootCounters.load(board);
+        rootEmptyCount = 0;
+        for (int cell = 0; cell < rootEmpty.length; cell++) {
+            rootCells[cell] = board[cell / boardSize][cell % boardSize];
+            if (rootCells[cell] == '-') {
+                rootPosition[cell] = rootEmptyCount;
+                rootEmpty[rootEmptyCount++] = cell;
+            }
+        }
+    }
+
+    private static char opponentOf(char player) {
+        return player == 'X' ? 'O' : 'X';
+    }
+
+    /**
+     * Search tree node. Counters are in half points: a win is worth 2 and a draw 1
+     * to the player who made the move leading to this node.
+     */
+    private static final class Node {
+        private static final AtomicLongFieldUpdater<Node> VISITS =
+                AtomicLongFieldUpdater.newUpdater(Node.class, "visits");
+        private static final AtomicLongFieldUpdater<Node> VALUE =
+                AtomicLongFieldUpdater.newUpdater(Node.class, "value");
+        private static final AtomicReferenceFieldUpdater<Node, Edges> EDGES =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Edges.class, "edges");
+
+        final int move;
+        final char mover;
+        final char winner;
+        volatile long visits;
+        volatile long value;
+        volatile Edges edges;
+
+        Node(int move, char mover, char winner) {
+            this.move = move;
+            this.mover = mover;
+            this.winner = winner;
+        }
+
+        void addVirtualLoss() {
+            VISITS.addAndGet(this, VIRTUAL_LOSS);
+        }
+
+        void backup(char result) {
+            VISITS.addAndGet(this, 1 - VIRTUAL_LOSS);
+            VALUE.addAndGet(this, result == mover ? 2 : result == '-' ? 1 : 0);
+        }
+
+        Edges expand(int[] empty, int emptyCount) {
+            Edges created = new Edges(Arrays.copyOf(empty, emptyCount));
+            return EDGES.compareAndSet(this, null, created) ? created : edges;
+        }
+    }
+
+    /**
+     * Outgoing moves of an expanded node; child nodes are created on first selection.
+     */
+    private static final class Edges {
+        final int[] moves;
+        final AtomicReferenceArray<Node> children;
+
+        Edges(int[] moves) {
+            this.moves = moves;
+            this.children = new AtomicReferenceArray<>(moves.length);
+        }
+    }
+
+    /**
+     * Per-thread playout state: a private copy of the root position plus its generator.
+     */
+    private final class Worker {
+        private final SplittableRandom random;
+        private char[] cells;
+        private LineCounters counters;
+        private int[] empty;
+        private int[] position;
+        private int emptyCount;
+        private Node[] path;
+
+        Worker(SplittableRandom random) {
+            this.random = random;
+        }
+
+        void resize() {
+            cells = new char[boardSize * boardSize];
+            counters = new LineCounters(boardSize);
+            empty = new int[boardSize * boardSize];
+            position = new int[boardSize * boardSize];
+            path = new Node[boardSize * boardSize + 1];
+        }
+
+        void search(Node root, AtomicLong budget, long deadline) {
+            while (budget.getAndDecrement() > 0 && System.nanoTime() < deadline) {
+                playout(root);
+            }
+        }
+
+        private void playout(Node root) {
+            System.arraycopy(rootCells, 0, cells, 0, cells.length);
+            counters.copyFrom(rootCounters);
+            System.arraycopy(rootEmpty, 0, empty, 0, rootEmptyCount);
+            System.arraycopy(rootPosition, 0, position, 0, position.length);
+            emptyCount = rootEmptyCount;
+
+            Node node = root;
+            int depth = 0;
+            root.addVirtualLoss();
+            path[depth++] = root;
+            char side = symbol;
+            char result;
+            while (true) {
+                if (node.winner != ONGOING) {
+                    result = node.winner;
+                    break;
+                }
+                Edges edges = node.edges;
+                if (edges == null) {
+                    if (node != root && node.visits < EXPANSION_VISITS + VIRTUAL_LOSS) {
+                        result = rollout(side);
+                        break;
+                    }
+                    edges = node.expand(empty, emptyCount);
+                }
+                node = child(node, edges, side);
+                place(node.move, side);
+                node.addVirtualLoss();
+                path[depth++] = node;
+                side = opponentOf(side);
+            }
+            for (int i = 0; i < depth; i++) {
+                path[i].backup(result);
+            }
+        }
+
+        /**
+         * Picks a child by UCT, creating it if the chosen move has not been tried yet.
+         */
+        private Node child(Node parent, Edges edges, char side) {
+            double logVisits = Math.log(Math.max(1, parent.visits));
+            int bestSlot = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int slot = 0; slot < edges.moves.length; slot++) {
+                Node child = edges.children.get(slot);
+                if (child == null) {
+                    bestSlot = slot;
+                    break;
+                }
+                long visits = Math.max(1, child.visits);
+                double score = child.value / (2.0 * visits) + EXPLORATION * Math.sqrt(logVisits / visits);
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestSlot = slot;
+                }
+            }
+            Node child = edges.children.get(bestSlot);
+            if (child == null) {
+                int move = edges.moves[bestSlot];
+                char winner = wins(move, side) ? side : emptyCount == 1 ? '-' : ONGOING;
+                edges.children.compareAndSet(bestSlot, null, new Node(move, side, winner));
+                child = edges.children.get(bestSlot);
+            }
+            return child;
+        }
+
+        /**
+         * Plays uniformly random moves from the worker's position to the end of the game.
+         * @return The winner's symbol, or '-' for a draw.
+         */
+        private char rollout(char side) {
+            while (true) {
+                int cell = empty[random.nextInt(emptyCount)];
+                if (wins(cell, side)) {
+                    return side;
+                }
+                place(cell, side);
+                if (emptyCount == 0) {
+                    return '-';
+                }
+                side = opponentOf(side);
+            }
+        }
+
+        /**
+         * Checks if a stone of the side on the empty cell would win the game.
+         */
+        private boolean wins(int cell, char side) {
+            if (activeRule.isFullLine()) {
+                return counters.wouldComplete(cell / boardSize, cell % boardSize, side);
+            }
+            return activeRule.completesLine(cells, cell, side);
+        }
+
+        private void place(int cell, char side) {
+            cells[cell] = side;
+            counters.add(cell / boardSize, cell % boardSize, side);
+            // Swap-remove the cell from the empty list
+            int index = position[cell];
+            int last = empty[--emptyCount];
+            empty[index] = last;
+            position[last] = index;
+        }
+    }
+}
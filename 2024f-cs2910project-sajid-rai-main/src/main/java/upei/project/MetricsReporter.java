@@ -0,0 +1,74 @@
+package upei.project;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MetricsReporter class to write GameMetrics snapshots to a file at a fixed period.
+ * Each snapshot goes to a temporary file that is then moved over the target, so a
+ * reader polling the file (tail, a dashboard agent) never sees a half-written one.
+ */
+final class MetricsReporter implements Closeable {
+    private final GameMetrics metrics;
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor to start reporting on a background daemon thread.
+     * @param metrics The metrics to snapshot.
+     * @param file The file each snapshot replaces.
+     * @param periodMillis The time between snapshots in milliseconds.
+     */
+    public MetricsReporter(GameMetrics metrics, Path file, long periodMillis) {
+        this.metrics = metrics;
+        this.file = file;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::report, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Method to stop reporting and write one final snapshot.
+     * @throws IOException If the final snapshot cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        write();
+    }
+
+    private void report() {
+        try {
+            write();
+        } catch (IOException e) {
+            // Throwing would cancel the schedule; report and try again next period
+            System.err.println("Could not write metrics to " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void write() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporary, metrics.snapshot().getBytes(StandardCharsets.UTF_8));
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
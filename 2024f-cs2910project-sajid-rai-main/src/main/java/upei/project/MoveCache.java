@@ -0,0 +1,244 @@
+package upei.project;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MoveCache class, a fixed-size cache of chosen moves keyed by position, shared by the
+ * CachingPlayers of one strategy across any number of threads.
+ *
+ * Positions are keyed by a 64-bit hash of the board (see key). The entries are split
+ * over stripes, each guarded by its own lock and chosen by the top bits of the key, so
+ * parallel runners rarely wait for each other. A stripe keeps its entries in primitive
+ * arrays with a reference bit each and an open-addressing index from key to entry; when
+ * it is full a CLOCK hand sweeps the entries, clearing reference bits, and evicts the
+ * first entry not used since the last sweep.
+ */
+final class MoveCache {
+    static final int ABSENT = -1;
+
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor for a cache.
+     * @param capacity The number of moves to hold, rounded up to a power of two of at least 32.
+     */
+    public MoveCache(int capacity) {
+        int perStripe = Integer.highestOneBit(Math.max(1, (capacity + STRIPES - 1) / STRIPES - 1)) << 1;
+        for (int s = 0; s < STRIPES; s++) {
+            stripes[s] = new Stripe(perStripe);
+        }
+    }
+
+    /**
+     * Method to compute the key of a position. Up to 32 cells (5x5) the board packed at
+     * 2 bits per cell goes through a bijective mix, so distinct positions never share a
+     * key; larger boards are hashed 32 cells at a time.
+     * @param board The position.
+     * @return A non-zero key.
+     */
+    static long key(char[][] board) {
+        int size = board.length;
+        long hash = size;
+        long packed = 0;
+        int bits = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                packed |= (long) OpeningBook.digit(board[row][col]) << bits;
+                bits += 2;
+                if (bits == 64) {
+                    hash = mix(hash ^ packed) + 0x9E3779B97F4A7C15L;
+                    packed = 0;
+                    bits = 0;
+                }
+            }
+        }
+        if (size * size <= 32) {
+            // A marker bit above the cells keeps the empty board away from 0
+            hash = mix(packed | 1L << (2 * size * size));
+        } else if (bits > 0) {
+            hash = mix(hash ^ packed);
+        }
+        return hash != 0 ? hash : 1;
+    }
+
+    /**
+     * Method to look a position up.
+     * @param key The position's key.
+     * @return The cached move, or ABSENT.
+     */
+    int get(long key) {
+        int move = stripeOf(key).get(key);
+        (move != ABSENT ? hits : misses).increment();
+        return move;
+    }
+
+    /**
+     * Method to store the move chosen in a position, evicting an old one if the stripe is full.
+     * @param key The position's key.
+     * @param move The cell index of the move.
+     */
+    void put(long key, int move) {
+        if (stripeOf(key).put(key, move)) {
+            evictions.increment();
+        }
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Getter for the share of lookups that found a move.
+     * @return Hits over lookups, or 0 before any lookup.
+     */
+    double getHitRate() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return lookups == 0 ? 0.0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * Getter for the number of moves held.
+     * @return The entries of every stripe.
+     */
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    int capacity() {
+        return STRIPES * stripes[0].keys.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d hits, %d misses (%.1f%% hit rate), %d evictions, %d/%d entries",
+                getHits(), getMisses(), 100 * getHitRate(), getEvictions(), size(), capacity());
+    }
+
+    private Stripe stripeOf(long key) {
+        return stripes[(int) (key >>> 60) & (STRIPES - 1)];
+    }
+
+    /**
+     * SplitMix64 finalizer; a bijection, so it never merges two keys.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * One lock's share of the entries, with its own CLOCK hand.
+     */
+    private static final class Stripe {
+        private final long[] keys;
+        private final int[] moves;
+        private final boolean[] referenced;
+        // Entry number + 1 per index slot, 0 when the slot is free; twice the entries, so probes stay short
+        private final int[] index;
+        private final int indexMask;
+        private int size;
+        private int hand;
+
+        Stripe(int capacity) {
+            keys = new long[capacity];
+            moves = new int[capacity];
+            referenced = new boolean[capacity];
+            index = new int[capacity * 2];
+            indexMask = index.length - 1;
+        }
+
+        synchronized int get(long key) {
+            int entry = find(key);
+            if (entry < 0) {
+                return ABSENT;
+            }
+            referenced[entry] = true;
+            return moves[entry];
+        }
+
+        /**
+         * @return True if an entry was evicted to make room.
+         */
+        synchronized boolean put(long key, int move) {
+            int entry = find(key);
+            if (entry >= 0) {
+                moves[entry] = move;
+                return false;
+            }
+            boolean evicted = false;
+            if (size < keys.length) {
+                entry = size++;
+            } else {
+                while (referenced[hand]) {
+                    referenced[hand] = false;
+                    hand = (hand + 1) & (keys.length - 1);
+                }
+                entry = hand;
+                hand = (hand + 1) & (keys.length - 1);
+                unindex(keys[entry]);
+                evicted = true;
+            }
+            keys[entry] = key;
+            moves[entry] = move;
+            referenced[entry] = false;
+            int slot = (int) key & indexMask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & indexMask;
+            }
+            index[slot] = entry + 1;
+            return evicted;
+        }
+
+        private int find(long key) {
+            for (int slot = (int) key & indexMask; index[slot] != 0; slot = (slot + 1) & indexMask) {
+                int entry = index[slot] - 1;
+                if (keys[entry] == key) {
+                    return entry;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Removes a key from the index, shifting later entries of its probe run back so
+         * that lookups never stop at the hole (linear-probing deletion).
+         */
+        private void unindex(long key) {
+            int slot = (int) key & indexMask;
+            while (keys[index[slot] - 1] != key) {
+                slot = (slot + 1) & indexMask;
+            }
+            int hole = slot;
+            for (slot = (hole + 1) & indexMask; index[slot] != 0; slot = (slot + 1) & indexMask) {
+                int home = (int) keys[index[slot] - 1] & indexMask;
+                // Move the entry into the hole unless its home lies cyclically in (hole, slot]
+                if (((slot - home) & indexMask) >= ((slot - hole) & indexMask)) {
+                    index[hole] = index[slot];
+                    hole = slot;
+                }
+            }
+            index[hole] = 0;
+        }
+    }
+}
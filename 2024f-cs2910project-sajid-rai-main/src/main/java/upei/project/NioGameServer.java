@@ -0,0 +1,396 @@
+package upei.project;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+
+/**
+ * NioGameServer class serving the GameServer line protocol from a single event loop
+ * on a Selector instead of one thread per connection.
+ *
+ * The loop owns one direct read buffer and one direct write buffer shared by every
+ * connection. All complete lines that arrive in one read are executed in order and
+ * their responses are collected in the write buffer and sent with one write, so a
+ * client pipelining commands gets one batched answer. MOVE and BOARD, the commands a
+ * game consists of, are parsed straight from the read buffer and answered by encoding
+ * the session's state into the write buffer; other commands go through GameProtocol.
+ * An idle connection holds no buffer at all: only a partial line or unsent output,
+ * when there is one, is copied into a small heap array of its own.
+ *
+ * A client that stops reading its answers stops being served: once a write leaves
+ * output unsent, the connection's remaining lines are kept unexecuted and it is only
+ * watched for writability until the backlog drains, so it never holds more than about
+ * one read buffer of input and one of output. A backlog beyond MAX_PENDING_BYTES closes
+ * the connection.
+ */
+final class NioGameServer implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int MAX_LINE_BYTES = 256;
+    private static final int MAX_RESPONSE_BYTES =
+            Math.max(GameSession.maxResponseBytes(GameProtocol.MAX_BOARD_SIZE), 2 * MAX_LINE_BYTES);
+    private static final int MAX_PENDING_BYTES = 2 * BUFFER_BYTES;
+    private static final byte[] MOVE = GameSession.ascii("MOVE ");
+    private static final byte[] BOARD = GameSession.ascii("BOARD");
+    private static final byte[] LINE_TOO_LONG = GameSession.ascii("ERR line too long\n");
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final SessionRegistry registry;
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final Thread loop;
+    private volatile boolean running = true;
+
+    /**
+     * Constructor to bind the server to the loopback interface and start its event loop.
+     * @param port The port to listen on, or 0 for any free port.
+     * @param maxSessions The maximum number of live sessions.
+     * @param idleTimeoutMillis The time after its last command a session is evicted.
+     * @throws IOException If the port cannot be bound.
+     */
+    public NioGameServer(int port, int maxSessions, long idleTimeoutMillis) throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 4096);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        registry = new SessionRegistry(maxSessions, idleTimeoutMillis);
+        loop = new Thread(this::eventLoop, "nio-game-server");
+        loop.start();
+    }
+
+    /**
+     * Main method to run a server until the process is stopped.
+     * Usage: NioGameServer [port] [maxSessions] [idleSeconds]
+     * @param args Command line arguments.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 2910;
+        int maxSessions = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        long idleSeconds = args.length > 2 ? Long.parseLong(args[2]) : 300;
+        NioGameServer server = new NioGameServer(port, maxSessions, idleSeconds * 1000);
+        System.out.println("Serving games on port " + server.getPort());
+    }
+
+    /**
+     * Getter for the port the server listens on.
+     * @return The local port.
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Getter for the session registry.
+     * @return The registry.
+     */
+    SessionRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Method to stop the event loop and close every connection.
+     * @throws IOException If a channel cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        registry.close();
+    }
+
+    private void eventLoop() {
+        try {
+            while (running) {
+                selector.select(key -> {
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else if (key.isWritable()) {
+                            writePending(key);
+                        } else if (key.isReadable()) {
+                            read(key);
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        // Only this connection is lost; the loop goes on serving the others
+                        closeQuietly(key);
+                    }
+                });
+            }
+        } catch (IOException e) {
+            System.err.println("Event loop failed: " + e.getMessage());
+        } finally {
+            // Closes the listening channel too, whose key is among them
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // Every channel is already closed
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new Connection(new GameProtocol(registry)));
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+        loadPartial(connection);
+        if (channel.read(readBuffer) < 0) {
+            closeQuietly(key);
+            return;
+        }
+        readBuffer.flip();
+        runLines(key, connection);
+    }
+
+    private void loadPartial(Connection connection) {
+        readBuffer.clear();
+        if (connection.partial != null) {
+            readBuffer.put(connection.partial);
+            connection.partial = null;
+        }
+    }
+
+    /**
+     * Executes the complete lines in readBuffer until the client falls behind, keeping
+     * whatever is left as the connection's partial input.
+     */
+    private void runLines(SelectionKey key, Connection connection) throws IOException {
+        writeBuffer.clear();
+        int lineStart = readBuffer.position();
+        for (int i = lineStart; i < readBuffer.limit() && !connection.closing; i++) {
+            if (readBuffer.get(i) == '\n') {
+                if (i - lineStart > MAX_LINE_BYTES) {
+                    writeBuffer.put(LINE_TOO_LONG);
+                    connection.closing = true;
+                    break;
+                }
+                if (writeBuffer.remaining() < MAX_RESPONSE_BYTES) {
+                    flush(key, connection);
+                    if (connection.pending != null) {
+                        // The client is not reading; the rest waits until its backlog drains
+                        break;
+                    }
+                }
+                execute(connection, lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        int leftover = readBuffer.limit() - lineStart;
+        if (connection.closing) {
+            leftover = 0;
+        } else if (connection.pending == null && leftover > MAX_LINE_BYTES) {
+            writeBuffer.put(LINE_TOO_LONG);
+            connection.closing = true;
+            leftover = 0;
+        }
+        if (leftover > 0) {
+            connection.partial = new byte[leftover];
+            readBuffer.position(lineStart);
+            readBuffer.get(connection.partial);
+        }
+        flush(key, connection);
+    }
+
+    /**
+     * Executes the command in readBuffer[start, end) and puts its response in writeBuffer.
+     */
+    private void execute(Connection connection, int start, int end) {
+        if (end > start && readBuffer.get(end - 1) == '\r') {
+            end--;
+        }
+        if (startsWith(start, end, MOVE)) {
+            int separator = indexOf(start + MOVE.length, end, ' ');
+            int row = parseInt(start + MOVE.length, separator);
+            int col = separator < 0 ? -1 : parseInt(separator + 1, end);
+            if (row >= 0 && col >= 0) {
+                GameSession session = connection.protocol.session();
+                if (session == null) {
+                    putLine(connection.protocol.expired());
+                } else {
+                    session.move(row, col, writeBuffer);
+                }
+                return;
+            }
+        } else if (end - start == BOARD.length && startsWith(start, end, BOARD)) {
+            GameSession session = connection.protocol.session();
+            if (session == null) {
+                putLine(connection.protocol.expired());
+            } else {
+                session.board(writeBuffer);
+            }
+            return;
+        }
+        byte[] line = new byte[end - start];
+        readBuffer.get(start, line);
+        String response = connection.protocol.execute(new String(line, StandardCharsets.US_ASCII));
+        putLine(response);
+        if (response.equals("BYE")) {
+            connection.closing = true;
+        }
+    }
+
+    /**
+     * Sends what writeBuffer holds, keeping whatever the socket does not take for OP_WRITE.
+     * Reading stops while there is a backlog.
+     */
+    private void flush(SelectionKey key, Connection connection) throws IOException {
+        writeBuffer.flip();
+        if (connection.pending == null) {
+            ((SocketChannel) key.channel()).write(writeBuffer);
+        }
+        if (writeBuffer.hasRemaining()) {
+            connection.queue(writeBuffer);
+            key.interestOps(SelectionKey.OP_WRITE);
+        } else if (connection.closing && connection.pending == null) {
+            closeQuietly(key);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * Sends the backlog; once it is drained, runs the lines held back meanwhile and
+     * resumes reading.
+     */
+    private void writePending(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        ByteBuffer head;
+        while ((head = connection.pending.peek()) != null) {
+            channel.write(head);
+            if (head.hasRemaining()) {
+                return;
+            }
+            connection.pending.poll();
+            connection.pendingBytes -= head.limit();
+        }
+        connection.pending = null;
+        if (connection.closing) {
+            closeQuietly(key);
+            return;
+        }
+        key.interestOps(SelectionKey.OP_READ);
+        if (connection.partial != null) {
+            loadPartial(connection);
+            readBuffer.flip();
+            runLines(key, connection);
+        }
+    }
+
+    private void putLine(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            writeBuffer.put((byte) line.charAt(i));
+        }
+        writeBuffer.put((byte) '\n');
+    }
+
+    private boolean startsWith(int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            int b = readBuffer.get(start + i);
+            // Commands are case-insensitive, as in GameProtocol
+            if (b >= 'a' && b <= 'z') {
+                b -= 'a' - 'A';
+            }
+            if (b != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(int start, int end, char c) {
+        for (int i = start; i < end; i++) {
+            if (readBuffer.get(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses the unsigned decimal in readBuffer[start, end).
+     * @return The value, or -1 if the range is not a number of at most 4 digits.
+     */
+    private int parseInt(int start, int end) {
+        if (end <= start || end - start > 4) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = readBuffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // Nothing left to do with the connection
+        }
+    }
+
+    /**
+     * Connection class holding the per-client state between events.
+     */
+    private static final class Connection {
+        final GameProtocol protocol;
+        byte[] partial;
+        // Unsent output, oldest first; null when there is none
+        ArrayDeque<ByteBuffer> pending;
+        int pendingBytes;
+        boolean closing;
+
+        Connection(GameProtocol protocol) {
+            this.protocol = protocol;
+        }
+
+        /**
+         * Appends the unsent bytes of the shared write buffer to this connection's backlog
+         * as a buffer of their own, so earlier output is never copied again.
+         * @throws IOException If the backlog would exceed MAX_PENDING_BYTES.
+         */
+        void queue(ByteBuffer unsent) throws IOException {
+            if (pendingBytes + unsent.remaining() > MAX_PENDING_BYTES) {
+                throw new IOException("Client is not reading its responses");
+            }
+            if (pending == null) {
+                pending = new ArrayDeque<>(2);
+            }
+            pendingBytes += unsent.remaining();
+            pending.add(ByteBuffer.allocate(unsent.remaining()).put(unsent).flip());
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package upei.project;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * OffHeapLongSet class, a fixed-capacity open-addressing hash set of non-zero longs kept
+ * outside the Java heap, in direct buffers or in a memory-mapped file for sets larger
+ * than the machine's memory.
+ *
+ * Slots are spread over segments of 2^27 longs (1 GiB), as a single buffer cannot exceed
+ * 2 GiB, so the capacity is only bounded by memory or disk. Any number of threads may
+ * add at once: an empty slot (0) is claimed with a compare-and-set, and a value is never
+ * moved once stored, so linear probing needs no locks. The set does not grow; adding
+ * beyond three quarters of the capacity throws IllegalStateException.
+ */
+final class OffHeapLongSet {
+    private static final int SEGMENT_SHIFT = 27;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+    private static final VarHandle SLOT =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer[] segments;
+    private final long capacity;
+    private final long mask;
+    private final long limit;
+    private final AtomicLong size = new AtomicLong();
+
+    /**
+     * Constructor for a set in direct memory.
+     * @param capacity The number of slots, a power of two.
+     */
+    public OffHeapLongSet(long capacity) {
+        this.capacity = checkCapacity(capacity);
+        this.mask = capacity - 1;
+        this.limit = capacity / 4 * 3;
+        this.segments = new ByteBuffer[(int) ((capacity + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+        for (int s = 0; s < segments.length; s++) {
+            long slots = Math.min(capacity - ((long) s << SEGMENT_SHIFT), 1L << SEGMENT_SHIFT);
+            // Aligned, so that the compare-and-set is atomic
+            segments[s] = ByteBuffer.allocateDirect((int) (slots * 8) + 7).alignedSlice(8).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * Constructor for a set mapped from a file, which is created or overwritten.
+     * The operating system pages the slots in and out as needed.
+     * @param capacity The number of slots, a power of two.
+     * @param file The file to keep the slots in.
+     * @throws IOException If the file cannot be created or mapped.
+     */
+    public OffHeapLongSet(long capacity, Path file) throws IOException {
+        this.capacity = checkCapacity(capacity);
+        this.mask = capacity - 1;
+        this.limit = capacity / 4 * 3;
+        this.segments = new ByteBuffer[(int) ((capacity + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+        Files.deleteIfExists(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            for (int s = 0; s < segments.length; s++) {
+                long slots = Math.min(capacity - ((long) s << SEGMENT_SHIFT), 1L << SEGMENT_SHIFT);
+                segments[s] = channel.map(FileChannel.MapMode.READ_WRITE, ((long) s << SEGMENT_SHIFT) * 8, slots * 8)
+                        .order(ByteOrder.nativeOrder());
+            }
+        }
+    }
+
+    /**
+     * Method to add a value.
+     * @param value The value, anything but 0.
+     * @return True if the value was not in the set before.
+     * @throws IllegalStateException If the set is full.
+     */
+    boolean add(long value) {
+        if (value == 0L) {
+            throw new IllegalArgumentException("0 marks an empty slot");
+        }
+        for (long slot = hash(value) & mask; ; slot = (slot + 1) & mask) {
+            ByteBuffer segment = segments[(int) (slot >>> SEGMENT_SHIFT)];
+            int offset = (int) (slot & SEGMENT_MASK) << 3;
+            long current = (long) SLOT.getAcquire(segment, offset);
+            while (current == 0L) {
+                if (SLOT.compareAndSet(segment, offset, 0L, value)) {
+                    if (size.incrementAndGet() > limit) {
+                        throw new IllegalStateException("Set of " + capacity + " slots is full");
+                    }
+                    return true;
+                }
+                current = (long) SLOT.getAcquire(segment, offset);
+            }
+            if (current == value) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Method to check for a value.
+     * @param value The value, anything but 0.
+     * @return True if the value is in the set.
+     */
+    boolean contains(long value) {
+        for (long slot = hash(value) & mask; ; slot = (slot + 1) & mask) {
+            long current = (long) SLOT.getAcquire(segments[(int) (slot >>> SEGMENT_SHIFT)],
+                    (int) (slot & SEGMENT_MASK) << 3);
+            if (current == value) {
+                return true;
+            }
+            if (current == 0L) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Method to pass every value to a consumer, in slot order, on the calling thread.
+     * Not to be called while other threads are adding.
+     * @param consumer The consumer of the values.
+     */
+    void forEach(LongConsumer consumer) {
+        for (ByteBuffer segment : segments) {
+            for (int offset = 0; offset < segment.capacity(); offset += 8) {
+                long value = segment.getLong(offset);
+                if (value != 0L) {
+                    consumer.accept(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to empty the set. Not to be called while other threads are adding.
+     */
+    void clear() {
+        for (ByteBuffer segment : segments) {
+            for (int offset = 0; offset < segment.capacity(); offset += 8) {
+                segment.putLong(offset, 0L);
+            }
+        }
+        size.set(0);
+    }
+
+    long size() {
+        return size.get();
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    private static long checkCapacity(long capacity) {
+        if (capacity < 2 || Long.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two");
+        }
+        return capacity;
+    }
+
+    /**
+     * SplitMix64 finalizer, so packed positions differing in a few bits spread out.
+     */
+    private static long hash(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,185 @@
+package upei.project;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * OpeningBook class to solve every reachable position of a small board once and
+ * write the results to a compact binary file.
+ *
+ * File layout: a 12-byte header (MAGIC, board size, win length) followed by one
+ * byte per canonical position number. A position's number is its board read as a
+ * base-3 number (empty 0, 'X' 1, 'O' 2, cell 0 least significant), minimized over
+ * the 8 board symmetries. Each byte holds the best move in canonical coordinates in its
+ * low 6 bits and the game value for the side to move in its high 2 bits; 0 marks a
+ * position that is unreachable or already decided.
+ */
+final class OpeningBook {
+    static final int MAGIC = 0x54545442;
+    static final int HEADER_BYTES = 12;
+    static final int MAX_BOARD_SIZE = 4;
+
+    static final int UNKNOWN = 0;
+    static final int WIN = 1;
+    static final int DRAW = 2;
+    static final int LOSS = 3;
+
+    private OpeningBook() {
+    }
+
+    /**
+     * Main method to build a book, e.g. {@code OpeningBook 4 3 book4k3.bin} for 3 in a row on 4x4.
+     * @param args Board size, win length and output file.
+     */
+    public static void main(String[] args) throws IOException {
+        int boardSize = Integer.parseInt(args[0]);
+        int winLength = Integer.parseInt(args[1]);
+        Path file = Paths.get(args[2]);
+        long start = System.nanoTime();
+        int positions = build(boardSize, winLength, file);
+        System.out.println("Solved " + positions + " positions in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Method to solve every position reachable from the empty board and write the book.
+     * @param boardSize The size of the game board, at most MAX_BOARD_SIZE.
+     * @param winLength The number of stones in a row needed to win.
+     * @param file The file to write.
+     * @return The number of positions stored.
+     */
+    static int build(int boardSize, int winLength, Path file) throws IOException {
+        if (boardSize < 1 || boardSize > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + MAX_BOARD_SIZE);
+        }
+        Solver solver = new Solver(boardSize, winLength);
+        solver.solve();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(boardSize).putInt(winLength).flip();
+            writeFully(channel, header);
+            writeFully(channel, ByteBuffer.wrap(solver.table));
+        }
+        return solver.positions;
+    }
+
+    /**
+     * Number of entries in a book for the given board size (3 to the power of the cell count).
+     */
+    static int entryCount(int boardSize) {
+        int count = 1;
+        for (int cell = 0; cell < boardSize * boardSize; cell++) {
+            count *= 3;
+        }
+        return count;
+    }
+
+    static int digit(char symbol) {
+        return symbol == 'X' ? 1 : symbol == 'O' ? 2 : 0;
+    }
+
+    static int value(byte entry) {
+        return (entry >>> 6) & 0x3;
+    }
+
+    static int move(byte entry) {
+        return entry & 0x3F;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Exhaustive solver walking every child of every position with TicTacToe.playMove
+     * and undoMove, memoizing each canonical position in the book table.
+     */
+    private static final class Solver {
+        private final TicTacToe game;
+        private final int cellCount;
+        private final int[][] symmetries;
+        private final int[] powers;
+        private final int[] indexes = new int[BoardSymmetry.COUNT];
+        private final byte[] table;
+        private int positions;
+
+        Solver(int boardSize, int winLength) {
+            game = new TicTacToe(boardSize, winLength);
+            cellCount = boardSize * boardSize;
+            symmetries = BoardSymmetry.permutations(boardSize);
+            powers = new int[cellCount];
+            for (int cell = 0, power = 1; cell < cellCount; cell++, power *= 3) {
+                powers[cell] = power;
+            }
+            table = new byte[entryCount(boardSize)];
+        }
+
+        void solve() {
+            game.initializeBoard();
+            solvePosition();
+        }
+
+        /**
+         * @return The value of the current position for the side to move.
+         */
+        private int solvePosition() {
+            int symmetry = 0;
+            for (int s = 1; s < BoardSymmetry.COUNT; s++) {
+                if (indexes[s] < indexes[symmetry]) {
+                    symmetry = s;
+                }
+            }
+            int index = indexes[symmetry];
+            if (table[index] != UNKNOWN) {
+                return value(table[index]);
+            }
+
+            int mover = digit(game.getCurrentPlayer());
+            int best = UNKNOWN;
+            int bestMove = -1;
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (!game.playMove(cell)) {
+                    continue;
+                }
+                shift(cell, mover);
+                int value;
+                if (game.checkWinner()) {
+                    value = WIN;
+                } else if (game.isBoardFull()) {
+                    value = DRAW;
+                } else {
+                    value = negate(solvePosition());
+                }
+                shift(cell, -mover);
+                game.undoMove();
+                if (bestMove < 0 || rank(value) > rank(best)) {
+                    best = value;
+                    bestMove = cell;
+                }
+            }
+            table[index] = (byte) ((best << 6) | symmetries[symmetry][bestMove]);
+            positions++;
+            return best;
+        }
+
+        private void shift(int cell, int delta) {
+            for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+                indexes[s] += delta * powers[symmetries[s][cell]];
+            }
+        }
+
+        private static int negate(int value) {
+            return value == WIN ? LOSS : value == LOSS ? WIN : DRAW;
+        }
+
+        private static int rank(int value) {
+            return value == WIN ? 2 : value == DRAW ? 1 : 0;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package upei.project;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * PlayerFactory interface to create fresh players for a simulation worker.
+ * Each worker builds its own players so that no random generator is shared between threads.
+ */
+@FunctionalInterface
+interface PlayerFactory {
+    /**
+     * Creates a player for the given symbol.
+     * @param symbol The player symbol ('X' or 'O').
+     * @param random The seeded random number generator owned by the worker.
+     * @return A new player.
+     */
+    Player create(char symbol, RandomGenerator random);
+}
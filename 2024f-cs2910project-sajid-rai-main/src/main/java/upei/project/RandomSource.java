@@ -0,0 +1,68 @@
+package upei.project;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * RandomSource enum naming the generator algorithms players and runners can draw from.
+ * Every source is created from an explicit seed, and a runner gives each chunk or batch
+ * its own generator seeded with mix(seed, stream), so no generator is ever shared
+ * between threads and a run is reproducible from its seed and source alone.
+ *
+ * RANDOM is java.util.Random, kept to reproduce results from before the choice
+ * existed; it pays for an atomic update of its seed on every draw. SPLITTABLE and the
+ * two java.util.random algorithms are plain-field generators with no such cost;
+ * L64X128 (an LXM generator) is the JDK's recommended default for independent streams.
+ */
+enum RandomSource {
+    RANDOM(null),
+    SPLITTABLE(null),
+    L64X128("L64X128MixRandom"),
+    XOROSHIRO128("Xoroshiro128PlusPlus");
+
+    private final String algorithm;
+
+    RandomSource(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Method to look a source up by name, ignoring case.
+     * @param name "random", "splittable", "l64x128" or "xoroshiro128".
+     * @return The source.
+     * @throws IllegalArgumentException If the name is unknown.
+     */
+    static RandomSource of(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Method to create a generator of this algorithm.
+     * @param seed The seed; equal seeds give equal sequences.
+     * @return A new generator, to be used by one thread at a time.
+     */
+    public RandomGenerator create(long seed) {
+        return switch (this) {
+            case RANDOM -> new Random(seed);
+            case SPLITTABLE -> new SplittableRandom(seed);
+            default -> RandomGeneratorFactory.of(algorithm).create(seed);
+        };
+    }
+
+    /**
+     * Derives the seed of one stream of a run (SplitMix64 finalizer over seed and stream
+     * number), so neighbouring streams start from unrelated states.
+     * @param seed The run seed.
+     * @param stream The stream number, e.g. a chunk or batch number.
+     * @return The stream's seed.
+     */
+    static long mix(long seed, long stream) {
+        long z = seed + stream * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
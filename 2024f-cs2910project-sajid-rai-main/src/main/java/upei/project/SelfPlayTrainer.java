@@ -0,0 +1,267 @@
+package upei.project;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * SelfPlayTrainer class to teach a ValueTable by playing games against itself.
+ *
+ * Learning is tabular TD(0) over afterstates: the table holds, for each position, the
+ * value for the player who just moved into it. Each side picks the empty cell whose
+ * resulting position has the highest value, or a random one with the exploration rate,
+ * and after its next move pulls the value of its previous position towards that of its
+ * new one. A finished game pins the final position to 1 (win) or 0.5 (draw) and pulls
+ * the loser's last position towards the opposite result.
+ *
+ * Every worker thread plays its own TicTacToe engine, keeping the 8 symmetric indexes of
+ * the board up to date move by move as OpeningBook does, and all workers update the one
+ * shared table without locks (see ValueTable). Games are handed out in batches, each
+ * with its own generator seeded from the seed and the batch number; with more than one
+ * thread the lost updates make a run close to, but not exactly, reproducible.
+ */
+final class SelfPlayTrainer {
+    static final int BATCH_SIZE = 1024;
+
+    private final ValueTable table;
+    private final int parallelism;
+    private final long seed;
+    private RandomSource randomSource = RandomSource.SPLITTABLE;
+    private float explorationRate = 0.1f;
+    private float learningRate = 0.1f;
+    private long batchesStarted;
+
+    /**
+     * Constructor to configure training.
+     * @param table The table to train; it may already hold training.
+     * @param parallelism The number of worker threads.
+     * @param seed The seed every batch generator is derived from.
+     */
+    public SelfPlayTrainer(ValueTable table, int parallelism, long seed) {
+        this.table = table;
+        this.parallelism = parallelism;
+        this.seed = seed;
+    }
+
+    /**
+     * Main method to train a table and write it, e.g.
+     * {@code SelfPlayTrainer 3 3 1000000 values3.bin} for 3 in a row on 3x3.
+     * An existing table file is trained further rather than started afresh.
+     * @param args Board size, win length, games, output file and optionally the thread count.
+     */
+    public static void main(String[] args) throws IOException {
+        int boardSize = Integer.parseInt(args[0]);
+        int winLength = Integer.parseInt(args[1]);
+        long games = Long.parseLong(args[2]);
+        Path file = Paths.get(args[3]);
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        ValueTable table = Files.exists(file) ? ValueTable.read(file) : new ValueTable(boardSize, winLength);
+        if (table.getBoardSize() != boardSize || table.getWinLength() != winLength) {
+            throw new IllegalArgumentException(file + " holds a table for another game");
+        }
+        SelfPlayTrainer trainer = new SelfPlayTrainer(table, threads, System.nanoTime());
+        System.out.println(trainer.train(games));
+        table.save(file);
+        System.out.println("Wrote " + file + " (" + table.getGamesTrained() + " games trained)");
+    }
+
+    /**
+     * Setter for the generator algorithm later batches draw from.
+     * @param randomSource The algorithm; SPLITTABLE by default.
+     */
+    public void setRandomSource(RandomSource randomSource) {
+        this.randomSource = randomSource;
+    }
+
+    /**
+     * Setter for the share of moves played at random rather than greedily.
+     * @param explorationRate Between 0 and 1; 0.1 by default.
+     */
+    public void setExplorationRate(float explorationRate) {
+        this.explorationRate = explorationRate;
+    }
+
+    /**
+     * Setter for the step size of every update.
+     * @param learningRate Between 0 and 1; 0.1 by default.
+     */
+    public void setLearningRate(float learningRate) {
+        this.learningRate = learningRate;
+    }
+
+    /**
+     * Method to play self-play games on all workers, updating the table as they go.
+     * Repeated calls continue with new batch seeds rather than replaying the same games.
+     * @param games The number of games to play.
+     * @return The number of games played and how fast.
+     */
+    public Report train(long games) {
+        long batches = (games + BATCH_SIZE - 1) / BATCH_SIZE;
+        long firstBatch = batchesStarted;
+        batchesStarted += batches;
+        AtomicLong nextBatch = new AtomicLong();
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<?>> workers = new ArrayList<>();
+            for (int worker = 0; worker < parallelism; worker++) {
+                workers.add(pool.submit(() -> {
+                    Learner learner = new Learner();
+                    for (long batch; (batch = nextBatch.getAndIncrement()) < batches; ) {
+                        RandomGenerator random = randomSource.create(RandomSource.mix(seed, firstBatch + batch));
+                        long last = Math.min(games, (batch + 1) * BATCH_SIZE);
+                        for (long game = batch * BATCH_SIZE; game < last; game++) {
+                            learner.playGame(random);
+                        }
+                    }
+                }));
+            }
+            for (ForkJoinTask<?> worker : workers) {
+                worker.join();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        table.addGamesTrained(games);
+        return new Report(games, System.nanoTime() - start, parallelism);
+    }
+
+    /**
+     * Report class holding the size and speed of one training call.
+     */
+    static final class Report {
+        final long games;
+        final long nanos;
+        final int threads;
+
+        Report(long games, long nanos, int threads) {
+            this.games = games;
+            this.nanos = nanos;
+            this.threads = threads;
+        }
+
+        double gamesPerSecond() {
+            return games * 1e9 / Math.max(1, nanos);
+        }
+
+        double gamesPerSecondPerCore() {
+            return gamesPerSecond() / threads;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Trained %d games in %.2f s on %d threads: %.0f games/s, %.0f games/s per core",
+                    games, nanos / 1e9, threads, gamesPerSecond(), gamesPerSecondPerCore());
+        }
+    }
+
+    /**
+     * One worker's engine and symmetric board indexes.
+     */
+    private final class Learner {
+        private final TicTacToe game = new TicTacToe(table.getBoardSize(), table.getWinLength());
+        private final int boardSize = table.getBoardSize();
+        private final int[][] symmetries = BoardSymmetry.permutations(boardSize);
+        private final int[] powers = new int[boardSize * boardSize];
+        private final int[] indexes = new int[BoardSymmetry.COUNT];
+        private final int[] previous = new int[2];
+
+        Learner() {
+            for (int cell = 0, power = 1; cell < powers.length; cell++, power *= 3) {
+                powers[cell] = power;
+            }
+        }
+
+        void playGame(RandomGenerator random) {
+            game.initializeBoard();
+            Arrays.fill(indexes, 0);
+            Arrays.fill(previous, -1);
+            while (true) {
+                int mover = OpeningBook.digit(game.getCurrentPlayer());
+                int side = mover - 1;
+                int cell = random.nextFloat() < explorationRate ? randomMove(random) : greedyMove(mover, random);
+                game.playMove(cell);
+                for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+                    indexes[s] += mover * powers[symmetries[s][cell]];
+                }
+                int after = canonical(indexes);
+                boolean won = game.checkWinner();
+                boolean over = won || game.isBoardFull();
+                if (over) {
+                    table.set(after, won ? 1f : 0.5f);
+                }
+                float value = table.get(after);
+                if (previous[side] >= 0) {
+                    table.update(previous[side], value, learningRate);
+                }
+                if (over) {
+                    if (previous[1 - side] >= 0) {
+                        table.update(previous[1 - side], 1f - value, learningRate);
+                    }
+                    return;
+                }
+                previous[side] = after;
+            }
+        }
+
+        /**
+         * @return The empty cell leading to the highest-valued position, ties broken at random.
+         */
+        private int greedyMove(int mover, RandomGenerator random) {
+            char[][] board = game.getBoard();
+            int best = -1;
+            float bestValue = -1f;
+            int ties = 0;
+            for (int cell = 0; cell < powers.length; cell++) {
+                if (board[cell / boardSize][cell % boardSize] != '-') {
+                    continue;
+                }
+                int after = Integer.MAX_VALUE;
+                for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+                    after = Math.min(after, indexes[s] + mover * powers[symmetries[s][cell]]);
+                }
+                float value = table.get(after);
+                if (value > bestValue) {
+                    best = cell;
+                    bestValue = value;
+                    ties = 1;
+                } else if (value == bestValue && random.nextInt(++ties) == 0) {
+                    best = cell;
+                }
+            }
+            return best;
+        }
+
+        private int randomMove(RandomGenerator random) {
+            char[][] board = game.getBoard();
+            int empty = powers.length - game.getMoveCount();
+            int skip = random.nextInt(empty);
+            for (int cell = 0; ; cell++) {
+                if (board[cell / boardSize][cell % boardSize] == '-' && skip-- == 0) {
+                    return cell;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to pick the canonical position number out of the 8 symmetric ones.
+     * @param indexes The base-3 index of the board under each symmetry.
+     * @return The smallest of them.
+     */
+    static int canonical(int[] indexes) {
+        int index = indexes[0];
+        for (int s = 1; s < BoardSymmetry.COUNT; s++) {
+            index = Math.min(index, indexes[s]);
+        }
+        return index;
+    }
+}
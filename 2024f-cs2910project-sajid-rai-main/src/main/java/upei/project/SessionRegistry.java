@@ -0,0 +1,116 @@
+package upei.project;
+
+import java.io.Closeable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SessionRegistry class holding every live GameSession by id, up to a fixed capacity.
+ * Sessions untouched for longer than the idle timeout are evicted by a background
+ * sweep, and on demand when a new session would exceed the capacity.
+ */
+final class SessionRegistry implements Closeable {
+    private final ConcurrentHashMap<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+    private final long idleTimeoutNanos;
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * Constructor to create an empty registry and start its sweeper.
+     * @param capacity The maximum number of sessions held at once.
+     * @param idleTimeoutMillis The time after its last use a session is evicted.
+     */
+    public SessionRegistry(int capacity, long idleTimeoutMillis) {
+        this.capacity = capacity;
+        this.idleTimeoutNanos = idleTimeoutMillis * 1_000_000L;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleTimeoutMillis / 2);
+        sweeper.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Method to open a new session.
+     * @param boardSize The size of the game board.
+     * @param winLength The number of stones in a row needed to win.
+     * @param bot Factory for the player answering as 'O', or null.
+     * @return The new session.
+     * @throws IllegalStateException If the registry is full even after evicting idle sessions.
+     */
+    public GameSession create(int boardSize, int winLength, PlayerFactory bot) {
+        if (size.incrementAndGet() > capacity) {
+            evictIdle();
+            if (size.get() > capacity) {
+                size.decrementAndGet();
+                throw new IllegalStateException("server full");
+            }
+        }
+        GameSession session = new GameSession(nextId.getAndIncrement(), boardSize, winLength, bot);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Method to look a session up and mark it as used.
+     * @param id The session id.
+     * @return The session, or null if it never existed or was evicted.
+     */
+    public GameSession get(long id) {
+        GameSession session = sessions.get(id);
+        if (session != null) {
+            session.touch();
+        }
+        return session;
+    }
+
+    /**
+     * Method to drop a session.
+     * @param id The session id.
+     */
+    public void remove(long id) {
+        if (sessions.remove(id) != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Method to evict every session idle for longer than the timeout.
+     * @return The number of sessions evicted.
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (GameSession session : sessions.values()) {
+            if (now - session.getLastAccessNanos() > idleTimeoutNanos && sessions.remove(session.getId(), session)) {
+                size.decrementAndGet();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Getter for the number of live sessions.
+     * @return The number of sessions held.
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Method to stop the sweeper.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+}
@@ -0,0 +1,71 @@
+package upei.project;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * SharedGame class publishing the current BoardState of a game to any number of threads.
+ * Readers take a snapshot with one volatile read and always see a whole position.
+ * Writers build the next state from a snapshot and install it with compare-and-set, so
+ * when two threads move from the same position exactly one of them succeeds and the
+ * other sees that the board changed under it; no thread ever blocks another.
+ */
+final class SharedGame {
+    private final AtomicReference<BoardState> state;
+
+    /**
+     * Constructor to start a game on an empty board.
+     * @param boardSize The size of the game board.
+     * @param winLength The number of stones in a row needed to win.
+     */
+    public SharedGame(int boardSize, int winLength) {
+        state = new AtomicReference<>(BoardState.empty(new WinRule(boardSize, winLength)));
+    }
+
+    /**
+     * Method to read the current position.
+     * @return The current state.
+     */
+    public BoardState snapshot() {
+        return state.get();
+    }
+
+    /**
+     * Method to replace a position with another one built from it.
+     * @param expected The snapshot the next state was built from.
+     * @param next The new state.
+     * @return True if installed, false if another thread changed the game first.
+     */
+    public boolean compareAndSet(BoardState expected, BoardState next) {
+        return state.compareAndSet(expected, next);
+    }
+
+    /**
+     * Method to play a move for a player, retrying if other threads change the game first.
+     * @param player The symbol of the player moving.
+     * @param cell The cell index of the move.
+     * @return The state after the move.
+     * @throws IllegalStateException If it is not the player's turn or the move is not legal.
+     */
+    public BoardState play(char player, int cell) {
+        while (true) {
+            BoardState current = state.get();
+            if (current.isOver() || current.getCurrentPlayer() != player) {
+                throw new IllegalStateException("Not " + player + "'s turn");
+            }
+            if (!current.isLegal(cell)) {
+                throw new IllegalStateException("Illegal move " + cell);
+            }
+            BoardState next = current.play(cell);
+            if (state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Method to start again from an empty board.
+     */
+    public void reset() {
+        state.set(BoardState.empty(state.get().getRule()));
+    }
+}
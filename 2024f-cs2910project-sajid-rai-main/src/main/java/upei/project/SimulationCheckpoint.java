@@ -0,0 +1,251 @@
+package upei.project;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * SimulationCheckpoint class recording the progress of one SimulationRunner run so that
+ * a run stopped by a crash can carry on where it left off.
+ *
+ * Every chunk of a run seeds its own generator from the run seed and the chunk number,
+ * so there is no generator state to save: the checkpoint keeps which chunks are done, as
+ * a bit set, and the tally of their games. A chunk that was running when the process
+ * died is simply played again from its seed, giving the same games, so a resumed run
+ * ends with the same totals as an uninterrupted one.
+ *
+ * The file is a small big-endian binary: MAGIC, VERSION, the run's name (its pairing
+ * and mode, as length-prefixed UTF-8), the run configuration (including the generator
+ * algorithm, as another one would play other games), the
+ * tally, the bit set and a CRC32 of everything before it. It is written and synced to
+ * a temporary file that is then moved over the old one, so a crash while writing
+ * leaves the previous checkpoint intact.
+ */
+final class SimulationCheckpoint {
+    static final int MAGIC = 0x54544350;
+    static final int VERSION = 3;
+
+    private static final int MAX_NAME_BYTES = 255;
+
+    private final Path file;
+    private final byte[] name;
+    private final int headerBytes;
+    private final int boardSize;
+    private final int winLength;
+    private final long trials;
+    private final long seed;
+    private final RandomSource randomSource;
+    private final long chunks;
+    private final long intervalNanos;
+    private final long[] done;
+    private final SimulationRunner.Tally tally = new SimulationRunner.Tally();
+    private final Object writeLock = new Object();
+    private long lastWriteNanos = System.nanoTime();
+    private long sequence;
+    private long writtenSequence;
+
+    private SimulationCheckpoint(Path file, String name, int boardSize, int winLength, long trials, long seed,
+                                 RandomSource randomSource, long intervalMillis) {
+        this.file = file;
+        this.name = name.getBytes(StandardCharsets.UTF_8);
+        if (this.name.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Run name longer than " + MAX_NAME_BYTES + " bytes");
+        }
+        this.headerBytes = 4 + 4 + 2 + this.name.length + 4 + 4 + 8 + 8 + 4 + 4 + 8;
+        this.boardSize = boardSize;
+        this.winLength = winLength;
+        this.trials = trials;
+        this.seed = seed;
+        this.randomSource = randomSource;
+        this.chunks = (trials + SimulationRunner.CHUNK_SIZE - 1) / SimulationRunner.CHUNK_SIZE;
+        this.intervalNanos = intervalMillis * 1_000_000L;
+        this.done = new long[(int) ((chunks + 63) >>> 6)];
+    }
+
+    /**
+     * Method to resume from a checkpoint file, or start afresh if there is none.
+     * @param file The checkpoint file.
+     * @param name The identity of the run, e.g. its pairing and mode.
+     * @param boardSize The size of the game board.
+     * @param winLength The number of stones in a row needed to win.
+     * @param trials The number of games in the run.
+     * @param seed The run seed.
+     * @param randomSource The generator algorithm of the run.
+     * @param intervalMillis The least time between two checkpoints written during the run.
+     * @return The checkpoint, holding the progress read from the file.
+     * @throws IOException If the file exists but cannot be read or is not a valid checkpoint.
+     * @throws IllegalStateException If the file was written for a run with another configuration.
+     */
+    static SimulationCheckpoint open(Path file, String name, int boardSize, int winLength, long trials, long seed,
+                                     RandomSource randomSource, long intervalMillis) throws IOException {
+        SimulationCheckpoint checkpoint =
+                new SimulationCheckpoint(file, name, boardSize, winLength, trials, seed, randomSource, intervalMillis);
+        if (Files.exists(file)) {
+            checkpoint.read();
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Method to check whether a chunk was finished before the checkpoint was taken.
+     * @param chunk The chunk number.
+     * @return True if the chunk's games are already in the tally.
+     */
+    synchronized boolean isDone(long chunk) {
+        return (done[(int) (chunk >>> 6)] & 1L << chunk) != 0;
+    }
+
+    /**
+     * Method to add a finished chunk, writing a checkpoint if the interval has passed.
+     * A failed write is reported and retried at the next chunk, so the run goes on.
+     * @param chunk The chunk number.
+     * @param chunkTally The results of the chunk's games.
+     */
+    void complete(long chunk, SimulationRunner.Tally chunkTally) {
+        ByteBuffer snapshot = null;
+        long snapshotSequence = 0;
+        synchronized (this) {
+            done[(int) (chunk >>> 6)] |= 1L << chunk;
+            tally.merge(chunkTally);
+            sequence++;
+            long now = System.nanoTime();
+            if (now - lastWriteNanos >= intervalNanos) {
+                lastWriteNanos = now;
+                snapshot = encode();
+                snapshotSequence = sequence;
+            }
+        }
+        if (snapshot != null) {
+            try {
+                write(snapshot, snapshotSequence);
+            } catch (IOException e) {
+                System.err.println("Could not write checkpoint " + file + ": " + e.getMessage());
+                synchronized (this) {
+                    lastWriteNanos -= intervalNanos;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to write the current progress regardless of the interval, e.g. at the end of a run.
+     * @throws IOException If the file cannot be written.
+     */
+    void write() throws IOException {
+        ByteBuffer snapshot;
+        long snapshotSequence;
+        synchronized (this) {
+            snapshot = encode();
+            snapshotSequence = sequence;
+        }
+        write(snapshot, snapshotSequence);
+    }
+
+    /**
+     * Getter for the results of every finished chunk, including those read from the file.
+     * @return A copy of the tally.
+     */
+    synchronized SimulationRunner.Tally total() {
+        return new SimulationRunner.Tally().merge(tally);
+    }
+
+    /**
+     * Getter for the number of finished chunks.
+     * @return The number of chunks in the tally.
+     */
+    synchronized long completedChunks() {
+        long count = 0;
+        for (long word : done) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Snapshots taken by different workers may reach this out of order; a snapshot older
+     * than the one already on disk is dropped so the file never goes backwards.
+     */
+    private void write(ByteBuffer snapshot, long snapshotSequence) throws IOException {
+        synchronized (writeLock) {
+            if (snapshotSequence < writtenSequence) {
+                return;
+            }
+            Path parent = file.toAbsolutePath().getParent();
+            Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                    snapshot.rewind();
+                    while (snapshot.hasRemaining()) {
+                        channel.write(snapshot);
+                    }
+                    // On disk before the rename, or a power cut could leave an empty checkpoint
+                    channel.force(true);
+                }
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                writtenSequence = snapshotSequence;
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+
+    private ByteBuffer encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(headerBytes + 3 * 8 + done.length * 8 + 8);
+        buffer.putInt(MAGIC).putInt(VERSION).putShort((short) name.length).put(name)
+                .putInt(boardSize).putInt(winLength).putLong(trials).putLong(seed)
+                .putInt(randomSource.ordinal()).putInt(SimulationRunner.CHUNK_SIZE).putLong(chunks)
+                .putLong(tally.playerXWins).putLong(tally.playerOWins).putLong(tally.draws);
+        for (long word : done) {
+            buffer.putLong(word);
+        }
+        buffer.putLong(crcOf(buffer.array(), buffer.position()));
+        return buffer;
+    }
+
+    private void read() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Not a simulation checkpoint: " + file);
+        }
+        if (buffer.remaining() < 2) {
+            throw new IOException("Corrupt simulation checkpoint: " + file);
+        }
+        if (buffer.getShort(buffer.position()) != name.length) {
+            throw new IllegalStateException("Checkpoint " + file + " was written for a different run");
+        }
+        if (buffer.limit() < headerBytes) {
+            throw new IOException("Corrupt simulation checkpoint: " + file);
+        }
+        byte[] storedName = new byte[buffer.getShort()];
+        buffer.get(storedName);
+        if (!Arrays.equals(storedName, name) || buffer.getInt() != boardSize || buffer.getInt() != winLength || buffer.getLong() != trials
+                || buffer.getLong() != seed || buffer.getInt() != randomSource.ordinal()
+                || buffer.getInt() != SimulationRunner.CHUNK_SIZE
+                || buffer.getLong() != chunks) {
+            throw new IllegalStateException("Checkpoint " + file + " was written for a different run");
+        }
+        int length = headerBytes + 3 * 8 + done.length * 8 + 8;
+        if (buffer.limit() != length || buffer.getLong(length - 8) != crcOf(buffer.array(), length - 8)) {
+            throw new IOException("Corrupt simulation checkpoint: " + file);
+        }
+        tally.playerXWins = buffer.getLong();
+        tally.playerOWins = buffer.getLong();
+        tally.draws = buffer.getLong();
+        for (int w = 0; w < done.length; w++) {
+            done[w] = buffer.getLong();
+        }
+    }
+
+    private static long crcOf(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return crc.getValue();
+    }
+}
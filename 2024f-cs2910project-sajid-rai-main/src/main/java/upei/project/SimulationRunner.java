@@ -0,0 +1,373 @@
+package upei.project;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongFunction;
+import java.util.random.RandomGenerator;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * SimulationRunner class to play many games between two strategies on a fork-join pool.
+ * Trials are cut into fixed-size chunks and every chunk seeds its own generator from the
+ * run seed and the chunk number, so the totals only depend on the seed and never on how
+ * many threads happened to run the chunks. For the same reason a run can be checkpointed
+ * by chunk and resumed after a crash with the same totals; see SimulationCheckpoint.
+ */
+class SimulationRunner {
+    static final int CHUNK_SIZE = 1024;
+
+    private final int boardSize;
+    private final int winLength;
+    private final long trials;
+    private final int parallelism;
+    private final long seed;
+    private GameMetrics metrics;
+    private RandomSource randomSource = RandomSource.SPLITTABLE;
+    private Path checkpointDirectory;
+    private long checkpointIntervalMillis;
+    private int runNumber;
+
+    /**
+     * Constructor to configure a simulation run.
+     * @param boardSize The size of the game board.
+     * @param trials The number of games to play per pairing.
+     * @param parallelism The number of worker threads.
+     * @param seed The seed every chunk generator is derived from.
+     */
+    public SimulationRunner(int boardSize, long trials, int parallelism, long seed) {
+        this(boardSize, boardSize, trials, parallelism, seed);
+    }
+
+    /**
+     * Constructor to configure a simulation run of games won by winLength stones in a row.
+     * @param boardSize The size of the game board.
+     * @param winLength The number of stones in a row needed to win.
+     * @param trials The number of games to play per pairing.
+     * @param parallelism The number of worker threads.
+     * @param seed The seed every chunk generator is derived from.
+     */
+    public SimulationRunner(int boardSize, int winLength, long trials, int parallelism, long seed) {
+        this.boardSize = boardSize;
+        this.winLength = winLength;
+        this.trials = trials;
+        this.parallelism = parallelism;
+        this.seed = seed;
+    }
+
+    /**
+     * Setter for the metrics later runs report to; every move is then timed.
+     * @param metrics The metrics to update, or null to turn instrumentation off.
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Setter for the generator algorithm the players of later runs draw from.
+     * @param randomSource The algorithm; SPLITTABLE by default.
+     */
+    public void setRandomSource(RandomSource randomSource) {
+        this.randomSource = randomSource;
+    }
+
+    /**
+     * Setter for the directory later runs are checkpointed in. The runs of this runner are
+     * numbered from 1 and the nth run, named NAME, keeps its progress in runN-NAME.ckpt, so
+     * a program that makes the same runs in the same order resumes each of them after a
+     * restart; a run that had finished returns its totals straight from its checkpoint.
+     * The name is also stored in the checkpoint, and a run resuming a checkpoint of another
+     * name fails, as the factories themselves cannot be compared. Only named runs and
+     * batched runs can be checkpointed. Record files and metrics only cover the chunks
+     * played since the restart.
+     * @param directory The checkpoint directory, or null to turn checkpointing off.
+     * @param intervalMillis The least time between two checkpoints of a run.
+     */
+    public void setCheckpoint(Path directory, long intervalMillis) {
+        this.checkpointDirectory = directory;
+        this.checkpointIntervalMillis = intervalMillis;
+    }
+
+    /**
+     * Method to play all trials between two strategies.
+     * @param playerX Factory for the player representing 'X'.
+     * @param playerO Factory for the player representing 'O'.
+     * @return The merged results of every game.
+     */
+    public Tally run(PlayerFactory playerX, PlayerFactory playerO) {
+        return run(playerX, playerO, null);
+    }
+
+    /**
+     * Method to play all trials between two strategies, streaming every game to a record file.
+     * @param playerX Factory for the player representing 'X'.
+     * @param playerO Factory for the player representing 'O'.
+     * @param records The writer every game is appended to, or null to record nothing.
+     * @return The merged results of every game.
+     */
+    public Tally run(PlayerFactory playerX, PlayerFactory playerO, GameRecordWriter records) {
+        return run(null, playerX, playerO, records);
+    }
+
+    /**
+     * Method to play all trials of a named pairing, which can then be checkpointed.
+     * @param name The identity of the run, e.g. "records-Random-Blocking": the strategies
+     *             and anything else that changes the games, in letters, digits, '.', '_'
+     *             and '-'; or null for an unnamed run.
+     * @param playerX Factory for the player representing 'X'.
+     * @param playerO Factory for the player representing 'O'.
+     * @param records The writer every game is appended to, or null to record nothing.
+     * @return The merged results of every game.
+     * @throws IllegalStateException If checkpointing is on and the run has no name, or its
+     *         checkpoint was written for another run.
+     */
+    public Tally run(String name, PlayerFactory playerX, PlayerFactory playerO, GameRecordWriter records) {
+        return runChunks(name, chunk -> playChunk(playerX, playerO, chunk, records));
+    }
+
+    /**
+     * Method to play all trials between two built-in strategies on the batch engine.
+     * Each chunk is one BatchEngine playing its games in lockstep. Metrics, if set,
+     * only count the games; the engine has no per-move calls to time. The run is named
+     * after the mode and the strategies, e.g. batched-RANDOM-BLOCKING.
+     * @param strategyX The strategy of 'X'.
+     * @param strategyO The strategy of 'O'.
+     * @return The merged results of every game.
+     */
+    public Tally runBatched(BatchEngine.Strategy strategyX, BatchEngine.Strategy strategyO) {
+        WinRule rule = new WinRule(boardSize, winLength);
+        GameMetrics runMetrics = metrics;
+        return runChunks("batched-" + strategyX + "-" + strategyO, chunk -> {
+            Tally tally = new BatchEngine(rule, CHUNK_SIZE, randomSource.create(chunkSeed(chunk)))
+                    .play(chunkEnd(chunk) - chunk * CHUNK_SIZE, strategyX, strategyO);
+            if (runMetrics != null) {
+                runMetrics.recordGames(tally);
+            }
+            return tally;
+        });
+    }
+
+    private Tally runChunks(String name, LongFunction<Tally> chunkGames) {
+        if (name != null && !name.matches("[\\w.-]+")) {
+            throw new IllegalArgumentException("Bad run name: " + name);
+        }
+        long chunks = (trials + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        runNumber++;
+        SimulationCheckpoint checkpoint = openCheckpoint(name);
+        LongFunction<Tally> task = checkpoint == null ? chunkGames : chunk -> {
+            if (checkpoint.isDone(chunk)) {
+                // Already counted in the checkpoint's total
+                return new Tally();
+            }
+            Tally tally = chunkGames.apply(chunk);
+            checkpoint.complete(chunk, tally);
+            return tally;
+        };
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Tally played;
+        try {
+            played = pool.invoke(new ChunkTask(task, 0, chunks));
+        } finally {
+            pool.shutdown();
+        }
+        if (checkpoint == null) {
+            return played;
+        }
+        try {
+            checkpoint.write();
+        } catch (IOException e) {
+            System.err.println("Could not write final checkpoint: " + e.getMessage());
+        }
+        return checkpoint.total();
+    }
+
+    private SimulationCheckpoint openCheckpoint(String name) {
+        if (checkpointDirectory == null) {
+            return null;
+        }
+        if (name == null) {
+            throw new IllegalStateException("A checkpointed run needs a name");
+        }
+        try {
+            Files.createDirectories(checkpointDirectory);
+            return SimulationCheckpoint.open(checkpointDirectory.resolve("run" + runNumber + "-" + name + ".ckpt"),
+                    name, boardSize, winLength, trials, seed, randomSource, checkpointIntervalMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long chunkEnd(long chunk) {
+        return Math.min(trials, (chunk + 1) * CHUNK_SIZE);
+    }
+
+    /**
+     * Method to play the games of one chunk on the calling thread.
+     * @param playerX Factory for the player representing 'X'.
+     * @param playerO Factory for the player representing 'O'.
+     * @param chunk The chunk number.
+     * @param records The writer the chunk's games are appended to, or null.
+     * @return The results of the chunk's games.
+     */
+    Tally playChunk(PlayerFactory playerX, PlayerFactory playerO, long chunk, GameRecordWriter records) {
+        RandomGenerator random = randomSource.create(chunkSeed(chunk));
+        TicTacToe game = new TicTacToe(boardSize, winLength);
+        Player x = playerX.create('X', random);
+        Player o = playerO.create('O', random);
+        x.setRule(game.getRule());
+        o.setRule(game.getRule());
+        GameMetrics runMetrics = metrics;
+        Tally tally = new Tally();
+        GameRecordWriter.Batch batch = records != null ? records.newBatch() : null;
+        long last = chunkEnd(chunk);
+        for (long trial = chunk * CHUNK_SIZE; trial < last; trial++) {
+            char winner = runMetrics != null ? playGame(game, x, o, runMetrics) : playGame(game, x, o);
+            tally.record(winner);
+            if (batch != null) {
+                batch.append(trial, winner, game);
+            }
+        }
+        if (batch != null) {
+            batch.flush();
+        }
+        return tally;
+    }
+
+    /**
+     * Method to play one silent game from an empty board.
+     * @param game The game to reuse; its board is reinitialized first.
+     * @param playerX Player representing 'X'.
+     * @param playerO Player representing 'O'.
+     * @return The winner's symbol, or '-' for a draw.
+     */
+    static char playGame(TicTacToe game, Player playerX, Player playerO) {
+        game.initializeBoard();
+        Player currentPlayer = playerX;
+        while (true) {
+            int move = currentPlayer.chooseMove(game.getBoard());
+            if (game.playMove(move)) {
+                if (game.checkWinner()) {
+                    return currentPlayer.getSymbol();
+                } else if (game.isBoardFull()) {
+                    return '-';
+                }
+                currentPlayer = (currentPlayer == playerX) ? playerO : playerX;
+            }
+        }
+    }
+
+    /**
+     * Method to play one silent game from an empty board, timing every call on the way.
+     * @param game The game to reuse; its board is reinitialized first.
+     * @param playerX Player representing 'X'.
+     * @param playerO Player representing 'O'.
+     * @param metrics The metrics the timings, retries and result are recorded in.
+     * @return The winner's symbol, or '-' for a draw.
+     */
+    static char playGame(TicTacToe game, Player playerX, Player playerO, GameMetrics metrics) {
+        LatencyHistogram chooseX = metrics.chooseMoveHistogram(playerX);
+        LatencyHistogram chooseO = metrics.chooseMoveHistogram(playerO);
+        LatencyHistogram playMove = metrics.playMoveHistogram();
+        LatencyHistogram checkWinner = metrics.checkWinnerHistogram();
+        game.initializeBoard();
+        Player currentPlayer = playerX;
+        while (true) {
+            long start = System.nanoTime();
+            int move = currentPlayer.chooseMove(game.getBoard());
+            long chosen = System.nanoTime();
+            (currentPlayer == playerX ? chooseX : chooseO).record(chosen - start);
+            boolean legal = game.playMove(move);
+            long played = System.nanoTime();
+            playMove.record(played - chosen);
+            if (!legal) {
+                metrics.recordInvalidMove();
+                continue;
+            }
+            boolean won = game.checkWinner();
+            checkWinner.record(System.nanoTime() - played);
+            if (won || game.isBoardFull()) {
+                char winner = won ? currentPlayer.getSymbol() : '-';
+                metrics.recordGame(winner);
+                return winner;
+            }
+            currentPlayer = (currentPlayer == playerX) ? playerO : playerX;
+        }
+    }
+
+    /**
+     * Derives a well-mixed seed for a chunk from the run seed and the chunk number.
+     */
+    private long chunkSeed(long chunk) {
+        return RandomSource.mix(seed, chunk + 1);
+    }
+
+    /**
+     * Fork-join task that halves its chunk range until a single chunk is left.
+     * ForkJoinTask is Serializable, but these tasks never leave the pool.
+     */
+    @SuppressWarnings("serial")
+    private static class ChunkTask extends RecursiveTask<Tally> {
+        private final LongFunction<Tally> chunkGames;
+        private final long from;
+        private final long to;
+
+        ChunkTask(LongFunction<Tally> chunkGames, long from, long to) {
+            this.chunkGames = chunkGames;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= 1) {
+                return from < to ? chunkGames.apply(from) : new Tally();
+            }
+            long mid = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(chunkGames, from, mid);
+            left.fork();
+            Tally right = new ChunkTask(chunkGames, mid, to).compute();
+            return right.merge(left.join());
+        }
+    }
+
+    /**
+     * Tally class holding primitive win/draw counters for a batch of games.
+     */
+    static final class Tally {
+        long playerXWins;
+        long playerOWins;
+        long draws;
+
+        /**
+         * Method to count one finished game.
+         * @param winner The winner's symbol, or '-' for a draw.
+         */
+        void record(char winner) {
+            if (winner == 'X') {
+                playerXWins++;
+            } else if (winner == 'O') {
+                playerOWins++;
+            } else {
+                draws++;
+            }
+        }
+
+        /**
+         * Method to add another tally's counters into this one.
+         * @param other The tally to merge.
+         * @return This tally.
+         */
+        Tally merge(Tally other) {
+            playerXWins += other.playerXWins;
+            playerOWins += other.playerOWins;
+            draws += other.draws;
+            return this;
+        }
+
+        long total() {
+            return playerXWins + playerOWins + draws;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package upei.project;
+
+/**
+ * Sprt class implementing a sequential probability ratio test on win/draw/loss counts,
+ * as chess engine testers use it. H0 says the Elo difference is elo0 and H1 that it is
+ * elo1; after every batch the log-likelihood ratio of the results so far is compared
+ * with two bounds derived from the error rates, and the test stops as soon as one is
+ * crossed. The likelihood uses the normal approximation to the per-game score, with
+ * half a pseudo-game added to each outcome so one-sided results (every game won, as
+ * between a perfect and a random player) still have a variance and can be decided.
+ */
+final class Sprt {
+    enum Decision {
+        ACCEPT_H0,
+        ACCEPT_H1,
+        CONTINUE
+    }
+
+    private final double score0;
+    private final double score1;
+    private final double lowerBound;
+    private final double upperBound;
+
+    /**
+     * Constructor for a test between two Elo hypotheses.
+     * @param elo0 The Elo difference under H0.
+     * @param elo1 The Elo difference under H1, greater than elo0.
+     * @param alpha The probability of accepting H1 when H0 holds.
+     * @param beta The probability of accepting H0 when H1 holds.
+     */
+    public Sprt(double elo0, double elo1, double alpha, double beta) {
+        if (elo1 <= elo0 || alpha <= 0 || alpha >= 1 || beta <= 0 || beta >= 1) {
+            throw new IllegalArgumentException("Need elo0 < elo1 and error rates between 0 and 1");
+        }
+        score0 = expectedScore(elo0);
+        score1 = expectedScore(elo1);
+        lowerBound = Math.log(beta / (1 - alpha));
+        upperBound = Math.log((1 - beta) / alpha);
+    }
+
+    /**
+     * Method to compute the expected score of a player rated elo points above its opponent.
+     * @param elo The rating difference.
+     * @return The expected points per game, between 0 and 1.
+     */
+    static double expectedScore(double elo) {
+        return 1.0 / (1.0 + Math.pow(10.0, -elo / 400.0));
+    }
+
+    /**
+     * Method to compute the log-likelihood ratio of H1 against H0.
+     * @param wins Games won by the tested side.
+     * @param draws Games drawn.
+     * @param losses Games lost by the tested side.
+     * @return The ratio; 0 before any game.
+     */
+    public double logLikelihoodRatio(long wins, long draws, long losses) {
+        long games = wins + draws + losses;
+        if (games == 0) {
+            return 0.0;
+        }
+        double w = (wins + 0.5) / (games + 1.5);
+        double d = (draws + 0.5) / (games + 1.5);
+        double score = w + d / 2;
+        double variance = w + d / 4 - score * score;
+        return games * (score1 - score0) * (2 * score - score0 - score1) / (2 * variance);
+    }
+
+    /**
+     * Method to decide whether the results so far settle the test.
+     * @param wins Games won by the tested side.
+     * @param draws Games drawn.
+     * @param losses Games lost by the tested side.
+     * @return ACCEPT_H1, ACCEPT_H0 or CONTINUE.
+     */
+    public Decision decide(long wins, long draws, long losses) {
+        double llr = logLikelihoodRatio(wins, draws, losses);
+        if (llr >= upperBound) {
+            return Decision.ACCEPT_H1;
+        } else if (llr <= lowerBound) {
+            return Decision.ACCEPT_H0;
+        }
+        return Decision.CONTINUE;
+    }
+}
@@ -0,0 +1,343 @@
+package upei.project;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * StateSpaceExplorer class to enumerate every position reachable from the empty board
+ * under the TicTacToe rules (X first, play stops at a win or a full board), counting the
+ * positions of each depth by outcome.
+ *
+ * A position is packed into a long with 2 bits per cell (0 empty, 1 X, 2 O), cell c at
+ * bits 2c and 2c+1, which fits boards up to 5x5; bit 62 marks a finished game. The
+ * search goes breadth-first, one layer per depth. Every layer is streamed to a file of
+ * big-endian longs (layerN.bin in the output directory) and the next layer is built by
+ * all workers reading blocks of that file and adding the children of its unfinished
+ * positions to one shared OffHeapLongSet, which drops the positions reached along more
+ * than one path. Only the layer being built is ever held, and it is held off the heap
+ * (or in a mapped file), so 4x4 and the first layers of 5x5 fit in any heap.
+ */
+final class StateSpaceExplorer {
+    static final int MAX_BOARD_SIZE = 5;
+    static final long FINISHED = 1L << 62;
+
+    private static final long OCCUPIED = 1L << 63;
+    private static final int BLOCK_POSITIONS = 4096;
+
+    private final WinRule rule;
+    private final int cellCount;
+    private final int parallelism;
+    private final Path directory;
+    private int maxDepth;
+    private long maxCapacity = 1L << 27;
+    private boolean mapped;
+
+    /**
+     * Constructor to configure an exploration.
+     * @param boardSize The size of the game board, at most MAX_BOARD_SIZE.
+     * @param winLength The number of stones in a row needed to win.
+     * @param parallelism The number of worker threads.
+     * @param directory The directory the layer files are written to.
+     */
+    public StateSpaceExplorer(int boardSize, int winLength, int parallelism, Path directory) {
+        if (boardSize < 1 || boardSize > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + MAX_BOARD_SIZE);
+        }
+        this.rule = new WinRule(boardSize, winLength);
+        this.cellCount = boardSize * boardSize;
+        this.parallelism = parallelism;
+        this.directory = directory;
+        this.maxDepth = cellCount;
+    }
+
+    /**
+     * Main method to explore a board, e.g. {@code StateSpaceExplorer 4 4 layers} for 4x4,
+     * or {@code StateSpaceExplorer 5 4 layers 7 -mapped} for the first 7 plies of 5x5 with
+     * the visited set in a file.
+     * @param args Board size, win length, output directory, optionally the depth limit and "-mapped".
+     */
+    public static void main(String[] args) throws IOException {
+        int boardSize = Integer.parseInt(args[0]);
+        int winLength = Integer.parseInt(args[1]);
+        StateSpaceExplorer explorer = new StateSpaceExplorer(boardSize, winLength,
+                Runtime.getRuntime().availableProcessors(), Paths.get(args[2]));
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].equals("-mapped")) {
+                explorer.setMapped(true);
+            } else {
+                explorer.setMaxDepth(Integer.parseInt(args[i]));
+            }
+        }
+        long start = System.nanoTime();
+        List<Layer> layers = explorer.explore();
+        long total = 0;
+        System.out.println("depth  positions  X wins  O wins  draws");
+        for (Layer layer : layers) {
+            System.out.println(layer);
+            total += layer.positions;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d positions in %.2f s (%.0f positions/s)%n", total, seconds, total / seconds);
+    }
+
+    /**
+     * Setter for the deepest layer to build.
+     * @param maxDepth The number of plies; the cell count by default, i.e. everything.
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = Math.min(maxDepth, cellCount);
+    }
+
+    /**
+     * Setter for the largest visited set to allocate; a layer with more than three
+     * quarters as many positions fails with IllegalStateException.
+     * @param maxCapacity A power of two; 2^27 slots (1 GiB) by default.
+     */
+    public void setMaxCapacity(long maxCapacity) {
+        this.maxCapacity = maxCapacity;
+    }
+
+    /**
+     * Setter for where the visited set lives.
+     * @param mapped True to map it from visited.bin in the output directory rather than
+     *               allocate it in direct memory; false by default.
+     */
+    public void setMapped(boolean mapped) {
+        this.mapped = mapped;
+    }
+
+    /**
+     * Layer class holding the counts of one depth.
+     */
+    static final class Layer {
+        final int depth;
+        final long positions;
+        final long xWins;
+        final long oWins;
+        final long draws;
+
+        Layer(int depth, long positions, long xWins, long oWins, long draws) {
+            this.depth = depth;
+            this.positions = positions;
+            this.xWins = xWins;
+            this.oWins = oWins;
+            this.draws = draws;
+        }
+
+        /**
+         * Getter for the number of positions still to be played on.
+         * @return The positions that are neither won nor drawn.
+         */
+        long ongoing() {
+            return positions - xWins - oWins - draws;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%5d %10d %7d %7d %6d", depth, positions, xWins, oWins, draws);
+        }
+    }
+
+    /**
+     * Method to build and write every layer up to the depth limit or the last move.
+     * @return The counts of each layer, from depth 0.
+     * @throws IOException If a layer file cannot be written or read.
+     * @throws IllegalStateException If a layer outgrows the largest visited set.
+     */
+    public List<Layer> explore() throws IOException {
+        Files.createDirectories(directory);
+        List<Layer> layers = new ArrayList<>();
+        try (LayerWriter writer = new LayerWriter(layerFile(0))) {
+            writer.write(0L);
+        }
+        layers.add(new Layer(0, 1, 0, 0, 0));
+        if (maxDepth == 0) {
+            return layers;
+        }
+        OffHeapLongSet visited = mapped ? new OffHeapLongSet(capacity(), directory.resolve("visited.bin"))
+                : new OffHeapLongSet(capacity());
+        try {
+            for (int depth = 0; depth < maxDepth && layers.get(depth).ongoing() > 0; depth++) {
+                if (depth > 0) {
+                    visited.clear();
+                }
+                layers.add(expand(depth, visited));
+            }
+        } finally {
+            if (mapped) {
+                Files.deleteIfExists(directory.resolve("visited.bin"));
+            }
+        }
+        return layers;
+    }
+
+    /**
+     * Getter for the file a layer is written to.
+     * @param depth The depth of the layer.
+     * @return layerN.bin in the output directory.
+     */
+    Path layerFile(int depth) {
+        return directory.resolve("layer" + depth + ".bin");
+    }
+
+    /**
+     * Builds layer depth + 1 from the file of layer depth and writes it out.
+     */
+    private Layer expand(int depth, OffHeapLongSet visited) throws IOException {
+        LongAdder xWins = new LongAdder();
+        LongAdder oWins = new LongAdder();
+        LongAdder draws = new LongAdder();
+        char mover = depth % 2 == 0 ? 'X' : 'O';
+        long digit = OpeningBook.digit(mover);
+        boolean full = depth + 1 == cellCount;
+        try (FileChannel in = FileChannel.open(layerFile(depth), StandardOpenOption.READ)) {
+            long count = in.size() / 8;
+            AtomicLong cursor = new AtomicLong();
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                List<ForkJoinTask<?>> workers = new ArrayList<>();
+                for (int w = 0; w < parallelism; w++) {
+                    workers.add(pool.submit(() -> {
+                        ByteBuffer block = ByteBuffer.allocate(BLOCK_POSITIONS * 8);
+                        char[] cells = new char[cellCount];
+                        for (long first; (first = cursor.getAndAdd(BLOCK_POSITIONS)) < count; ) {
+                            readBlock(in, block, first, Math.min(count - first, BLOCK_POSITIONS));
+                            while (block.hasRemaining()) {
+                                long position = block.getLong();
+                                if ((position & FINISHED) != 0) {
+                                    continue;
+                                }
+                                decode(position, cells);
+                                for (int cell = 0; cell < cellCount; cell++) {
+                                    if (cells[cell] != '-') {
+                                        continue;
+                                    }
+                                    cells[cell] = mover;
+                                    boolean won = rule.completesLine(cells, cell, mover);
+                                    cells[cell] = '-';
+                                    long child = position | digit << (2 * cell);
+                                    if (visited.add(child | OCCUPIED | (won || full ? FINISHED : 0L))) {
+                                        if (won) {
+                                            (mover == 'X' ? xWins : oWins).increment();
+                                        } else if (full) {
+                                            draws.increment();
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }));
+                }
+                for (ForkJoinTask<?> worker : workers) {
+                    worker.join();
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+        try (LayerWriter writer = new LayerWriter(layerFile(depth + 1))) {
+            visited.forEach(position -> writer.write(position & ~OCCUPIED));
+        }
+        return new Layer(depth + 1, visited.size(), xWins.sum(), oWins.sum(), draws.sum());
+    }
+
+    /**
+     * Sizes the visited set for the largest layer within the depth limit, bounded by the
+     * number of boards with that many stones: C(cells, d) * C(d, ceil(d / 2)).
+     */
+    private long capacity() {
+        double largest = 1;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            largest = Math.max(largest, choose(cellCount, depth) * choose(depth, (depth + 1) / 2));
+        }
+        long capacity = 2;
+        while (capacity < maxCapacity && capacity / 4 * 3 < largest) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static double choose(int n, int k) {
+        double result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    private void decode(long position, char[] cells) {
+        for (int cell = 0; cell < cellCount; cell++) {
+            int value = (int) (position >>> (2 * cell)) & 0x3;
+            cells[cell] = value == 1 ? 'X' : value == 2 ? 'O' : '-';
+        }
+    }
+
+    private static void readBlock(FileChannel in, ByteBuffer block, long first, long positions) {
+        block.clear().limit((int) positions * 8);
+        try {
+            long offset = first * 8;
+            while (block.hasRemaining()) {
+                int read = in.read(block, offset + block.position());
+                if (read < 0) {
+                    throw new IOException("Layer file ended early");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        block.flip();
+    }
+
+    /**
+     * Buffered writer of one layer file.
+     */
+    private static final class LayerWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+
+        LayerWriter(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+
+        void write(long position) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.putLong(position);
+        }
+
+        private void flush() {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package upei.project;
+
+import java.io.PrintStream;
+
+/**
+ * TextRenderer class printing the whole board after every move, in the format of
+ * TicTacToe.printBoard. Each frame is built in one reusable StringBuilder, encoded into
+ * one reusable byte array and handed to the stream in a single write, instead of one
+ * synchronized print call per cell.
+ */
+class TextRenderer implements BoardRenderer {
+    private final PrintStream out;
+    protected final StringBuilder frame = new StringBuilder();
+    private byte[] bytes = new byte[0];
+
+    /**
+     * Constructor for a renderer writing to a stream, e.g. System.out.
+     * @param out The stream every frame is written to.
+     */
+    public TextRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void gameStarted(TicTacToe game) {
+        frame.setLength(0);
+        appendBoard(frame, game.getBoard());
+        flushFrame();
+    }
+
+    @Override
+    public void movePlayed(TicTacToe game, int cell) {
+        int boardSize = game.getBoard().length;
+        frame.setLength(0);
+        frame.append("Player ").append(game.getLastPlayer()).append(" makes a move at: (")
+                .append(cell / boardSize).append(", ").append(cell % boardSize).append(")\n");
+        appendBoard(frame, game.getBoard());
+        flushFrame();
+    }
+
+    @Override
+    public void message(String text) {
+        frame.setLength(0);
+        frame.append(text).append('\n');
+        flushFrame();
+    }
+
+    /**
+     * Method to append a board as TicTacToe.printBoard shows it.
+     * @param out The builder to append to.
+     * @param board The board to show.
+     */
+    static void appendBoard(StringBuilder out, char[][] board) {
+        out.append("Current board:\n");
+        for (char[] row : board) {
+            for (char cell : row) {
+                out.append(cell).append(' ');
+            }
+            out.append('\n');
+        }
+    }
+
+    /**
+     * Writes the frame to the stream in one call; every character on a board is ASCII.
+     */
+    protected void flushFrame() {
+        int length = frame.length();
+        if (bytes.length < length) {
+            bytes = new byte[Math.max(length, 2 * bytes.length)];
+        }
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) frame.charAt(i);
+        }
+        out.write(bytes, 0, length);
+        out.flush();
+    }
+}
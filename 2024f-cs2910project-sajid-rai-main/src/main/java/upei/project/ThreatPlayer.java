@@ -0,0 +1,313 @@
+package upei.project;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * ThreatPlayer class that picks moves from a threat map kept up to date move by move.
+ *
+ * Every winLength window of the board is tracked with one stone count per player. A
+ * window only the player has entered is a threat of theirs, worth 8^stones to each of
+ * its cells; a window both players have entered is dead. Per empty cell the player keeps
+ * the summed threat of each side and the number of windows one stone short of a win.
+ * Placing a stone changes only the windows through its cell, so the map is updated in
+ * O(windows per cell * winLength) rather than rebuilt.
+ *
+ * Candidates are the empty cells within two steps of a stone, also kept incrementally.
+ * A move is chosen in this order: a cell that wins, a cell that blocks the opponent's
+ * win, else the candidate with the highest threat of both sides together, ties broken
+ * by the player's own threat and then at random.
+ *
+ * Between calls the player remembers the board it saw; only stones added since then are
+ * applied, and any other difference (a new game, an undo) rebuilds the map.
+ */
+class ThreatPlayer extends Player {
+    private static final int NEAR_RADIUS = 2;
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final RandomGenerator random;
+
+    // Threat state, rebuilt whenever the rule or board size changes
+    private WinRule activeRule;
+    private int boardSize;
+    private int winLength;
+    private char[] cells;
+    private int[] windowCells;
+    private int[][] cellWindows;
+    private int[][] counts;
+    private long[][] threat;
+    private int[][] wins;
+    private long[] weights;
+    private int[] near;
+    private int[] candidates;
+    private int[] candidatePosition;
+    private int candidateCount;
+    private int stones;
+    private boolean randomTie;
+
+    public ThreatPlayer(char symbol) {
+        this(symbol, new SplittableRandom());
+    }
+
+    /**
+     * Constructor for a ThreatPlayer whose ties are broken with the given generator.
+     * @param symbol The player symbol ('X' or 'O').
+     * @param random The random number generator to use.
+     */
+    public ThreatPlayer(char symbol, RandomGenerator random) {
+        super(symbol);
+        this.random = random;
+    }
+
+    /**
+     * Chooses a winning move, else a blocking move, else the strongest candidate.
+     * @param board The current state of the board.
+     * @return The cell index of the move.
+     */
+    @Override
+    public int chooseMove(char[][] board) {
+        sync(board);
+        randomTie = false;
+        if (stones == 0) {
+            return (boardSize / 2) * boardSize + boardSize / 2;
+        }
+        int me = indexOf(symbol);
+        int opponent = 1 - me;
+        int block = -1;
+        int best = -1;
+        long bestScore = -1;
+        long bestAttack = -1;
+        int ties = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int cell = candidates[i];
+            if (wins[me][cell] > 0) {
+                return cell;
+            }
+            if (wins[opponent][cell] > 0) {
+                block = cell;
+            }
+            long attack = threat[me][cell];
+            long score = attack + threat[opponent][cell];
+            if (score > bestScore || score == bestScore && attack > bestAttack) {
+                best = cell;
+                bestScore = score;
+                bestAttack = attack;
+                ties = 1;
+            } else if (score == bestScore && attack == bestAttack && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+        if (block >= 0) {
+            return block;
+        }
+        randomTie = ties > 1;
+        return best >= 0 ? best : firstEmpty();
+    }
+
+    /**
+     * Wins, blocks and unique best scores are cacheable; random tie-breaks are not.
+     * @return False if the last move was drawn among equally scored cells.
+     */
+    @Override
+    public boolean isLastMoveCacheable() {
+        return !randomTie;
+    }
+
+    /**
+     * Getter for the threat map as of the last chooseMove call.
+     * @param cell The cell index.
+     * @param player The side whose threat is wanted.
+     * @return The summed weight of the player's open windows through the cell.
+     */
+    long threatAt(int cell, char player) {
+        return threat[indexOf(player)][cell];
+    }
+
+    /**
+     * Brings the threat map up to date with the board, applying new stones only.
+     */
+    private void sync(char[][] board) {
+        WinRule rule = ruleFor(board);
+        boolean rebuild = rule != activeRule;
+        if (rebuild) {
+            build(rule);
+        }
+        for (int row = 0; row < boardSize && !rebuild; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                char known = cells[row * boardSize + col];
+                if (known != '-' && board[row][col] != known) {
+                    rebuild = true;
+                    break;
+                }
+            }
+        }
+        if (rebuild) {
+            reset();
+        }
+        for (int row = 0; row < boardSize; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                int cell = row * boardSize + col;
+                if (cells[cell] == '-' && board[row][col] != '-') {
+                    place(cell, board[row][col]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lays out the windows of a rule: their cells and, per cell, the windows through it.
+     */
+    private void build(WinRule rule) {
+        activeRule = rule;
+        boardSize = rule.getBoardSize();
+        winLength = rule.getWinLength();
+        int cellCount = boardSize * boardSize;
+        int[] perCell = new int[cellCount];
+        int windowCount = 0;
+        for (int[] direction : DIRECTIONS) {
+            for (int row = 0; row < boardSize; row++) {
+                for (int col = 0; col < boardSize; col++) {
+                    if (fits(row, col, direction)) {
+                        windowCount++;
+                    }
+                }
+            }
+        }
+        windowCells = new int[windowCount * winLength];
+        int window = 0;
+        for (int[] direction : DIRECTIONS) {
+            for (int row = 0; row < boardSize; row++) {
+                for (int col = 0; col < boardSize; col++) {
+                    if (!fits(row, col, direction)) {
+                        continue;
+                    }
+                    for (int step = 0; step < winLength; step++) {
+                        int cell = (row + step * direction[0]) * boardSize + col + step * direction[1];
+                        windowCells[window * winLength + step] = cell;
+                        perCell[cell]++;
+                    }
+                    window++;
+                }
+            }
+        }
+        cellWindows = new int[cellCount][];
+        for (int cell = 0; cell < cellCount; cell++) {
+            cellWindows[cell] = new int[perCell[cell]];
+            perCell[cell] = 0;
+        }
+        for (window = 0; window < windowCount; window++) {
+            for (int step = 0; step < winLength; step++) {
+                int cell = windowCells[window * winLength + step];
+                cellWindows[cell][perCell[cell]++] = window;
+            }
+        }
+        weights = new long[winLength + 1];
+        for (int stonesIn = 0; stonesIn <= winLength; stonesIn++) {
+            // Capped so the summed threat of a cell cannot overflow
+            weights[stonesIn] = 1L << Math.min(3 * stonesIn, 48);
+        }
+        cells = new char[cellCount];
+        counts = new int[2][windowCount];
+        threat = new long[2][cellCount];
+        wins = new int[2][cellCount];
+        near = new int[cellCount];
+        candidates = new int[cellCount];
+        candidatePosition = new int[cellCount];
+    }
+
+    /**
+     * Empties the map: every window open to both sides, no stones and no candidates.
+     */
+    private void reset() {
+        Arrays.fill(cells, '-');
+        Arrays.fill(near, 0);
+        Arrays.fill(candidatePosition, -1);
+        candidateCount = 0;
+        stones = 0;
+        for (int p = 0; p < 2; p++) {
+            Arrays.fill(counts[p], 0);
+            for (int cell = 0; cell < cells.length; cell++) {
+                threat[p][cell] = cellWindows[cell].length * weights[0];
+                wins[p][cell] = winLength == 1 ? cellWindows[cell].length : 0;
+            }
+        }
+    }
+
+    /**
+     * Adds a stone and updates the windows through it and the candidates around it.
+     */
+    private void place(int cell, char player) {
+        int p = indexOf(player);
+        for (int window : cellWindows[cell]) {
+            long threatX = -threatOf(window, 0);
+            long threatO = -threatOf(window, 1);
+            int winX = -winOf(window, 0);
+            int winO = -winOf(window, 1);
+            counts[p][window]++;
+            threatX += threatOf(window, 0);
+            threatO += threatOf(window, 1);
+            winX += winOf(window, 0);
+            winO += winOf(window, 1);
+            for (int step = 0; step < winLength; step++) {
+                int member = windowCells[window * winLength + step];
+                threat[0][member] += threatX;
+                threat[1][member] += threatO;
+                wins[0][member] += winX;
+                wins[1][member] += winO;
+            }
+        }
+        cells[cell] = player;
+        stones++;
+        removeCandidate(cell);
+        int row = cell / boardSize;
+        int col = cell % boardSize;
+        for (int r = Math.max(0, row - NEAR_RADIUS); r <= Math.min(boardSize - 1, row + NEAR_RADIUS); r++) {
+            for (int c = Math.max(0, col - NEAR_RADIUS); c <= Math.min(boardSize - 1, col + NEAR_RADIUS); c++) {
+                int neighbour = r * boardSize + c;
+                if (near[neighbour]++ == 0 && cells[neighbour] == '-') {
+                    candidatePosition[neighbour] = candidateCount;
+                    candidates[candidateCount++] = neighbour;
+                }
+            }
+        }
+    }
+
+    private long threatOf(int window, int p) {
+        return counts[1 - p][window] == 0 ? weights[counts[p][window]] : 0L;
+    }
+
+    private int winOf(int window, int p) {
+        return counts[1 - p][window] == 0 && counts[p][window] == winLength - 1 ? 1 : 0;
+    }
+
+    private void removeCandidate(int cell) {
+        int position = candidatePosition[cell];
+        if (position < 0) {
+            return;
+        }
+        int last = candidates[--candidateCount];
+        candidates[position] = last;
+        candidatePosition[last] = position;
+        candidatePosition[cell] = -1;
+    }
+
+    private boolean fits(int row, int col, int[] direction) {
+        int endRow = row + direction[0] * (winLength - 1);
+        int endCol = col + direction[1] * (winLength - 1);
+        return endRow >= 0 && endRow < boardSize && endCol >= 0 && endCol < boardSize;
+    }
+
+    private int firstEmpty() {
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] == '-') {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(char player) {
+        return player == 'X' ? 0 : 1;
+    }
+}
@@ -1,8 +1,14 @@
 package upei.project;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Abstract Player class to represent a player in the game.
@@ -10,17 +16,61 @@ import java.util.Scanner;
  */
 abstract class Player {
     protected char symbol;
+    protected WinRule rule;
 
     public Player(char symbol) {
         this.symbol = symbol;
     }
 
     /**
-     * Abstract method to be implemented by subclasses to make a move.
+     * Set the rule the player's games are won by; by default a full line is needed.
+     * @param rule The rule of the game being played.
+     */
+    public void setRule(WinRule rule) {
+        this.rule = rule;
+    }
+
+    /**
+     * Get the rule for the given board, falling back to the full-line rule
+     * when no rule for a board of this size has been set.
+     * @param board The current state of the board.
+     * @return The rule to play by.
+     */
+    protected WinRule ruleFor(char[][] board) {
+        if (rule == null || rule.getBoardSize() != board.length) {
+            rule = new WinRule(board.length, board.length);
+        }
+        return rule;
+    }
+
+    /**
+     * Abstract method to be implemented by subclasses to choose a move.
+     * Moves are encoded as a single cell index (row * boardSize + col) so that
+     * choosing a move allocates nothing.
+     * @param board The current state of the board.
+     * @return The cell index of the move.
+     */
+    public abstract int chooseMove(char[][] board);
+
+    /**
+     * Method telling a CachingPlayer whether the move chooseMove just returned may be
+     * replayed whenever the same position comes up again. Players whose choice depends on
+     * randomness, or on anything besides the position, opt out by returning false.
+     * @return True if the last move is a function of the position alone.
+     */
+    public boolean isLastMoveCacheable() {
+        return true;
+    }
+
+    /**
+     * Method to make a move, returned as a row and column pair.
      * @param board The current state of the board.
      * @return The row and column of the move.
      */
-    public abstract int[] makeMove(char[][] board);
+    public int[] makeMove(char[][] board) {
+        int cell = chooseMove(board);
+        return new int[]{cell / board.length, cell % board.length};
+    }
 
     /**
      * Get the symbol of the player.
@@ -35,26 +85,40 @@ abstract class Player {
  * RandomPlayer class that makes random moves on the board.
  */
 class RandomPlayer extends Player {
-    private Random random;
+    private RandomGenerator random;
 
     public RandomPlayer(char symbol) {
+        this(symbol, new SplittableRandom());
+    }
+
+    /**
+     * Constructor for a RandomPlayer drawing from the given generator, e.g. a seeded one.
+     * @param symbol The player symbol ('X' or 'O').
+     * @param random The random number generator to use.
+     */
+    public RandomPlayer(char symbol, RandomGenerator random) {
         super(symbol);
-        random = new Random();
+        this.random = random;
     }
 
     /**
      * Makes a random move on the board.
      * @param board The current state of the board.
-     * @return The row and column of the move.
+     * @return The cell index of the move.
      */
     @Override
-    public int[] makeMove(char[][] board) {
+    public int chooseMove(char[][] board) {
         int row, col;
         do {
             row = random.nextInt(board.length);
             col = random.nextInt(board.length);
         } while (board[row][col] != '-');
-        return new int[]{row, col};
+        return row * board.length + col;
+    }
+
+    @Override
+    public boolean isLastMoveCacheable() {
+        return false;
     }
 }
 
@@ -62,128 +126,131 @@ class RandomPlayer extends Player {
  * BlockingPlayer class that tries to block the opponent from winning.
  */
 class BlockingPlayer extends Player {
+    private RandomPlayer fallback;
+    private LineCounters counters;
+    private boolean blocked;
+
     public BlockingPlayer(char symbol) {
+        this(symbol, new SplittableRandom());
+    }
+
+    /**
+     * Constructor for a BlockingPlayer whose random fallback moves use the given generator.
+     * @param symbol The player symbol ('X' or 'O').
+     * @param random The random number generator to use.
+     */
+    public BlockingPlayer(char symbol, RandomGenerator random) {
         super(symbol);
+        fallback = new RandomPlayer(symbol, random);
     }
 
     /**
      * Makes a move to block the opponent if possible, otherwise makes a random move.
      * @param board The current state of the board.
-     * @return The row and column of the move.
+     * @return The cell index of the move.
      */
     @Override
-    public int[] makeMove(char[][] board) {
+    public int chooseMove(char[][] board) {
         // Simple strategy: try to block the opponent from winning
         char opponent = (symbol == 'X') ? 'O' : 'X';
+        WinRule rule = ruleFor(board);
+        if (rule.isFullLine()) {
+            // Count the opponent's stones per line once, then test each empty cell in constant time
+            if (counters == null || counters.getBoardSize() != board.length) {
+                counters = new LineCounters(board.length);
+            }
+            counters.load(board);
+        }
         for (int i = 0; i < board.length; i++) {
             for (int j = 0; j < board.length; j++) {
-                if (board[i][j] == '-') {
-                    board[i][j] = opponent;
-                    if (checkWinner(board, opponent)) {
-                        board[i][j] = '-';
-                        return new int[]{i, j};
-                    }
-                    board[i][j] = '-';
+                if (board[i][j] == '-' && (rule.isFullLine()
+                        ? counters.wouldComplete(i, j, opponent)
+                        : rule.completesLine(board, i, j, opponent))) {
+                    blocked = true;
+                    return i * board.length + j;
                 }
             }
         }
         // If no blocking move, choose randomly
-        return new RandomPlayer(symbol).makeMove(board);
+        blocked = false;
+        return fallback.chooseMove(board);
     }
 
     /**
-     * Helper method to check if the given player has won.
-     * @param board The current state of the board.
-     * @param player The player symbol to check.
-     * @return True if the player has won, false otherwise.
+     * Only blocks are cacheable; the random fallback is not.
+     * @return True if the last move was a block.
      */
-    private boolean checkWinner(char[][] board, char player) {
-        int boardSize = board.length;
-        // Check rows and columns
-        for (int i = 0; i < boardSize; i++) {
-            if (checkRow(board, i, player) || checkColumn(board, i, player)) {
-                return true;
-            }
-        }
-        // Check diagonals
-        return checkMainDiagonal(board, player) || checkAntiDiagonal(board, player);
+    @Override
+    public boolean isLastMoveCacheable() {
+        return blocked;
     }
+}
 
-    /**
-     * Helper method to check if the player has won in a specific row.
-     * @param board The current state of the board.
-     * @param row The row to check.
-     * @param player The player symbol to check.
-     * @return True if the player has won in the row, false otherwise.
-     */
-    private boolean checkRow(char[][] board, int row, char player) {
-        for (int j = 0; j < board.length; j++) {
-            if (board[row][j] != player) {
-                return false;
-            }
-        }
-        return true;
+/**
+ * GameController class to manage the game flow between two players.
+ */
+class GameController {
+    private static final int FORFEIT = -1;
+
+    private TicTacToe game;
+    private Player playerX;
+    private Player playerO;
+    private GameMetrics metrics;
+    private BoardRenderer renderer = new TextRenderer(System.out);
+    private TimeControl timeControl;
+    private Executor executor;
+    private final CompletableFuture<?>[] lanes = {CompletableFuture.completedFuture(null), CompletableFuture.completedFuture(null)};
+    private final RandomGenerator fallback = new SplittableRandom();
+
+    public GameController(int boardSize, Player playerX, Player playerO) {
+        this(boardSize, boardSize, playerX, playerO);
     }
 
     /**
-     * Helper method to check if the player has won in a specific column.
-     * @param board The current state of the board.
-     * @param col The column to check.
-     * @param player The player symbol to check.
-     * @return True if the player has won in the column, false otherwise.
+     * Constructor for a game won by winLength stones in a row.
+     * Both players are given the game's rule.
+     * @param boardSize The size of the game board.
+     * @param winLength The number of stones in a row needed to win.
+     * @param playerX Player representing 'X'.
+     * @param playerO Player representing 'O'.
      */
-    private boolean checkColumn(char[][] board, int col, char player) {
-        for (int i = 0; i < board.length; i++) {
-            if (board[i][col] != player) {
-                return false;
-            }
-        }
-        return true;
+    public GameController(int boardSize, int winLength, Player playerX, Player playerO) {
+        this.game = new TicTacToe(boardSize, winLength);
+        this.playerX = playerX;
+        this.playerO = playerO;
+        playerX.setRule(game.getRule());
+        playerO.setRule(game.getRule());
     }
 
     /**
-     * Helper method to check if the player has won in the main diagonal.
-     * @param board The current state of the board.
-     * @param player The player symbol to check.
-     * @return True if the player has won in the main diagonal, false otherwise.
+     * Setter for the metrics later games report to.
+     * @param metrics The metrics to update, or null to turn instrumentation off.
      */
-    private boolean checkMainDiagonal(char[][] board, char player) {
-        for (int i = 0; i < board.length; i++) {
-            if (board[i][i] != player) {
-                return false;
-            }
-        }
-        return true;
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
     }
 
     /**
-     * Helper method to check if the player has won in the anti-diagonal.
-     * @param board The current state of the board.
-     * @param player The player symbol to check.
-     * @return True if the player has won in the anti-diagonal, false otherwise.
+     * Setter for the renderer later games are shown with.
+     * @param renderer The renderer; BoardRenderer.HEADLESS shows nothing.
      */
-    private boolean checkAntiDiagonal(char[][] board, char player) {
-        for (int i = 0; i < board.length; i++) {
-            if (board[i][board.length - i - 1] != player) {
-                return false;
-            }
-        }
-        return true;
+    public void setRenderer(BoardRenderer renderer) {
+        this.renderer = renderer;
     }
-}
-
-/**
- * GameController class to manage the game flow between two players.
- */
-class GameController {
-    private TicTacToe game;
-    private Player playerX;
-    private Player playerO;
 
-    public GameController(int boardSize, Player playerX, Player playerO) {
-        this.game = new TicTacToe(boardSize);
-        this.playerX = playerX;
-        this.playerO = playerO;
+    /**
+     * Setter for the time control of later games. Each move is then asked of the player
+     * on the executor, on a copy of the board, and waited for only until its deadline
+     * plus the grace period; players implementing AnytimePlayer are told the deadline so
+     * they can answer with their best move so far. Calls to one player never overlap:
+     * a player still busy with a late move is asked for the next one when it finishes,
+     * and the wait counts against the new move's time.
+     * @param timeControl The limits to enforce, or null to call players directly with no limit.
+     * @param executor The executor the players' moves run on, shared by any number of controllers.
+     */
+    public void setTimeControl(TimeControl timeControl, Executor executor) {
+        this.timeControl = timeControl;
+        this.executor = executor;
     }
 
     /**
@@ -191,47 +258,158 @@ class GameController {
      */
     public void playGame() {
         game.initializeBoard();
-        game.printBoard();
+        renderer.gameStarted(game);
         Player currentPlayer = playerX;
+        int[] invalidMoves = new int[2];
+        long[] clocks = new long[2];
+        if (timeControl != null) {
+            Arrays.fill(clocks, timeControl.getGameClockNanos());
+        }
 
         while (true) {
-            int[] move = currentPlayer.makeMove(game.getBoard());
-            if (game.playMove(move[0], move[1])) {
-                System.out.println("Player " + currentPlayer.getSymbol() + " makes a move at: (" + move[0] + ", " + move[1] + ")");
-                game.printBoard();
-
-                if (game.checkWinner()) {
-                    System.out.println("Player " + currentPlayer.getSymbol() + " wins!");
+            int side = currentPlayer == playerX ? 0 : 1;
+            long start = metrics != null ? System.nanoTime() : 0L;
+            int move = timeControl != null ? timedMove(currentPlayer, side, clocks)
+                    : currentPlayer.chooseMove(game.getBoard());
+            long chosen = metrics != null ? System.nanoTime() : 0L;
+            boolean legal = game.playMove(move);
+            if (metrics != null) {
+                long played = System.nanoTime();
+                metrics.chooseMoveHistogram(currentPlayer).record(chosen - start);
+                metrics.playMoveHistogram().record(played - chosen);
+            }
+            if (!legal && move != FORFEIT) {
+                renderer.message("Invalid move by Player " + currentPlayer.getSymbol() + ". Try again.");
+                if (metrics != null) {
+                    metrics.recordInvalidMove();
+                }
+                if (timeControl != null && ++invalidMoves[side] >= timeControl.getMaxInvalidMoves()) {
+                    move = apply(timeControl.getInvalidPolicy());
+                    legal = game.playMove(move);
+                }
+            }
+            if (move == FORFEIT) {
+                forfeit(currentPlayer);
+                break;
+            }
+            if (legal) {
+                invalidMoves[side] = 0;
+                renderer.movePlayed(game, move);
+
+                long checked = metrics != null ? System.nanoTime() : 0L;
+                boolean won = game.checkWinner();
+                if (metrics != null) {
+                    metrics.checkWinnerHistogram().record(System.nanoTime() - checked);
+                }
+                if (won) {
+                    renderer.message("Player " + currentPlayer.getSymbol() + " wins!");
                     game.updateScore();
+                    if (metrics != null) {
+                        metrics.recordGame(currentPlayer.getSymbol());
+                    }
                     break;
                 } else if (game.isBoardFull()) {
-                    System.out.println("The game is a draw!");
+                    renderer.message("The game is a draw!");
                     game.updateScore();
+                    if (metrics != null) {
+                        metrics.recordGame('-');
+                    }
                     break;
                 }
 
                 currentPlayer = (currentPlayer == playerX) ? playerO : playerX;
-            } else {
-                System.out.println("Invalid move by Player " + currentPlayer.getSymbol() + ". Try again.");
             }
         }
 
-        game.printScore();
+        renderer.message(game.getScoreboard());
+    }
+
+    /**
+     * Asks a player for a move on the executor and waits until its deadline and grace period.
+     * @return The player's move, the late policy's move, or FORFEIT.
+     */
+    private int timedMove(Player player, int side, long[] clocks) {
+        long start = System.nanoTime();
+        long deadline = timeControl.deadline(start, clocks[side]);
+        char[][] view = game.snapshot().toArray();
+        CompletableFuture<Integer> pending = lanes[side].handle((ignored, failure) -> null)
+                .thenApplyAsync(ignored -> {
+                    if (player instanceof AnytimePlayer anytime) {
+                        anytime.setDeadline(deadline);
+                    }
+                    return player.chooseMove(view);
+                }, executor);
+        lanes[side] = pending;
+        Integer move = null;
+        try {
+            move = deadline == Long.MAX_VALUE ? pending.get()
+                    : pending.get(deadline + timeControl.getGraceNanos() - start, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Left running; the player's next move waits for it
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        clocks[side] -= System.nanoTime() - start;
+        if (move == null) {
+            renderer.message("Player " + player.getSymbol() + " ran out of time.");
+            return apply(timeControl.getLatePolicy());
+        }
+        return move;
+    }
+
+    private int apply(TimeControl.Policy policy) {
+        if (policy == TimeControl.Policy.FORFEIT) {
+            return FORFEIT;
+        }
+        char[][] board = game.getBoard();
+        int empty = board.length * board.length - game.getMoveCount();
+        int skip = fallback.nextInt(empty);
+        for (int cell = 0; ; cell++) {
+            if (board[cell / board.length][cell % board.length] == '-' && skip-- == 0) {
+                return cell;
+            }
+        }
+    }
+
+    private void forfeit(Player loser) {
+        char winner = loser == playerX ? playerO.getSymbol() : playerX.getSymbol();
+        renderer.message("Player " + loser.getSymbol() + " forfeits. Player " + winner + " wins!");
+        game.recordForfeit(loser.getSymbol());
+        if (metrics != null) {
+            metrics.recordGame(winner);
+        }
     }
 
     /**
      * Main method to start the game.
+     * "-ansi" redraws only the changed cell of the board on a terminal that supports it.
      * @param args Command line arguments.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        // "-server [port]" hosts games over TCP instead of playing one on the console
+        if (args.length > 0 && args[0].equals("-server")) {
+            GameServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        boolean ansi = args.length > 0 && args[0].equals("-ansi");
         Scanner scanner = new Scanner(System.in);
         System.out.print("Enter board size (default 3 for 3x3): ");
         int boardSize = scanner.nextInt();
+        System.out.print("Enter win length (" + boardSize + " for a full line): ");
+        int winLength = scanner.nextInt();
 
         Player playerX = new RandomPlayer('X');
         Player playerO = new BlockingPlayer('O');
 
-        GameController controller = new GameController(boardSize, playerX, playerO);
+        GameController controller = new GameController(boardSize, winLength, playerX, playerO);
+        if (ansi) {
+            controller.setRenderer(new AnsiRenderer(System.out));
+        }
 
         boolean playAgain = true;
         while (playAgain) {
@@ -244,12 +422,20 @@ class GameController {
 
 /**
  * TicTacToe class to represent the game board and manage game mechanics.
+ * On boards up to 8x8 stones are tracked in a BitBoard, whose window masks decide
+ * wins; larger boards use LineCounters and the WinRule instead. The char[][] board is
+ * kept in step as a compatibility view for players and printing.
  */
 class TicTacToe {
     private char[][] board;
+    private BitBoard bits;
+    private LineCounters lineCounters;
+    private WinRule rule;
     private char currentPlayer;
     private int boardSize;
-    private List<int[]> moveHistory;
+    private int[] moveHistory;
+    private int moveCount;
+    private int historyLength;
     private int playerXWins;
     private int playerOWins;
     private int draws;
@@ -259,10 +445,25 @@ class TicTacToe {
      * @param boardSize The size of the game board.
      */
     public TicTacToe(int boardSize) {
+        this(boardSize, boardSize);
+    }
+
+    /**
+     * Constructor to initialize a game won by winLength stones in a row.
+     * @param boardSize The size of the game board.
+     * @param winLength The number of stones in a row needed to win.
+     */
+    public TicTacToe(int boardSize, int winLength) {
         this.boardSize = boardSize;
+        rule = new WinRule(boardSize, winLength);
         board = new char[boardSize][boardSize];
+        if (boardSize <= BitBoard.MAX_BOARD_SIZE) {
+            bits = new BitBoard(rule);
+        } else {
+            lineCounters = new LineCounters(boardSize);
+        }
         currentPlayer = 'X';
-        moveHistory = new ArrayList<>();
+        moveHistory = new int[boardSize * boardSize];
         playerXWins = 0;
         playerOWins = 0;
         draws = 0;
@@ -271,6 +472,7 @@ class TicTacToe {
 
     /**
      * Method to initialize the board with empty cells ('-').
+     * Also clears the move history and gives the first move back to 'X'.
      */
     public void initializeBoard() {
         for (int i = 0; i < boardSize; i++) {
@@ -278,106 +480,156 @@ class TicTacToe {
                 board[i][j] = '-';
             }
         }
+        if (bits != null) {
+            bits.clear();
+        } else {
+            lineCounters.clear();
+        }
+        moveCount = 0;
+        historyLength = 0;
+        currentPlayer = 'X';
     }
 
     /**
      * Method to print the current state of the board.
      */
     public void printBoard() {
-        System.out.println("Current board:");
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                System.out.print(board[i][j] + " ");
-            }
-            System.out.println();
-        }
+        StringBuilder out = new StringBuilder(16 + boardSize * (2 * boardSize + 1));
+        TextRenderer.appendBoard(out, board);
+        System.out.print(out);
     }
 
     /**
      * Method to play a move at the specified row and column.
+     * The move is made by the current player, after which the turn passes to the opponent.
      * @param row The row index for the move.
      * @param col The column index for the move.
      * @return True if the move is valid, false otherwise.
      */
     public boolean playMove(int row, int col) {
-        // Check if the move is within bounds and the cell is empty
-        if (row < 0 || row >= boardSize || col < 0 || col >= boardSize || board[row][col] != '-') {
+        // Check if the move is within bounds
+        if (row < 0 || row >= boardSize || col < 0 || col >= boardSize) {
             return false;
         }
-        // Place the current player's symbol on the board
-        board[row][col] = currentPlayer;
-        // Add the move to the history for undo functionality
-        moveHistory.add(new int[]{row, col});
-        return true;
+        return playMove(row * boardSize + col);
     }
 
     /**
-     * Method to check if the current player has won.
-     * @return True if the current player has won, false otherwise.
+     * Method to play a move at the specified cell index (row * boardSize + col).
+     * @param cell The cell index for the move.
+     * @return True if the move is valid, false otherwise.
      */
-    public boolean checkWinner() {
-        // Check all rows and columns for a win
-        for (int i = 0; i < boardSize; i++) {
-            if (checkRow(i) || checkColumn(i)) {
-                return true;
-            }
+    public boolean playMove(int cell) {
+        // Check if the cell exists and is empty
+        if (cell < 0 || cell >= moveHistory.length) {
+            return false;
+        }
+        int row = cell / boardSize;
+        int col = cell % boardSize;
+        if (board[row][col] != '-') {
+            return false;
+        }
+        // Place the current player's symbol on the board
+        board[row][col] = currentPlayer;
+        if (bits != null) {
+            bits.place(cell, currentPlayer);
+        } else {
+            lineCounters.add(row, col, currentPlayer);
         }
-        // Check both diagonals for a win
-        return checkMainDiagonal() || checkAntiDiagonal();
+        // Push the move onto the history for undo functionality; a new move drops the redo line
+        // unless it is the move that would be redone anyway
+        if (moveCount == historyLength || moveHistory[moveCount] != cell) {
+            historyLength = moveCount + 1;
+        }
+        moveHistory[moveCount++] = cell;
+        currentPlayer = opponentOf(currentPlayer);
+        return true;
     }
 
     /**
-     * Helper method to check if the current player has won in a specific row.
-     * @param row The row index to check.
-     * @return True if the current player has won in the row, false otherwise.
+     * Method to undo the most recent move, handing the turn back to the player who made it.
+     * @return True if a move was undone, false if there is no move to undo.
      */
-    private boolean checkRow(int row) {
-        for (int j = 1; j < boardSize; j++) {
-            if (board[row][j] != currentPlayer || board[row][j - 1] != currentPlayer) {
-                return false;
-            }
+    public boolean undoMove() {
+        if (moveCount == 0) {
+            return false;
         }
+        int cell = moveHistory[--moveCount];
+        int row = cell / boardSize;
+        int col = cell % boardSize;
+        char player = getLastPlayer();
+        board[row][col] = '-';
+        if (bits != null) {
+            bits.remove(cell);
+        } else {
+            lineCounters.remove(row, col, player);
+        }
+        currentPlayer = player;
         return true;
     }
 
     /**
-     * Helper method to check if the current player has won in a specific column.
-     * @param col The column index to check.
-     * @return True if the current player has won in the column, false otherwise.
+     * Method to replay the move most recently undone.
+     * Undone moves stay in the history until a different move is played in their place.
+     * @return True if a move was redone, false if there is no move to redo.
      */
-    private boolean checkColumn(int col) {
-        for (int i = 1; i < boardSize; i++) {
-            if (board[i][col] != currentPlayer || board[i - 1][col] != currentPlayer) {
-                return false;
-            }
+    public boolean redoMove() {
+        if (moveCount == historyLength) {
+            return false;
         }
+        int cell = moveHistory[moveCount];
+        int row = cell / boardSize;
+        int col = cell % boardSize;
+        board[row][col] = currentPlayer;
+        if (bits != null) {
+            bits.place(cell, currentPlayer);
+        } else {
+            lineCounters.add(row, col, currentPlayer);
+        }
+        moveCount++;
+        currentPlayer = opponentOf(currentPlayer);
         return true;
     }
 
     /**
-     * Helper method to check if the current player has won in the main diagonal.
-     * @return True if the current player has won in the main diagonal, false otherwise.
+     * Method to move back or forward through the history to the position after a given
+     * number of moves. Each move undone or redone updates the board and the stone masks or
+     * the line counters in constant time, so the position is never rebuilt from scratch.
+     * @param ply The number of moves to have played, at most getHistoryLength().
+     * @throws IndexOutOfBoundsException If ply is outside the history.
      */
-    private boolean checkMainDiagonal() {
-        for (int i = 1; i < boardSize; i++) {
-            if (board[i][i] != currentPlayer || board[i - 1][i - 1] != currentPlayer) {
-                return false;
-            }
+    public void jumpTo(int ply) {
+        if (ply < 0 || ply > historyLength) {
+            throw new IndexOutOfBoundsException("No ply " + ply + " in a history of " + historyLength);
+        }
+        while (moveCount > ply) {
+            undoMove();
+        }
+        while (moveCount < ply) {
+            redoMove();
         }
-        return true;
     }
 
     /**
-     * Helper method to check if the current player has won in the anti-diagonal.
-     * @return True if the current player has won in the anti-diagonal, false otherwise.
+     * Method to check if the player who made the last move has won.
+     * Only the lines through the last move can have been completed by it, so on a
+     * bitboard just the window masks through it are compared, for the full-line rule
+     * just their counters are inspected, and otherwise a window of winLength - 1 cells
+     * each way around the move is scanned.
+     * @return True if the last mover has completed a line, false otherwise.
      */
-    private boolean checkAntiDiagonal() {
-        for (int i = 1; i < boardSize; i++) {
-            if (board[i][boardSize - i - 1] != currentPlayer || board[i - 1][boardSize - i] != currentPlayer) {
-                return false;
-            }
+    public boolean checkWinner() {
+        if (moveCount == 0) {
+            return false;
         }
-        return true;
+        int last = moveHistory[moveCount - 1];
+        if (bits != null) {
+            return bits.hasWonThrough(last, getLastPlayer());
+        }
+        if (rule.isFullLine()) {
+            return lineCounters.completesLine(last / boardSize, last % boardSize, getLastPlayer());
+        }
+        return rule.completesLine(board, last / boardSize, last % boardSize, getLastPlayer());
     }
 
     /**
@@ -385,14 +637,7 @@ class TicTacToe {
      * @return True if the board is full, false otherwise.
      */
     public boolean isBoardFull() {
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                if (board[i][j] == '-') {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return moveCount == moveHistory.length;
     }
 
     /**
@@ -400,7 +645,7 @@ class TicTacToe {
      */
     public void updateScore() {
         if (checkWinner()) {
-            if (currentPlayer == 'X') {
+            if (getLastPlayer() == 'X') {
                 playerXWins++;
             } else {
                 playerOWins++;
@@ -410,14 +655,55 @@ class TicTacToe {
         }
     }
 
+    /**
+     * Method to score a game the given player gave up, e.g. under time control.
+     * @param loser The symbol of the player who forfeits; the other player wins.
+     */
+    public void recordForfeit(char loser) {
+        if (loser == 'X') {
+            playerOWins++;
+        } else {
+            playerXWins++;
+        }
+    }
+
     /**
      * Method to print the current score of the game.
      */
     public void printScore() {
-        System.out.println("Scoreboard:");
-        System.out.println("Player X Wins: " + playerXWins);
-        System.out.println("Player O Wins: " + playerOWins);
-        System.out.println("Draws: " + draws);
+        System.out.println(getScoreboard());
+    }
+
+    /**
+     * Method to describe the current score, as printScore prints it.
+     * @return The scoreboard lines, without a final newline.
+     */
+    public String getScoreboard() {
+        return "Scoreboard:\nPlayer X Wins: " + playerXWins + "\nPlayer O Wins: " + playerOWins + "\nDraws: " + draws;
+    }
+
+    /**
+     * Getter for the number of games 'X' has won.
+     * @return The wins of 'X' recorded by updateScore.
+     */
+    public int getPlayerXWins() {
+        return playerXWins;
+    }
+
+    /**
+     * Getter for the number of games 'O' has won.
+     * @return The wins of 'O' recorded by updateScore.
+     */
+    public int getPlayerOWins() {
+        return playerOWins;
+    }
+
+    /**
+     * Getter for the number of drawn games.
+     * @return The draws recorded by updateScore.
+     */
+    public int getDraws() {
+        return draws;
     }
 
     /**
@@ -427,4 +713,68 @@ class TicTacToe {
     public char[][] getBoard() {
         return board;
     }
+
+    /**
+     * Getter for the rule the game is won by.
+     * @return The win rule.
+     */
+    public WinRule getRule() {
+        return rule;
+    }
+
+    /**
+     * Method to take an immutable copy of the position, e.g. to hand to other threads.
+     * @return The current position as a BoardState.
+     */
+    public BoardState snapshot() {
+        return BoardState.copyOf(rule, board, moveCount, moveCount == 0 ? -1 : moveHistory[moveCount - 1]);
+    }
+
+    /**
+     * Getter for the number of moves played since the board was initialized.
+     * @return The number of moves in the history.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Getter for the number of moves in the history, including undone moves that can be redone.
+     * @return The number of moves played before any undo, since the last new move.
+     */
+    public int getHistoryLength() {
+        return historyLength;
+    }
+
+    /**
+     * Getter for one move of the history.
+     * @param ply The zero-based number of the move, less than getHistoryLength().
+     * @return The cell index of that move.
+     */
+    public int getMove(int ply) {
+        if (ply < 0 || ply >= historyLength) {
+            throw new IndexOutOfBoundsException("No move " + ply + " in a history of " + historyLength);
+        }
+        return moveHistory[ply];
+    }
+
+    /**
+     * Getter for the player whose turn it is.
+     * @return The symbol ('X' or 'O') of the player to move.
+     */
+    public char getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Getter for the player who made the most recent move.
+     * @return The symbol ('X' or 'O') of the last mover.
+     */
+    public char getLastPlayer() {
+        return opponentOf(currentPlayer);
+    }
+
+    private static char opponentOf(char player) {
+        return player == 'X' ? 'O' : 'X';
+    }
 }
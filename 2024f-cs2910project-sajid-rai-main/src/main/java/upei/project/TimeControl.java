@@ -0,0 +1,114 @@
+package upei.project;
+
+/**
+ * TimeControl class holding the limits a GameController enforces on its players: a
+ * budget per move, a clock per player for the whole game, a grace period for scheduling
+ * delays, and what happens to a player that answers late or keeps playing invalid moves.
+ */
+final class TimeControl {
+
+    /**
+     * Policy enum for a player that broke a limit.
+     * FORFEIT ends the game as a win for the opponent; RANDOM_MOVE plays a random empty
+     * cell for the player and the game goes on.
+     */
+    enum Policy {
+        FORFEIT,
+        RANDOM_MOVE
+    }
+
+    private final long moveBudgetNanos;
+    private final long gameClockNanos;
+    private long graceNanos = 50_000_000L;
+    private Policy latePolicy = Policy.FORFEIT;
+    private Policy invalidPolicy = Policy.FORFEIT;
+    private int maxInvalidMoves = 3;
+
+    /**
+     * Constructor for a time control.
+     * @param moveBudgetMillis The time allowed per move in milliseconds, or 0 for no limit.
+     * @param gameClockMillis The time each player has for all its moves of a game, or 0 for no clock.
+     */
+    public TimeControl(long moveBudgetMillis, long gameClockMillis) {
+        if (moveBudgetMillis < 0 || gameClockMillis < 0) {
+            throw new IllegalArgumentException("Time limits cannot be negative");
+        }
+        this.moveBudgetNanos = moveBudgetMillis * 1_000_000L;
+        this.gameClockNanos = gameClockMillis * 1_000_000L;
+    }
+
+    /**
+     * Setter for how long past its deadline a move is still accepted, covering the time
+     * the player's thread waits for a core; the time still comes off the clock.
+     * @param graceMillis The grace period in milliseconds; 50 by default.
+     */
+    public void setGraceMillis(long graceMillis) {
+        this.graceNanos = graceMillis * 1_000_000L;
+    }
+
+    /**
+     * Setter for what happens when a player has not answered by the end of the grace period.
+     * @param latePolicy The policy; FORFEIT by default.
+     */
+    public void setLatePolicy(Policy latePolicy) {
+        this.latePolicy = latePolicy;
+    }
+
+    /**
+     * Setter for what happens when a player plays too many invalid moves in a row.
+     * @param invalidPolicy The policy; FORFEIT by default.
+     */
+    public void setInvalidPolicy(Policy invalidPolicy) {
+        this.invalidPolicy = invalidPolicy;
+    }
+
+    /**
+     * Setter for how many invalid moves in a row a player may try before the invalid
+     * policy applies.
+     * @param maxInvalidMoves At least 1; 3 by default.
+     */
+    public void setMaxInvalidMoves(int maxInvalidMoves) {
+        if (maxInvalidMoves < 1) {
+            throw new IllegalArgumentException("At least one attempt is needed");
+        }
+        this.maxInvalidMoves = maxInvalidMoves;
+    }
+
+    public long getMoveBudgetNanos() {
+        return moveBudgetNanos;
+    }
+
+    public long getGameClockNanos() {
+        return gameClockNanos;
+    }
+
+    public long getGraceNanos() {
+        return graceNanos;
+    }
+
+    public Policy getLatePolicy() {
+        return latePolicy;
+    }
+
+    public Policy getInvalidPolicy() {
+        return invalidPolicy;
+    }
+
+    public int getMaxInvalidMoves() {
+        return maxInvalidMoves;
+    }
+
+    /**
+     * Method to work out the deadline of a move.
+     * @param start The System.nanoTime() value the move starts at.
+     * @param clockLeft The time left on the player's clock, ignored without a game clock.
+     * @return The System.nanoTime() value to answer by, or Long.MAX_VALUE for no limit.
+     */
+    long deadline(long start, long clockLeft) {
+        long limit = moveBudgetNanos > 0 ? moveBudgetNanos : Long.MAX_VALUE;
+        if (gameClockNanos > 0) {
+            limit = Math.min(limit, Math.max(0L, clockLeft));
+        }
+        return limit == Long.MAX_VALUE ? Long.MAX_VALUE : start + limit;
+    }
+}
@@ -0,0 +1,403 @@
+package upei.project;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+/**
+ * Tournament class to rank any number of Player strategies against each other.
+ *
+ * A matchup between two entrants is played in batches of games, half of each batch
+ * with either entrant as 'X'. After every batch the same SPRT (H0: no stronger, H1:
+ * elo1 points stronger) is applied from both entrants' sides. The matchup stops as
+ * soon as one side is accepted as stronger, or both are accepted as no stronger (an
+ * even matchup, such as two perfect players drawing every game), or maxGames is reached.
+ * Matchups run in parallel on a fixed worker pool, and Elo ratings are updated after
+ * every batch of every matchup, so with several workers the final ratings depend
+ * slightly on the order batches finish in.
+ * Every batch is seeded from the tournament seed, the matchup and the batch number, so
+ * each matchup's games do not depend on the number of workers. A matchup builds its four
+ * players once, as some (AlphaBetaPlayer with its transposition table) are costly to
+ * create, and only switches the generator they draw from at every batch.
+ */
+final class Tournament {
+    private static final double K_FACTOR = 4.0;
+    private static final double INITIAL_RATING = 1500.0;
+
+    private final int boardSize;
+    private final int winLength;
+    private final int parallelism;
+    private final long seed;
+    private final List<Entrant> entrants = new ArrayList<>();
+    private final List<Matchup> matchups = new ArrayList<>();
+    private Sprt sprt = new Sprt(0, 20, 0.05, 0.05);
+    private int batchSize = 32;
+    private int maxGames = 4096;
+    private RandomSource randomSource = RandomSource.SPLITTABLE;
+
+    /**
+     * Constructor to create an empty tournament.
+     * @param boardSize The size of the game board.
+     * @param winLength The number of stones in a row needed to win.
+     * @param parallelism The number of matchups played at once.
+     * @param seed The seed every batch's generator is derived from.
+     */
+    public Tournament(int boardSize, int winLength, int parallelism, long seed) {
+        this.boardSize = boardSize;
+        this.winLength = winLength;
+        this.parallelism = parallelism;
+        this.seed = seed;
+    }
+
+    /**
+     * Main method to rank the built-in strategies on a 3x3 board.
+     * Usage: Tournament [roundrobin|swiss] [threads]
+     * @param args Command line arguments.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        boolean swiss = args.length > 0 && args[0].equals("swiss");
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Tournament tournament = new Tournament(3, 3, threads, 2910L);
+        tournament.add("Random", RandomPlayer::new);
+        tournament.add("Blocking", BlockingPlayer::new);
+        tournament.add("Threat", ThreatPlayer::new);
+        tournament.add("AlphaBeta-1", (symbol, random) -> new AlphaBetaPlayer(symbol, 1, 0));
+        tournament.add("AlphaBeta-3", (symbol, random) -> new AlphaBetaPlayer(symbol, 3, 0));
+        tournament.add("AlphaBeta", (symbol, random) -> new AlphaBetaPlayer(symbol));
+        List<Entrant> standings = swiss ? tournament.runSwiss(3) : tournament.runRoundRobin();
+        for (Matchup matchup : tournament.getMatchups()) {
+            System.out.println(matchup);
+        }
+        System.out.println();
+        for (Entrant entrant : standings) {
+            System.out.println(entrant);
+        }
+    }
+
+    /**
+     * Method to enter a strategy.
+     * @param name The name shown in the standings.
+     * @param factory Factory for the strategy's players.
+     * @return This tournament.
+     */
+    public Tournament add(String name, PlayerFactory factory) {
+        entrants.add(new Entrant(name, factory));
+        return this;
+    }
+
+    /**
+     * Setter for the test that settles each matchup.
+     * @param sprt The test, with H0 "no stronger" and H1 "stronger", applied from both sides.
+     */
+    public void setSprt(Sprt sprt) {
+        this.sprt = sprt;
+    }
+
+    /**
+     * Setter for the number of games between SPRT checks.
+     * @param batchSize An even number of games.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 2 || batchSize % 2 != 0) {
+            throw new IllegalArgumentException("The batch size must be even");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Setter for the number of games after which an unsettled matchup is stopped.
+     * @param maxGames The game limit per matchup.
+     */
+    public void setMaxGames(int maxGames) {
+        this.maxGames = maxGames;
+    }
+
+    /**
+     * Setter for the generator algorithm the entrants' players draw from.
+     * @param randomSource The algorithm; SPLITTABLE by default.
+     */
+    public void setRandomSource(RandomSource randomSource) {
+        this.randomSource = randomSource;
+    }
+
+    /**
+     * Getter for every matchup played so far.
+     * @return The matchups in the order they were scheduled.
+     */
+    public List<Matchup> getMatchups() {
+        return matchups;
+    }
+
+    /**
+     * Method to play every pairing of entrants once.
+     * @return The entrants by descending rating.
+     * @throws InterruptedException If interrupted while waiting for the workers.
+     */
+    public List<Entrant> runRoundRobin() throws InterruptedException {
+        List<Matchup> round = new ArrayList<>();
+        for (int a = 0; a < entrants.size(); a++) {
+            for (int b = a + 1; b < entrants.size(); b++) {
+                round.add(new Matchup(entrants.get(a), entrants.get(b), matchups.size() + round.size()));
+            }
+        }
+        play(round);
+        return standings();
+    }
+
+    /**
+     * Method to play a Swiss system: every round pairs entrants with equal or close match
+     * points that have not met yet, so strong strategies meet each other after a few
+     * rounds without every pairing being played.
+     * @param rounds The number of rounds.
+     * @return The entrants by match points, then rating.
+     * @throws InterruptedException If interrupted while waiting for the workers.
+     */
+    public List<Entrant> runSwiss(int rounds) throws InterruptedException {
+        Set<Long> played = new HashSet<>();
+        for (int r = 0; r < rounds; r++) {
+            List<Entrant> order = new ArrayList<>(entrants);
+            order.sort(Comparator.comparingDouble((Entrant e) -> -e.matchPoints).thenComparingDouble(e -> -e.rating));
+            List<Matchup> round = new ArrayList<>();
+            while (order.size() > 1) {
+                Entrant first = order.remove(0);
+                int opponent = 0;
+                while (opponent < order.size() && played.contains(pairKey(first, order.get(opponent)))) {
+                    opponent++;
+                }
+                if (opponent == order.size()) {
+                    // Everyone left has been met; repeat the closest pairing rather than sit out
+                    opponent = 0;
+                }
+                Entrant second = order.remove(opponent);
+                played.add(pairKey(first, second));
+                round.add(new Matchup(first, second, matchups.size() + round.size()));
+            }
+            play(round);
+        }
+        List<Entrant> standings = standings();
+        standings.sort(Comparator.comparingDouble((Entrant e) -> -e.matchPoints));
+        return standings;
+    }
+
+    private long pairKey(Entrant a, Entrant b) {
+        int i = entrants.indexOf(a);
+        int j = entrants.indexOf(b);
+        return (long) Math.min(i, j) << 32 | Math.max(i, j);
+    }
+
+    private List<Entrant> standings() {
+        List<Entrant> standings = new ArrayList<>(entrants);
+        standings.sort(Comparator.comparingDouble((Entrant e) -> -e.rating));
+        return standings;
+    }
+
+    private void play(List<Matchup> round) throws InterruptedException {
+        matchups.addAll(round);
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Matchup matchup : round) {
+                futures.add(pool.submit(matchup::play));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Matchup failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Applies one batch to both ratings, one Elo update per game at the ratings before the batch.
+     */
+    private synchronized void updateRatings(Entrant a, Entrant b, long wins, long draws, long losses) {
+        double expected = Sprt.expectedScore(a.rating - b.rating);
+        double scored = wins + draws / 2.0;
+        double delta = K_FACTOR * (scored - expected * (wins + draws + losses));
+        a.rating += delta;
+        b.rating -= delta;
+    }
+
+    private synchronized void awardMatchPoints(Matchup matchup) {
+        double points = matchup.result == Result.FIRST_STRONGER ? 1.0
+                : matchup.result == Result.SECOND_STRONGER ? 0.0 : 0.5;
+        matchup.first.matchPoints += points;
+        matchup.second.matchPoints += 1.0 - points;
+    }
+
+    /**
+     * Outcome of a finished matchup.
+     */
+    enum Result {
+        FIRST_STRONGER,
+        SECOND_STRONGER,
+        EVEN,
+        UNDECIDED
+    }
+
+    /**
+     * Entrant class holding a strategy and its standing.
+     */
+    static final class Entrant {
+        final String name;
+        final PlayerFactory factory;
+        double rating = INITIAL_RATING;
+        double matchPoints;
+
+        Entrant(String name, PlayerFactory factory) {
+            this.name = name;
+            this.factory = factory;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-16s rating %7.1f  match points %.1f", name, rating, matchPoints);
+        }
+    }
+
+    /**
+     * Matchup class playing and holding the results of two entrants' games, counted
+     * from the first entrant's side.
+     */
+    final class Matchup {
+        final Entrant first;
+        final Entrant second;
+        private final int number;
+        long wins;
+        long draws;
+        long losses;
+        Result result;
+
+        Matchup(Entrant first, Entrant second, int number) {
+            this.first = first;
+            this.second = second;
+            this.number = number;
+        }
+
+        long games() {
+            return wins + draws + losses;
+        }
+
+        /**
+         * Plays batches until the SPRT decides or maxGames is reached.
+         */
+        void play() {
+            TicTacToe game = new TicTacToe(boardSize, winLength);
+            BatchRandom random = new BatchRandom();
+            Player firstX = player(first, 'X', random, game);
+            Player firstO = player(first, 'O', random, game);
+            Player secondX = player(second, 'X', random, game);
+            Player secondO = player(second, 'O', random, game);
+            for (long batch = 0; result == null; batch++) {
+                random.reseed(randomSource.create(batchSeed(batch)));
+                long batchWins = 0;
+                long batchDraws = 0;
+                long batchLosses = 0;
+                for (int g = 0; g < batchSize; g += 2) {
+                    char asX = SimulationRunner.playGame(game, firstX, secondO);
+                    char asO = SimulationRunner.playGame(game, secondX, firstO);
+                    batchWins += (asX == 'X' ? 1 : 0) + (asO == 'O' ? 1 : 0);
+                    batchLosses += (asX == 'O' ? 1 : 0) + (asO == 'X' ? 1 : 0);
+                    batchDraws += (asX == '-' ? 1 : 0) + (asO == '-' ? 1 : 0);
+                }
+                wins += batchWins;
+                draws += batchDraws;
+                losses += batchLosses;
+                updateRatings(first, second, batchWins, batchDraws, batchLosses);
+                result = decide();
+            }
+            awardMatchPoints(this);
+        }
+
+        /**
+         * @return The result if the SPRTs or the game limit settle the matchup, null otherwise.
+         */
+        private Result decide() {
+            Sprt.Decision firstStronger = sprt.decide(wins, draws, losses);
+            Sprt.Decision secondStronger = sprt.decide(losses, draws, wins);
+            if (firstStronger == Sprt.Decision.ACCEPT_H1) {
+                return Result.FIRST_STRONGER;
+            } else if (secondStronger == Sprt.Decision.ACCEPT_H1) {
+                return Result.SECOND_STRONGER;
+            } else if (firstStronger == Sprt.Decision.ACCEPT_H0 && secondStronger == Sprt.Decision.ACCEPT_H0) {
+                return Result.EVEN;
+            }
+            return games() >= maxGames ? Result.UNDECIDED : null;
+        }
+
+        private Player player(Entrant entrant, char symbol, RandomGenerator random, TicTacToe game) {
+            Player player = entrant.factory.create(symbol, random);
+            player.setRule(game.getRule());
+            return player;
+        }
+
+        private long batchSeed(long batch) {
+            return RandomSource.mix(seed, (long) number << 32 | batch);
+        }
+
+        @Override
+        public String toString() {
+            String verdict = result == Result.FIRST_STRONGER ? first.name + " stronger"
+                    : result == Result.SECOND_STRONGER ? second.name + " stronger"
+                    : result == Result.EVEN ? "even" : "undecided";
+            return String.format("%-16s vs %-16s +%d =%d -%d in %d games: %s",
+                    first.name, second.name, wins, draws, losses, games(), verdict);
+        }
+    }
+
+    /**
+     * Generator handed to a matchup's players, passing every draw on to the generator of
+     * the current batch.
+     */
+    private static final class BatchRandom implements RandomGenerator {
+        private RandomGenerator current;
+
+        void reseed(RandomGenerator generator) {
+            current = generator;
+        }
+
+        @Override
+        public long nextLong() {
+            return current.nextLong();
+        }
+
+        @Override
+        public int nextInt() {
+            return current.nextInt();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return current.nextInt(bound);
+        }
+
+        @Override
+        public int nextInt(int origin, int bound) {
+            return current.nextInt(origin, bound);
+        }
+
+        @Override
+        public float nextFloat() {
+            return current.nextFloat();
+        }
+
+        @Override
+        public double nextDouble() {
+            return current.nextDouble();
+        }
+
+        @Override
+        public boolean nextBoolean() {
+            return current.nextBoolean();
+        }
+    }
+}
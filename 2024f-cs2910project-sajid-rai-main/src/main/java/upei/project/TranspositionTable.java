@@ -0,0 +1,101 @@
+package upei.project;
+
+import java.util.Arrays;
+
+/**
+ * TranspositionTable class caching search results by position hash.
+ * The table has a fixed power-of-two number of slots held in two primitive arrays.
+ * A slot is overwritten when it holds the same position, when it was written during
+ * an older search, or when the new result was searched at least as deep.
+ */
+class TranspositionTable {
+    static final int EXACT = 1;
+    static final int LOWER = 2;
+    static final int UPPER = 3;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int mask;
+    private int generation;
+
+    /**
+     * Constructor to create an empty table.
+     * @param sizeLog2 Base-2 logarithm of the number of slots.
+     */
+    public TranspositionTable(int sizeLog2) {
+        keys = new long[1 << sizeLog2];
+        entries = new long[1 << sizeLog2];
+        mask = (1 << sizeLog2) - 1;
+    }
+
+    /**
+     * Method to drop every stored entry.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(entries, 0L);
+    }
+
+    /**
+     * Method to start a new search, ageing every entry written so far.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0x3F;
+    }
+
+    /**
+     * Method to look up a position.
+     * @param key The position hash.
+     * @return The packed entry, or 0 if the position is not stored.
+     */
+    public long probe(long key) {
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        return keys[slot] == key ? entries[slot] : 0L;
+    }
+
+    /**
+     * Method to store a search result, subject to the replacement policy.
+     * @param key The position hash.
+     * @param value The score from the side to move's point of view.
+     * @param move The best move found, or -1 if none.
+     * @param depth The remaining depth that was searched.
+     * @param flag EXACT, LOWER or UPPER bound.
+     */
+    public void store(long key, int value, int move, int depth, int flag) {
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        long old = entries[slot];
+        if (old != 0L && keys[slot] != key && generation(old) == generation && depth(old) > depth) {
+            return;
+        }
+        keys[slot] = key;
+        entries[slot] = (value & 0xFFFFFFFFL)
+                | ((long) (move & 0xFFFF) << 32)
+                | ((long) Math.min(depth, 0xFF) << 48)
+                | ((long) flag << 56)
+                | ((long) generation << 58);
+    }
+
+    static int value(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * @return The stored move, or -1 if none was stored.
+     */
+    static int move(long entry) {
+        int move = (int) (entry >>> 32) & 0xFFFF;
+        return move == 0xFFFF ? -1 : move;
+    }
+
+    static int depth(long entry) {
+        return (int) (entry >>> 48) & 0xFF;
+    }
+
+    static int flag(long entry) {
+        return (int) (entry >>> 56) & 0x3;
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> 58) & 0x3F;
+    }
+}
@@ -0,0 +1,191 @@
+package upei.project;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * ValueTable class holding a learned value for every position of a small board, off
+ * the Java heap.
+ *
+ * Positions are numbered as in OpeningBook: the board read as a base-3 number, minimized
+ * over the 8 symmetries, so mirrored and rotated positions share one entry. Each entry
+ * is a float estimate of how good the position is for the player who just moved into
+ * it, 1 for a win and 0 for a loss, starting at 0.5.
+ *
+ * The entries live in a direct (or mapped) buffer and are read and written with opaque
+ * VarHandle accesses and no locks, Hogwild style: when two training threads update the
+ * same entry at once one of the updates may be lost, which costs the learner almost
+ * nothing and saves every update a lock or a compare-and-set loop.
+ *
+ * File layout: a 24-byte big-endian header (MAGIC, board size, win length, padding,
+ * games trained) followed by every entry as a little-endian float.
+ */
+final class ValueTable {
+    static final int MAGIC = 0x54545654;
+    static final int HEADER_BYTES = 24;
+    static final int MAX_BOARD_SIZE = OpeningBook.MAX_BOARD_SIZE;
+
+    private static final VarHandle ENTRY =
+            MethodHandles.byteBufferViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final int boardSize;
+    private final int winLength;
+    private final ByteBuffer entries;
+    private final int size;
+    private volatile long gamesTrained;
+
+    /**
+     * Constructor for an untrained table, every entry 0.5.
+     * @param boardSize The size of the game board, at most MAX_BOARD_SIZE.
+     * @param winLength The number of stones in a row needed to win.
+     */
+    public ValueTable(int boardSize, int winLength) {
+        if (boardSize < 1 || boardSize > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + MAX_BOARD_SIZE);
+        }
+        this.boardSize = boardSize;
+        this.winLength = winLength;
+        this.size = OpeningBook.entryCount(boardSize);
+        // Aligned, so that the opaque accesses are atomic
+        this.entries = ByteBuffer.allocateDirect(size * 4 + 3).alignedSlice(4).order(ByteOrder.LITTLE_ENDIAN);
+        for (int index = 0; index < size; index++) {
+            entries.putFloat(index * 4, 0.5f);
+        }
+    }
+
+    private ValueTable(int boardSize, int winLength, ByteBuffer entries, long gamesTrained) {
+        this.boardSize = boardSize;
+        this.winLength = winLength;
+        this.size = OpeningBook.entryCount(boardSize);
+        this.entries = entries;
+        this.gamesTrained = gamesTrained;
+    }
+
+    /**
+     * Method to map a table written by save read-only, for players: loading costs no heap
+     * and no training, and updating the table throws ReadOnlyBufferException.
+     * @param file The table file.
+     * @return The frozen table.
+     * @throws IOException If the file cannot be read or is not a value table.
+     */
+    static ValueTable load(Path file) throws IOException {
+        ByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mapped.limit() < HEADER_BYTES || mapped.getInt(0) != MAGIC) {
+            throw new IOException("Not a value table: " + file);
+        }
+        int boardSize = mapped.getInt(4);
+        int winLength = mapped.getInt(8);
+        if (boardSize < 1 || boardSize > MAX_BOARD_SIZE || winLength < 1 || winLength > boardSize
+                || mapped.limit() != HEADER_BYTES + 4L * OpeningBook.entryCount(boardSize)) {
+            throw new IOException("Corrupt value table: " + file);
+        }
+        ByteBuffer entries = mapped.position(HEADER_BYTES).slice().order(ByteOrder.LITTLE_ENDIAN);
+        return new ValueTable(boardSize, winLength, entries, mapped.getLong(16));
+    }
+
+    /**
+     * Method to read a table written by save into memory, to be trained further.
+     * @param file The table file.
+     * @return A writable copy of the table.
+     * @throws IOException If the file cannot be read or is not a value table.
+     */
+    static ValueTable read(Path file) throws IOException {
+        ValueTable frozen = load(file);
+        ValueTable table = new ValueTable(frozen.boardSize, frozen.winLength);
+        table.entries.put(0, frozen.entries, 0, frozen.size * 4);
+        table.gamesTrained = frozen.gamesTrained;
+        return table;
+    }
+
+    /**
+     * Method to write the table, replacing the file atomically.
+     * Training may go on meanwhile; the file then holds some mix of old and new values.
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(boardSize).putInt(winLength).putInt(0).putLong(gamesTrained).flip();
+                writeFully(channel, header);
+                writeFully(channel, entries.duplicate().clear());
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Getter for an entry.
+     * @param index The canonical position number.
+     * @return The value for the player who moved into the position.
+     */
+    float get(int index) {
+        return (float) ENTRY.getOpaque(entries, index * 4);
+    }
+
+    /**
+     * Setter for an entry, e.g. a finished game's known result.
+     * @param index The canonical position number.
+     * @param value The new value.
+     */
+    void set(int index, float value) {
+        ENTRY.setOpaque(entries, index * 4, value);
+    }
+
+    /**
+     * Method to move an entry a step towards a target, without locking.
+     * @param index The canonical position number.
+     * @param target The value the entry should approach.
+     * @param rate The fraction of the difference to close, between 0 and 1.
+     */
+    void update(int index, float target, float rate) {
+        float value = get(index);
+        set(index, value + rate * (target - value));
+    }
+
+    void addGamesTrained(long games) {
+        gamesTrained += games;
+    }
+
+    long getGamesTrained() {
+        return gamesTrained;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * Getter for the number of entries.
+     * @return 3 to the power of the cell count.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
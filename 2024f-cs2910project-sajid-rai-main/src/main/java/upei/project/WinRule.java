@@ -0,0 +1,147 @@
+package upei.project;
+
+/**
+ * WinRule class describing how a game is won: winLength stones in a row, column or
+ * diagonal on a boardSize x boardSize board. Classic tic-tac-toe is winLength ==
+ * boardSize; Gomoku-style games use a shorter run such as 5 on 15x15.
+ * A win through a cell is found by walking the four directions from that cell, at
+ * most winLength - 1 steps each way, so a check costs O(winLength).
+ */
+class WinRule {
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final int boardSize;
+    private final int winLength;
+
+    /**
+     * Constructor to create a rule.
+     * @param boardSize The size of the game board.
+     * @param winLength The number of stones in a row needed to win.
+     */
+    public WinRule(int boardSize, int winLength) {
+        if (winLength < 1 || winLength > boardSize) {
+            throw new IllegalArgumentException("Win length must be between 1 and the board size");
+        }
+        this.boardSize = boardSize;
+        this.winLength = winLength;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * Method to check if the rule is the classic one, where a whole row, column or diagonal is needed.
+     * @return True if winLength equals boardSize.
+     */
+    public boolean isFullLine() {
+        return winLength == boardSize;
+    }
+
+    /**
+     * Method to check if a stone of the player on the given cell forms a winning run.
+     * The cell itself is counted as the player's whether or not it is occupied yet,
+     * so this answers both "did this move win" and "would this move win".
+     * @param board The current state of the board.
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @param player The player symbol to check.
+     * @return True if the run through the cell reaches winLength.
+     */
+    public boolean completesLine(char[][] board, int row, int col, char player) {
+        for (int[] direction : DIRECTIONS) {
+            int run = 1;
+            for (int step = 1, r = row + direction[0], c = col + direction[1];
+                 step < winLength && inside(r, c) && board[r][c] == player;
+                 step++, r += direction[0], c += direction[1]) {
+                run++;
+            }
+            for (int step = 1, r = row - direction[0], c = col - direction[1];
+                 step < winLength && inside(r, c) && board[r][c] == player;
+                 step++, r -= direction[0], c -= direction[1]) {
+                run++;
+            }
+            if (run >= winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same check as {@link #completesLine(char[][], int, int, char)} on a flat board
+     * indexed by cell (row * boardSize + col).
+     * @param cells The current state of the board, one char per cell.
+     * @param cell The cell index.
+     * @param player The player symbol to check.
+     * @return True if the run through the cell reaches winLength.
+     */
+    public boolean completesLine(char[] cells, int cell, char player) {
+        int row = cell / boardSize;
+        int col = cell % boardSize;
+        for (int[] direction : DIRECTIONS) {
+            int run = 1;
+            for (int step = 1, r = row + direction[0], c = col + direction[1];
+                 step < winLength && inside(r, c) && cells[r * boardSize + c] == player;
+                 step++, r += direction[0], c += direction[1]) {
+                run++;
+            }
+            for (int step = 1, r = row - direction[0], c = col - direction[1];
+                 step < winLength && inside(r, c) && cells[r * boardSize + c] == player;
+                 step++, r -= direction[0], c -= direction[1]) {
+                run++;
+            }
+            if (run >= winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Heuristic score of a position for the player, the windowed counterpart of
+     * LineCounters.openLineScore: every winLength window the opponent has not entered
+     * is worth 4^stones to the player, and vice versa.
+     * @param cells The current state of the board, one char per cell.
+     * @param player The player symbol to score for.
+     * @return Positive if the player has more promising windows than the opponent.
+     */
+    public int openWindowScore(char[] cells, char player) {
+        int score = 0;
+        for (int[] direction : DIRECTIONS) {
+            for (int row = 0; row < boardSize; row++) {
+                for (int col = 0; col < boardSize; col++) {
+                    int endRow = row + direction[0] * (winLength - 1);
+                    int endCol = col + direction[1] * (winLength - 1);
+                    if (!inside(endRow, endCol)) {
+                        continue;
+                    }
+                    int mine = 0;
+                    int theirs = 0;
+                    for (int step = 0; step < winLength; step++) {
+                        char stone = cells[(row + step * direction[0]) * boardSize + col + step * direction[1]];
+                        if (stone == player) {
+                            mine++;
+                        } else if (stone != '-') {
+                            theirs++;
+                        }
+                    }
+                    if (mine > 0 && theirs == 0) {
+                        score += 1 << (2 * Math.min(mine, 8));
+                    } else if (theirs > 0 && mine == 0) {
+                        score -= 1 << (2 * Math.min(theirs, 8));
+                    }
+                }
+            }
+        }
+        return score;
+    }
+
+    private boolean inside(int row, int col) {
+        return row >= 0 && row < boardSize && col >= 0 && col < boardSize;
+    }
+}
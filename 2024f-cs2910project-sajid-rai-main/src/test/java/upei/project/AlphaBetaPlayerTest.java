@@ -0,0 +1,96 @@
+package upei.project;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AlphaBetaPlayer, TranspositionTable and BoardSymmetry.
+ */
+public class AlphaBetaPlayerTest {
+
+    /**
+     * Test that the player takes an immediate win over blocking.
+     */
+    @Test
+    public void testTakesWinningMove() {
+        char[][] board = {
+                {'X', 'X', '-'},
+                {'O', 'O', '-'},
+                {'-', '-', '-'}
+        };
+        assertEquals(5, new AlphaBetaPlayer('O').chooseMove(board), "Player O should complete row 1.");
+    }
+
+    /**
+     * Test that perfect play on 3x3 always ends in a draw.
+     */
+    @Test
+    public void testPerfectPlayDraws() {
+        AlphaBetaPlayer playerX = new AlphaBetaPlayer('X');
+        AlphaBetaPlayer playerO = new AlphaBetaPlayer('O');
+        assertEquals('-', SimulationRunner.playGame(new TicTacToe(3), playerX, playerO), "Perfect play should draw.");
+    }
+
+    /**
+     * Test that the player never loses against random moves, as either side.
+     */
+    @Test
+    public void testNeverLosesToRandomPlayer() {
+        TicTacToe game = new TicTacToe(3);
+        Random random = new Random(7L);
+        Player searchX = new AlphaBetaPlayer('X');
+        Player searchO = new AlphaBetaPlayer('O');
+        for (int i = 0; i < 200; i++) {
+            assertNotEquals('O', SimulationRunner.playGame(game, searchX, new RandomPlayer('O', random)), "Player X should never lose.");
+            assertNotEquals('X', SimulationRunner.playGame(game, new RandomPlayer('X', random), searchO), "Player O should never lose.");
+        }
+    }
+
+    /**
+     * Test that a depth-limited search on a large board returns a legal move within its budget.
+     */
+    @Test
+    public void testBudgetOnLargeBoard() {
+        TicTacToe game = new TicTacToe(9);
+        game.playMove(40);
+        long start = System.nanoTime();
+        int move = new AlphaBetaPlayer('O', 6, 200).chooseMove(game.getBoard());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(game.playMove(move), "The move should be legal.");
+        assertTrue(elapsedMillis < 2000, "The search should stop close to its time budget.");
+    }
+
+    /**
+     * Test that every symmetry is a permutation and its inverse undoes it.
+     */
+    @Test
+    public void testSymmetryInverses() {
+        int[][] forward = BoardSymmetry.permutations(4);
+        int[][] inverse = BoardSymmetry.inverses(4);
+        for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+            for (int cell = 0; cell < 16; cell++) {
+                assertEquals(cell, inverse[s][forward[s][cell]]);
+            }
+        }
+        assertEquals(3, forward[1][0], "A clockwise quarter turn should move the top-left corner to the top-right.");
+    }
+
+    /**
+     * Test that a deeper result replaces a shallower one but not the other way round.
+     */
+    @Test
+    public void testTableReplacement() {
+        TranspositionTable table = new TranspositionTable(4);
+        table.store(1L, 10, 3, 2, TranspositionTable.EXACT);
+        table.store(17L, 20, 4, 1, TranspositionTable.LOWER);
+        assertEquals(10, TranspositionTable.value(table.probe(1L)), "A shallower result should not evict a deeper one.");
+        table.newSearch();
+        table.store(17L, 20, 4, 1, TranspositionTable.LOWER);
+        long entry = table.probe(17L);
+        assertEquals(4, TranspositionTable.move(entry), "Entries from an older search can be replaced.");
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.flag(entry));
+        assertEquals(0L, table.probe(1L), "The evicted position should no longer be found.");
+    }
+}
@@ -0,0 +1,73 @@
+package upei.project;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BatchEngine.
+ */
+public class BatchEngineTest {
+
+    /**
+     * Test that every game produces one result, including a partial last batch.
+     */
+    @Test
+    public void testAllGamesCounted() {
+        BatchEngine engine = new BatchEngine(new WinRule(3, 3), 64, new SplittableRandom(7L));
+        SimulationRunner.Tally tally = engine.play(1000, BatchEngine.Strategy.RANDOM, BatchEngine.Strategy.RANDOM);
+        assertEquals(1000, tally.total(), "Every game should produce exactly one result.");
+    }
+
+    /**
+     * Test that the batch engine reproduces the player-based win rates of random against blocking.
+     */
+    @Test
+    public void testMatchesPlayerResults() {
+        long trials = 20000;
+        SimulationRunner runner = new SimulationRunner(3, trials, 2, 5L);
+        SimulationRunner.Tally players = runner.run(RandomPlayer::new, BlockingPlayer::new);
+        SimulationRunner.Tally batched = runner.runBatched(BatchEngine.Strategy.RANDOM, BatchEngine.Strategy.BLOCKING);
+        assertEquals(trials, batched.total(), "Every trial should produce exactly one result.");
+        assertEquals(players.playerOWins, batched.playerOWins, trials / 50, "Blocking O win counts should agree.");
+        assertEquals(players.draws, batched.draws, trials / 50, "Draw counts should agree.");
+    }
+
+    /**
+     * Test that batched runs draw from the runner's generator algorithm.
+     */
+    @Test
+    public void testUsesRunnerRandomSource() {
+        long trials = 4 * SimulationRunner.CHUNK_SIZE;
+        SimulationRunner splittable = new SimulationRunner(3, trials, 2, 5L);
+        SimulationRunner lxm = new SimulationRunner(3, trials, 2, 5L);
+        lxm.setRandomSource(RandomSource.L64X128);
+        SimulationRunner.Tally first = lxm.runBatched(BatchEngine.Strategy.RANDOM, BatchEngine.Strategy.RANDOM);
+        SimulationRunner.Tally again = lxm.runBatched(BatchEngine.Strategy.RANDOM, BatchEngine.Strategy.RANDOM);
+        SimulationRunner.Tally other = splittable.runBatched(BatchEngine.Strategy.RANDOM, BatchEngine.Strategy.RANDOM);
+        assertEquals(first.playerXWins, again.playerXWins, "The same source and seed should repeat the games.");
+        assertEquals(first.draws, again.draws, "The same source and seed should repeat the games.");
+        assertTrue(first.playerXWins != other.playerXWins || first.draws != other.draws,
+                "Another source should play other games.");
+    }
+
+    /**
+     * Test that blocking works with a windowed rule.
+     */
+    @Test
+    public void testBlockingOnWindowedRule() {
+        BatchEngine engine = new BatchEngine(new WinRule(5, 4), 128, new SplittableRandom(11L));
+        SimulationRunner.Tally tally = engine.play(2000, BatchEngine.Strategy.BLOCKING, BatchEngine.Strategy.RANDOM);
+        assertEquals(2000, tally.total(), "Every game should produce exactly one result.");
+        assertTrue(tally.playerXWins > tally.playerOWins, "The blocker should beat the random player.");
+    }
+
+    /**
+     * Test that boards larger than one long are rejected.
+     */
+    @Test
+    public void testRejectsLargeBoards() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchEngine(new WinRule(9, 5), 16, new SplittableRandom(1L)));
+    }
+}
@@ -0,0 +1,80 @@
+package upei.project;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BitBoard.
+ */
+public class BitBoardTest {
+
+    /**
+     * Test that a full column of an 8x8 board, reaching the top bit, is recognized as a win.
+     */
+    @Test
+    public void testColumnWinOnLargestBoard() {
+        BitBoard bits = new BitBoard(new WinRule(8, 8));
+        for (int row = 0; row < 8; row++) {
+            bits.place(row * 8 + 7, 'O');
+        }
+        assertTrue(bits.hasWonThrough(63, 'O'), "The column passes through the last stone.");
+        assertFalse(bits.hasWonThrough(63, 'X'), "Player X has no stones.");
+        assertFalse(bits.hasWonThrough(62, 'O'), "No line of O passes through the next cell.");
+    }
+
+    /**
+     * Test that removing a stone breaks a completed anti-diagonal.
+     */
+    @Test
+    public void testRemoveBreaksLine() {
+        BitBoard bits = new BitBoard(new WinRule(5, 5));
+        for (int i = 0; i < 5; i++) {
+            bits.place(i * 5 + 4 - i, 'X');
+        }
+        assertTrue(bits.hasWonThrough(12, 'X'), "Player X should win with a complete anti-diagonal.");
+        bits.remove(12);
+        assertFalse(bits.hasWonThrough(16, 'X'), "The anti-diagonal should no longer be complete.");
+    }
+
+    /**
+     * Test that the window masks agree with WinRule on random games of every size and win length.
+     */
+    @Test
+    public void testAgreesWithWinRule() {
+        SplittableRandom random = new SplittableRandom(2910L);
+        for (int size = 1; size <= BitBoard.MAX_BOARD_SIZE; size++) {
+            for (int k = 1; k <= size; k++) {
+                WinRule rule = new WinRule(size, k);
+                BitBoard bits = new BitBoard(rule);
+                for (int game = 0; game < 20; game++) {
+                    char[] cells = new char[size * size];
+                    Arrays.fill(cells, '-');
+                    bits.clear();
+                    char player = 'X';
+                    for (int ply = 0; ply < cells.length; ply++) {
+                        int cell;
+                        do {
+                            cell = random.nextInt(cells.length);
+                        } while (cells[cell] != '-');
+                        cells[cell] = player;
+                        bits.place(cell, player);
+                        assertEquals(rule.completesLine(cells, cell, player), bits.hasWonThrough(cell, player),
+                                "Masks and WinRule should agree on " + size + "x" + size + ", k = " + k + ".");
+                        player = player == 'X' ? 'O' : 'X';
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that boards larger than one long are rejected.
+     */
+    @Test
+    public void testRejectsLargeBoards() {
+        assertThrows(IllegalArgumentException.class, () -> new BitBoard(new WinRule(9, 5)));
+    }
+}
@@ -0,0 +1,89 @@
+package upei.project;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BoardRenderer, TextRenderer and AnsiRenderer.
+ */
+public class BoardRendererTest {
+
+    /**
+     * Test that the text renderer prints the same frames the console game always has.
+     */
+    @Test
+    public void testTextFrames() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TextRenderer renderer = new TextRenderer(new PrintStream(bytes, true, StandardCharsets.US_ASCII));
+        TicTacToe game = new TicTacToe(3);
+        renderer.gameStarted(game);
+        game.playMove(1, 2);
+        renderer.movePlayed(game, 5);
+        renderer.message("Player X wins!");
+        String expected = "Current board:\n- - - \n- - - \n- - - \n"
+                + "Player X makes a move at: (1, 2)\nCurrent board:\n- - - \n- - X \n- - - \n"
+                + "Player X wins!\n";
+        assertEquals(expected, bytes.toString(StandardCharsets.US_ASCII), "Frames should match the console format.");
+    }
+
+    /**
+     * Test that the ANSI renderer writes only the changed cell and its status line for a
+     * move, however large the board.
+     */
+    @Test
+    public void testAnsiMoveIsSmall() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AnsiRenderer renderer = new AnsiRenderer(new PrintStream(bytes, true, StandardCharsets.US_ASCII));
+        TicTacToe game = new TicTacToe(25, 5);
+        renderer.gameStarted(game);
+        int start = bytes.size();
+        assertTrue(start > 25 * 50, "A new game should draw the whole board.");
+        game.playMove(24 * 25 + 24);
+        renderer.movePlayed(game, 24 * 25 + 24);
+        String update = bytes.toString(StandardCharsets.US_ASCII).substring(start);
+        assertTrue(update.length() < 80, "A move should cost a few dozen bytes, not a frame.");
+        assertTrue(update.startsWith("\033[26;49HX"), "The move's cell should be redrawn in place.");
+    }
+
+    /**
+     * Test that a controller reports every move and the result to its renderer, and that
+     * a headless controller still plays whole games.
+     */
+    @Test
+    public void testControllerDrivesRenderer() {
+        List<String> events = new ArrayList<>();
+        GameController controller = new GameController(3, new ThreatPlayer('X'), new BlockingPlayer('O'));
+        controller.setRenderer(new BoardRenderer() {
+            @Override
+            public void gameStarted(TicTacToe game) {
+                events.add("start");
+            }
+
+            @Override
+            public void movePlayed(TicTacToe game, int cell) {
+                events.add("move");
+            }
+
+            @Override
+            public void message(String text) {
+                events.add(text);
+            }
+        });
+        controller.playGame();
+        assertEquals("start", events.get(0), "The empty board should be shown first.");
+        assertTrue(events.get(events.size() - 1).startsWith("Scoreboard:"), "The score should be shown last.");
+        long moves = events.stream().filter("move"::equals).count();
+        assertTrue(moves >= 5 && moves <= 9, "Every move of the game should be shown.");
+
+        controller.setRenderer(BoardRenderer.HEADLESS);
+        for (int g = 0; g < 100; g++) {
+            controller.playGame();
+        }
+    }
+}
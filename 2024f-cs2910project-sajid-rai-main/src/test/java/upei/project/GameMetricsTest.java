@@ -0,0 +1,51 @@
+package upei.project;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for GameMetrics.
+ */
+public class GameMetricsTest {
+
+    /**
+     * Test that an instrumented run counts every game, move and outcome.
+     */
+    @Test
+    public void testInstrumentedRun() {
+        GameMetrics metrics = new GameMetrics();
+        SimulationRunner runner = new SimulationRunner(3, 3000, 3, 4L);
+        SimulationRunner.Tally plain = runner.run(RandomPlayer::new, BlockingPlayer::new);
+        runner.setMetrics(metrics);
+        SimulationRunner.Tally timed = runner.run(RandomPlayer::new, BlockingPlayer::new);
+        assertEquals(plain.playerOWins, timed.playerOWins, "Timing should not change the games.");
+        assertEquals(3000, metrics.getGames(), "Every game should be counted.");
+        assertEquals(timed.playerXWins, metrics.getPlayerXWins(), "Player X wins should match the tally.");
+        assertEquals(timed.draws, metrics.getDraws(), "Draws should match the tally.");
+        assertTrue(metrics.getMoves() >= 5 * 3000, "Every game has at least five moves.");
+        assertEquals(metrics.getMoves(), metrics.checkWinnerHistogram().count(), "Every legal move should be checked for a win.");
+        assertTrue(metrics.getChooseMoveP99Nanos().containsKey("BlockingPlayer"), "Latencies should be kept per player type.");
+        String snapshot = metrics.snapshot();
+        assertTrue(snapshot.contains("games 3000\n"), "The snapshot should report the game count.");
+        assertTrue(snapshot.contains("chooseMove.RandomPlayer.p99_ns "), "The snapshot should report player latencies.");
+    }
+
+    /**
+     * Test that the metrics are readable through the platform MBean server.
+     */
+    @Test
+    public void testMBean() throws JMException {
+        GameMetrics metrics = new GameMetrics();
+        metrics.recordGame('O');
+        ObjectName name = metrics.registerMBean("test");
+        try {
+            assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "PlayerOWins"), "JMX should see the counters.");
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package upei.project;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for GameRecordWriter, GameRecordReader and GameRecord.
+ */
+public class GameRecordTest {
+
+    /**
+     * Test that a parallel run streams every game and the file replays to the same totals.
+     */
+    @Test
+    public void testRoundTripOfParallelRun() throws IOException {
+        Path file = Files.createTempFile("games", ".ttr");
+        try {
+            long trials = 5 * SimulationRunner.CHUNK_SIZE + 3;
+            SimulationRunner runner = new SimulationRunner(3, trials, 4, 9L);
+            SimulationRunner.Tally tally;
+            try (GameRecordWriter writer = new GameRecordWriter(file, 3, 3, "Random", "Blocking", 9L)) {
+                tally = runner.run(RandomPlayer::new, BlockingPlayer::new, writer);
+            }
+            try (GameRecordReader reader = new GameRecordReader(file)) {
+                assertEquals(3, reader.getBoardSize(), "The header should keep the board size.");
+                assertEquals("Blocking", reader.getPlayerO(), "The header should keep the player names.");
+                assertEquals(9L, reader.getSeed(), "The header should keep the seed.");
+                SimulationRunner.Tally replayed = reader.replayAll();
+                assertEquals(tally.playerXWins, replayed.playerXWins, "Player X wins should survive the round trip.");
+                assertEquals(tally.playerOWins, replayed.playerOWins, "Player O wins should survive the round trip.");
+                assertEquals(tally.draws, replayed.draws, "Draws should survive the round trip.");
+            }
+            Set<Long> seen = new HashSet<>();
+            try (GameRecordReader reader = new GameRecordReader(file)) {
+                GameRecord record = new GameRecord();
+                while (reader.next(record)) {
+                    assertTrue(seen.add(record.getTrial()), "Every trial should be recorded once.");
+                }
+            }
+            assertEquals(trials, seen.size(), "Every trial should be recorded.");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Test that buffers come back to the pool after each chunk instead of being allocated anew.
+     */
+    @Test
+    public void testBuffersAreReused() throws IOException {
+        Path file = Files.createTempFile("games", ".ttr");
+        try {
+            SimulationRunner runner = new SimulationRunner(3, 200 * SimulationRunner.CHUNK_SIZE, 1, 3L);
+            try (GameRecordWriter writer = new GameRecordWriter(file, 3, 3, "Random", "Random", 3L)) {
+                runner.run(RandomPlayer::new, RandomPlayer::new, writer);
+                assertTrue(writer.getAllocatedBuffers() <= 20,
+                        "200 chunks should reuse a few buffers, not allocate " + writer.getAllocatedBuffers());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Test that moves above 127 and large trial numbers survive varint packing.
+     */
+    @Test
+    public void testLargeBoardVarints() throws IOException {
+        Path file = Files.createTempFile("games", ".ttr");
+        try {
+            TicTacToe game = new TicTacToe(15, 5);
+            game.initializeBoard();
+            int[] moves = {224, 0, 223, 1, 222, 2, 221, 3, 220};
+            for (int move : moves) {
+                game.playMove(move);
+            }
+            try (GameRecordWriter writer = new GameRecordWriter(file, 15, 5, "A", "B", 0L)) {
+                GameRecordWriter.Batch batch = writer.newBatch();
+                batch.append(5_000_000_000L, 'X', game);
+                batch.flush();
+            }
+            try (GameRecordReader reader = new GameRecordReader(file)) {
+                GameRecord record = new GameRecord();
+                assertTrue(reader.next(record), "The game should be read back.");
+                assertEquals(5_000_000_000L, record.getTrial(), "The trial number should be kept.");
+                assertEquals(moves.length, record.getMoveCount(), "Every move should be kept.");
+                for (int ply = 0; ply < moves.length; ply++) {
+                    assertEquals(moves[ply], record.getMove(ply), "Move " + ply + " should be kept.");
+                }
+                assertEquals('X', record.replay(new TicTacToe(15, 5)), "The game should replay to an X win.");
+                assertFalse(reader.next(record), "There should be no second game.");
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Test that a file without the record header is rejected.
+     */
+    @Test
+    public void testRejectsForeignFile() throws IOException {
+        Path file = Files.createTempFile("games", ".ttr");
+        try {
+            Files.write(file, new byte[64]);
+            assertThrows(IOException.class, () -> new GameRecordReader(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
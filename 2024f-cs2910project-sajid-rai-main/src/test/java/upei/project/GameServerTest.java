@@ -0,0 +1,122 @@
+package upei.project;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for GameServer, GameSession, SessionRegistry and LoadGenerator.
+ */
+public class GameServerTest {
+
+    /**
+     * Test a full two-client game and a game against a bot over the line protocol.
+     */
+    @Test
+    public void testProtocol() throws IOException {
+        try (GameServer server = new GameServer(0, 10, 60_000);
+             Socket socket = new Socket("localhost", server.getPort());
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true)) {
+            out.println("MOVE 0 0");
+            assertTrue(in.readLine().startsWith("ERR"), "A move before NEW should be rejected.");
+            out.println("NEW 3 3 none");
+            assertTrue(in.readLine().startsWith("OK "), "NEW should open a session.");
+            out.println("MOVE 0 0");
+            assertEquals("OK -1 PLAYING", in.readLine(), "Without a bot nobody should answer.");
+            out.println("MOVE 0 0");
+            assertEquals("ERR invalid move", in.readLine(), "An occupied cell should be rejected.");
+            for (String move : new String[] {"MOVE 0 1", "MOVE 1 1", "MOVE 0 2"}) {
+                out.println(move);
+                assertEquals("OK -1 PLAYING", in.readLine(), "The game should go on.");
+            }
+            out.println("BOARD");
+            assertEquals("BOARD XOO/-X-/--- PLAYING", in.readLine(), "The board should show both sides' moves.");
+            out.println("MOVE 2 2");
+            assertEquals("OK -1 X_WINS", in.readLine(), "The diagonal should win.");
+            out.println("MOVE 2 0");
+            assertTrue(in.readLine().startsWith("ERR game over"), "A finished game should take no moves.");
+            out.println("SCORE");
+            assertEquals("SCORE 1 0 0", in.readLine(), "The win should be scored.");
+
+            out.println("NEW 3 3 blocking");
+            assertTrue(in.readLine().startsWith("OK "), "NEW should open a second session.");
+            out.println("MOVE 1 1");
+            String[] reply = in.readLine().split(" ");
+            int botMove = Integer.parseInt(reply[1]);
+            assertTrue(botMove >= 0 && botMove < 9 && botMove != 4, "The bot should answer on a free cell.");
+            out.println("QUIT");
+            assertEquals("BYE", in.readLine(), "QUIT should end the connection.");
+        }
+    }
+
+    /**
+     * Test that an over-long line is answered with an error and ends only its own connection.
+     */
+    @Test
+    public void testLongLineClosesConnection() throws Exception {
+        try (GameServer server = new GameServer(0, 10, 60_000);
+             Socket socket = new Socket("localhost", server.getPort());
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII))) {
+            String request = "BOARD\r\n" + "x".repeat(100_000) + "\n";
+            Thread writer = new Thread(() -> {
+                try {
+                    socket.getOutputStream().write(request.getBytes(StandardCharsets.US_ASCII));
+                } catch (IOException e) {
+                    // The server may hang up before everything is sent
+                }
+            });
+            writer.start();
+            assertEquals("ERR no game, send NEW", in.readLine(), "A line ending in CRLF should be executed.");
+            assertEquals("ERR line too long", in.readLine(), "The long line should be rejected.");
+            assertNull(in.readLine(), "The connection should then be closed.");
+            writer.join();
+
+            try (Socket other = new Socket("localhost", server.getPort());
+                 BufferedReader otherIn = new BufferedReader(new InputStreamReader(other.getInputStream(), StandardCharsets.US_ASCII));
+                 PrintWriter otherOut = new PrintWriter(other.getOutputStream(), true)) {
+                otherOut.println("NEW 3 3 none");
+                assertTrue(otherIn.readLine().startsWith("OK "), "Other clients should still be served.");
+            }
+        }
+    }
+
+    /**
+     * Test that idle sessions are evicted to make room and the capacity is enforced.
+     */
+    @Test
+    public void testRegistryEviction() throws InterruptedException {
+        try (SessionRegistry registry = new SessionRegistry(2, 60_000)) {
+            registry.create(3, 3, null);
+            registry.create(3, 3, null);
+            assertThrows(IllegalStateException.class, () -> registry.create(3, 3, null));
+            assertEquals(2, registry.size(), "A rejected session should not be stored.");
+        }
+        try (SessionRegistry registry = new SessionRegistry(2, 20)) {
+            long id = registry.create(3, 3, null).getId();
+            registry.create(3, 3, null);
+            Thread.sleep(50);
+            assertNotNull(registry.create(3, 3, null), "Idle sessions should make room.");
+            assertNull(registry.get(id), "An idle session should be evicted.");
+        }
+    }
+
+    /**
+     * Test that many concurrent load clients finish every game.
+     */
+    @Test
+    public void testLoadGenerator() throws Exception {
+        try (GameServer server = new GameServer(0, 200, 60_000)) {
+            LoadGenerator generator = new LoadGenerator("localhost", server.getPort(), 3, 3);
+            generator.run(100, 10, 5L);
+            assertEquals(1000, generator.getGames(), "Every client should finish its games.");
+            assertEquals(100, server.getRegistry().size(), "Every client should hold one session.");
+        }
+    }
+}
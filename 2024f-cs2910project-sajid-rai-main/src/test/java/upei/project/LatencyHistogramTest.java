@@ -0,0 +1,42 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LatencyHistogram.
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Test that every value falls in a bucket whose range contains it, within about 3%.
+     */
+    @Test
+    public void testBucketPrecision() {
+        for (long value : new long[] {0, 1, 31, 32, 33, 63, 64, 100, 1_000, 123_456, 10_000_000_000L, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            long highest = LatencyHistogram.highestValueIn(bucket);
+            assertTrue(highest >= value, "Bucket of " + value + " should reach it.");
+            assertTrue(highest - value <= value / 32, "Bucket of " + value + " should be within 1/32.");
+            if (bucket > 0) {
+                assertTrue(LatencyHistogram.highestValueIn(bucket - 1) < value, "The previous bucket should end below " + value + ".");
+            }
+        }
+    }
+
+    /**
+     * Test percentiles of a uniform distribution.
+     */
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+        assertEquals(10_000, histogram.count(), "Every value should be counted.");
+        assertEquals(5_000, histogram.valueAtPercentile(50), 5_000 / 32, "The median should be about 5000.");
+        assertEquals(9_900, histogram.valueAtPercentile(99), 9_900 / 32, "The 99th percentile should be about 9900.");
+        assertTrue(histogram.valueAtPercentile(100) >= 10_000, "The maximum should cover the largest value.");
+        assertEquals(0, new LatencyHistogram().valueAtPercentile(99), "An empty histogram should report 0.");
+    }
+}
@@ -0,0 +1,92 @@
+package upei.project;
+
+import java.io.IOException;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ValueTable, SelfPlayTrainer and LearnedPlayer.
+ */
+public class LearnedPlayerTest {
+
+    /**
+     * Test that a table trained by parallel self-play beats random play on 3x3 and that a
+     * frozen player loaded from the saved file plays exactly as the trained one.
+     */
+    @Test
+    public void testTrainedPlayerBeatsRandomPlayer() throws IOException {
+        ValueTable table = new ValueTable(3, 3);
+        SelfPlayTrainer.Report report = new SelfPlayTrainer(table, 2, 11L).train(200_000);
+        assertEquals(200_000, report.games, "Every game should be played.");
+        assertTrue(report.gamesPerSecondPerCore() > 0, "Throughput should be reported.");
+
+        TicTacToe game = new TicTacToe(3);
+        Player learnedX = new LearnedPlayer('X', table);
+        Player learnedO = new LearnedPlayer('O', table);
+        assertEquals('-', SimulationRunner.playGame(game, learnedX, learnedO), "Self-play should end in a draw.");
+        SplittableRandom random = new SplittableRandom(5L);
+        int losses = 0;
+        int wins = 0;
+        for (int i = 0; i < 500; i++) {
+            char asX = SimulationRunner.playGame(game, learnedX, new RandomPlayer('O', random));
+            char asO = SimulationRunner.playGame(game, new RandomPlayer('X', random), learnedO);
+            wins += (asX == 'X' ? 1 : 0) + (asO == 'O' ? 1 : 0);
+            losses += (asX == 'O' ? 1 : 0) + (asO == 'X' ? 1 : 0);
+        }
+        assertTrue(wins > 700, "The trained player should win most games against random play, won " + wins);
+        assertTrue(losses < 10, "The trained player should hardly ever lose to random play, lost " + losses);
+
+        Path file = Files.createTempFile("values3", ".bin");
+        try {
+            table.save(file);
+            ValueTable loaded = ValueTable.load(file);
+            assertEquals(200_000, loaded.getGamesTrained(), "The training count should be saved.");
+            assertThrows(ReadOnlyBufferException.class, () -> loaded.set(0, 1f), "A loaded table should be frozen.");
+            ValueTable resumed = ValueTable.read(file);
+            resumed.set(0, 1f);
+            assertEquals(1f, resumed.get(0), "A table read for training should be writable.");
+            assertEquals(table.get(1), resumed.get(1), "A table read for training should hold the saved values.");
+            Player frozen = new LearnedPlayer('X', file);
+            for (int i = 0; i < 50; i++) {
+                game.initializeBoard();
+                RandomPlayer opponent = new RandomPlayer('O', random);
+                while (!game.checkWinner() && !game.isBoardFull()) {
+                    int move = game.getCurrentPlayer() == 'X' ? frozen.chooseMove(game.getBoard())
+                            : opponent.chooseMove(game.getBoard());
+                    if (game.getCurrentPlayer() == 'X') {
+                        assertEquals(learnedX.chooseMove(game.getBoard()), move, "The loaded table should play as trained.");
+                    }
+                    game.playMove(move);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Test that updates move an entry towards its target and that foreign files are refused.
+     */
+    @Test
+    public void testUpdateAndRejectsOtherFiles() throws IOException {
+        ValueTable table = new ValueTable(2, 2);
+        assertEquals(81, table.size(), "A 2x2 table should hold 3^4 entries.");
+        assertEquals(0.5f, table.get(40), "Entries should start at 0.5.");
+        table.update(40, 1f, 0.5f);
+        assertEquals(0.75f, table.get(40), 1e-6f, "An update should close the given share of the gap.");
+        assertThrows(IllegalArgumentException.class, () -> new ValueTable(5, 4), "Boards above 4x4 do not fit.");
+
+        Path file = Files.createTempFile("notatable", ".bin");
+        try {
+            Files.write(file, new byte[ValueTable.HEADER_BYTES + 4 * 81]);
+            assertThrows(IOException.class, () -> ValueTable.load(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LineCounters.
+ */
+public class LineCountersTest {
+
+    /**
+     * Test that a completed row is detected through any of its cells.
+     */
+    @Test
+    public void testCompletesLine() {
+        LineCounters counters = new LineCounters(4);
+        for (int j = 0; j < 4; j++) {
+            counters.add(2, j, 'X');
+        }
+        assertTrue(counters.completesLine(2, 3, 'X'), "Row 2 should be complete for Player X.");
+        assertFalse(counters.completesLine(2, 3, 'O'), "Player O has no stones.");
+        counters.remove(2, 1, 'X');
+        assertFalse(counters.completesLine(2, 3, 'X'), "Row 2 should no longer be complete.");
+    }
+
+    /**
+     * Test that counters built from a board spot the missing cell of a diagonal.
+     */
+    @Test
+    public void testWouldCompleteFromBoard() {
+        char[][] board = {
+                {'O', '-', '-'},
+                {'-', 'O', 'X'},
+                {'-', 'X', '-'}
+        };
+        LineCounters counters = LineCounters.fromBoard(board);
+        assertTrue(counters.wouldComplete(2, 2, 'O'), "Cell (2, 2) completes the main diagonal.");
+        assertFalse(counters.wouldComplete(0, 2, 'O'), "Cell (0, 2) completes nothing for Player O.");
+    }
+}
@@ -0,0 +1,77 @@
+package upei.project;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for MctsPlayer.
+ */
+public class MctsPlayerTest {
+
+    /**
+     * Test that the search finds an immediate win.
+     */
+    @Test
+    public void testTakesWinningMove() {
+        char[][] board = {
+                {'X', 'X', '-'},
+                {'O', 'O', '-'},
+                {'-', '-', '-'}
+        };
+        assertEquals(2, new MctsPlayer('X', 4, 20000, 0, 1L).chooseMove(board), "Player X should complete row 0.");
+    }
+
+    /**
+     * Test that the search blocks an opponent's winning line.
+     */
+    @Test
+    public void testBlocksOpponent() {
+        char[][] board = {
+                {'X', '-', '-'},
+                {'-', 'O', 'O'},
+                {'-', 'X', '-'}
+        };
+        assertEquals(3, new MctsPlayer('X', 4, 20000, 0, 2L).chooseMove(board), "Player X should block row 1.");
+    }
+
+    /**
+     * Test that a time-limited search on a large board returns a legal move.
+     */
+    @Test
+    public void testTimeBudgetOnLargeBoard() {
+        TicTacToe game = new TicTacToe(15);
+        game.playMove(7, 7);
+        int move = new MctsPlayer('O', 4, 0, 100, 3L).chooseMove(game.getBoard());
+        assertTrue(game.playMove(move), "The move should be legal.");
+    }
+
+    /**
+     * Test that complete games against a random player finish normally.
+     */
+    @Test
+    public void testPlaysFullGames() {
+        TicTacToe game = new TicTacToe(4);
+        Player mcts = new MctsPlayer('X', 2, 500, 0, 4L);
+        Random random = new Random(4L);
+        for (int i = 0; i < 5; i++) {
+            SimulationRunner.playGame(game, mcts, new RandomPlayer('O', random));
+            assertTrue(game.checkWinner() || game.isBoardFull(), "The game should have ended.");
+        }
+    }
+
+    /**
+     * Test that players leave no threads of their own behind, however many are created.
+     */
+    @Test
+    public void testPlayersOwnNoThreads() {
+        char[][] board = new TicTacToe(3).getBoard();
+        new MctsPlayer('X', 4, 100, 0, 5L).chooseMove(board);
+        int threads = Thread.activeCount();
+        for (int i = 0; i < 50; i++) {
+            new MctsPlayer('X', 4, 100, 0, i).chooseMove(board);
+        }
+        assertTrue(Thread.activeCount() <= threads + 4, "Players should share the common pool's workers.");
+    }
+}
@@ -0,0 +1,118 @@
+package upei.project;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for MoveCache and CachingPlayer.
+ */
+public class MoveCacheTest {
+
+    /**
+     * Test that keys tell positions apart and are stable, on small and large boards.
+     */
+    @Test
+    public void testKeys() {
+        TicTacToe game = new TicTacToe(3);
+        long empty = MoveCache.key(game.getBoard());
+        assertNotEquals(0L, empty, "0 is never a key.");
+        game.playMove(4);
+        long centre = MoveCache.key(game.getBoard());
+        assertNotEquals(empty, centre, "Different positions should have different keys.");
+        assertEquals(centre, MoveCache.key(game.snapshot().toArray()), "Equal positions should share a key.");
+        assertNotEquals(empty, MoveCache.key(new TicTacToe(4).getBoard()), "Board sizes should be told apart.");
+
+        TicTacToe large = new TicTacToe(9, 5);
+        long before = MoveCache.key(large.getBoard());
+        large.playMove(80);
+        assertNotEquals(before, MoveCache.key(large.getBoard()), "Cells past the 32nd should count.");
+    }
+
+    /**
+     * Test that a full stripe evicts an entry not used since the hand last passed it.
+     */
+    @Test
+    public void testClockEviction() {
+        MoveCache cache = new MoveCache(32);
+        assertEquals(32, cache.capacity(), "32 entries are two per stripe.");
+        // Small keys all fall in the first stripe
+        cache.put(1, 10);
+        cache.put(2, 20);
+        assertEquals(10, cache.get(1), "A stored move should be found.");
+        cache.put(3, 30);
+        assertEquals(1, cache.getEvictions(), "The third key should evict one entry.");
+        assertEquals(10, cache.get(1), "The referenced entry should survive.");
+        assertEquals(MoveCache.ABSENT, cache.get(2), "The unreferenced entry should be evicted.");
+        assertEquals(30, cache.get(3), "The new entry should be found.");
+        assertEquals(3, cache.getHits(), "Hits should be counted.");
+        assertEquals(1, cache.getMisses(), "Misses should be counted.");
+        assertEquals(2, cache.size(), "The stripe should stay at its capacity.");
+    }
+
+    /**
+     * Test that concurrent lookups and stores with constant eviction never return a
+     * move stored for another key.
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        MoveCache cache = new MoveCache(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] tasks = new Future<?>[4];
+            for (int t = 0; t < tasks.length; t++) {
+                long seed = t;
+                tasks[t] = executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    for (int i = 0; i < 200_000; i++) {
+                        long key = random.nextLong(1, 5_000) * 0x9E3779B97F4A7C15L;
+                        int move = cache.get(key);
+                        if (move == MoveCache.ABSENT) {
+                            cache.put(key, (int) Long.remainderUnsigned(key, 97));
+                        } else {
+                            assertEquals((int) Long.remainderUnsigned(key, 97), move, "A hit should be the key's own move.");
+                        }
+                    }
+                });
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(800_000, cache.getHits() + cache.getMisses(), "Every lookup should be counted.");
+        assertTrue(cache.getEvictions() > 0, "A key space larger than the cache should evict.");
+        assertTrue(cache.size() <= cache.capacity(), "The cache should never outgrow its capacity.");
+    }
+
+    /**
+     * Test that a cached perfect player still plays perfectly and hits the cache, and
+     * that random choices are never cached.
+     */
+    @Test
+    public void testCachingPlayer() {
+        MoveCache cache = new MoveCache(4096);
+        Player cached = new CachingPlayer(new AlphaBetaPlayer('X'), cache);
+        TicTacToe game = new TicTacToe(3);
+        SplittableRandom random = new SplittableRandom(9L);
+        for (int i = 0; i < 200; i++) {
+            assertNotEquals('O', SimulationRunner.playGame(game, cached, new RandomPlayer('O', random)),
+                    "The cached player should never lose.");
+        }
+        assertTrue(cache.getHitRate() > 0.5, "Repeated positions should hit the cache: " + cache);
+
+        MoveCache randomCache = new MoveCache(4096);
+        SimulationRunner runner = new SimulationRunner(3, 2_000, 2, 5L);
+        runner.run(CachingPlayer.caching(RandomPlayer::new, randomCache), RandomPlayer::new);
+        assertEquals(0, randomCache.size(), "Random moves should not be cached.");
+
+        MoveCache blockingCache = new MoveCache(4096);
+        runner.run(CachingPlayer.caching(BlockingPlayer::new, blockingCache), RandomPlayer::new);
+        assertTrue(blockingCache.size() > 0 && blockingCache.getHits() > 0, "Blocks should be cached and reused.");
+    }
+}
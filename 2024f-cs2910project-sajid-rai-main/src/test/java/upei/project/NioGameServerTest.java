@@ -0,0 +1,141 @@
+package upei.project;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for NioGameServer.
+ */
+public class NioGameServerTest {
+
+    /**
+     * Test that pipelined commands, split across writes and mixed case, are all answered in order.
+     */
+    @Test
+    public void testPipelinedCommands() throws IOException {
+        try (NioGameServer server = new NioGameServer(0, 10, 60_000);
+             Socket socket = new Socket("localhost", server.getPort());
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII))) {
+            OutputStream out = socket.getOutputStream();
+            out.write("board\nNEW 3 3 none\nMOVE 0 0\nmove 0 1\nMOVE 0 0\nBOARD\nMO".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            assertEquals("ERR no game, send NEW", in.readLine(), "BOARD before NEW should be rejected.");
+            assertTrue(in.readLine().startsWith("OK "), "NEW should open a session.");
+            assertEquals("OK -1 PLAYING", in.readLine(), "The first move should be played.");
+            assertEquals("OK -1 PLAYING", in.readLine(), "Lower-case commands should be accepted.");
+            assertEquals("ERR invalid move", in.readLine(), "An occupied cell should be rejected.");
+            assertEquals("BOARD XO-/---/--- PLAYING", in.readLine(), "The board should be encoded from the session.");
+            out.write("VE 1 1\r\nMOVE 2 0\nMOVE 2 2\nSCORE\nMOVE x y\nQUIT\nBOARD\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            assertEquals("OK -1 PLAYING", in.readLine(), "A command split across writes should be reassembled.");
+            assertEquals("OK -1 PLAYING", in.readLine(), "O should move on the left column.");
+            assertEquals("OK -1 X_WINS", in.readLine(), "The diagonal should win.");
+            assertEquals("SCORE 1 0 0", in.readLine(), "The win should be scored.");
+            assertEquals("ERR malformed command", in.readLine(), "A bad move should be reported.");
+            assertEquals("BYE", in.readLine(), "QUIT should be answered.");
+            assertNull(in.readLine(), "Nothing after QUIT should be executed.");
+        }
+    }
+
+    /**
+     * Test that a client sending an over-long complete line is cut off without taking the
+     * event loop, and the other clients, down with it.
+     */
+    @Test
+    public void testLongLineClosesOnlyItsConnection() throws Exception {
+        try (NioGameServer server = new NioGameServer(0, 10, 60_000);
+             Socket socket = new Socket("localhost", server.getPort());
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII))) {
+            StringBuilder request = new StringBuilder("BOARD\n".repeat(5000));
+            request.append("x".repeat(30_000)).append('\n');
+            Thread writer = new Thread(() -> {
+                try {
+                    OutputStream out = socket.getOutputStream();
+                    out.write(request.toString().getBytes(StandardCharsets.US_ASCII));
+                    out.flush();
+                } catch (IOException e) {
+                    // The server may hang up before everything is sent
+                }
+            });
+            writer.start();
+            String last = null;
+            int answers = 0;
+            for (String line; (line = in.readLine()) != null; last = line) {
+                answers++;
+            }
+            writer.join();
+            assertEquals(5001, answers, "Every BOARD and the long line should be answered.");
+            assertEquals("ERR line too long", last, "The long line should be rejected, not executed.");
+
+            try (Socket other = new Socket("localhost", server.getPort());
+                 BufferedReader otherIn = new BufferedReader(new InputStreamReader(other.getInputStream(), StandardCharsets.US_ASCII))) {
+                other.getOutputStream().write("NEW 3 3 none\n".getBytes(StandardCharsets.US_ASCII));
+                assertTrue(otherIn.readLine().startsWith("OK "), "The server should still accept new games.");
+            }
+        }
+    }
+
+    /**
+     * Test that a client pipelining far more than it reads is held back, without stalling
+     * the event loop for others, and gets every answer in order once it reads again.
+     */
+    @Test
+    public void testSlowReaderDoesNotStallOthers() throws Exception {
+        int boards = 5000;
+        try (NioGameServer server = new NioGameServer(0, 10, 60_000);
+             Socket slow = new Socket("localhost", server.getPort());
+             BufferedReader slowIn = new BufferedReader(new InputStreamReader(slow.getInputStream(), StandardCharsets.US_ASCII))) {
+            String request = "NEW 64 64 none\n" + "BOARD\n".repeat(boards);
+            Thread writer = new Thread(() -> {
+                try {
+                    slow.getOutputStream().write(request.getBytes(StandardCharsets.US_ASCII));
+                } catch (IOException e) {
+                    // Failed writes show up as missing answers below
+                }
+            });
+            writer.setDaemon(true);
+            writer.start();
+            Thread.sleep(200);
+
+            try (Socket other = new Socket("localhost", server.getPort());
+                 BufferedReader otherIn = new BufferedReader(new InputStreamReader(other.getInputStream(), StandardCharsets.US_ASCII))) {
+                other.setSoTimeout(2000);
+                OutputStream otherOut = other.getOutputStream();
+                for (int i = 0; i < 20; i++) {
+                    long start = System.nanoTime();
+                    otherOut.write("BOARD\n".getBytes(StandardCharsets.US_ASCII));
+                    assertEquals("ERR no game, send NEW", otherIn.readLine(), "Other clients should be answered.");
+                    assertTrue(System.nanoTime() - start < 500_000_000L, "The event loop should not be stalled.");
+                }
+            }
+
+            assertTrue(slowIn.readLine().startsWith("OK "), "NEW should be answered first.");
+            for (int i = 0; i < boards; i++) {
+                String line = slowIn.readLine();
+                assertNotNull(line, "Every held-back BOARD should be answered.");
+                assertTrue(line.startsWith("BOARD ") && line.endsWith(" PLAYING"), "Answers should stay whole and in order.");
+            }
+            writer.join();
+        }
+    }
+
+    /**
+     * Test that many concurrent load clients finish every game on the event loop.
+     */
+    @Test
+    public void testLoadGenerator() throws Exception {
+        try (NioGameServer server = new NioGameServer(0, 500, 60_000)) {
+            LoadGenerator generator = new LoadGenerator("localhost", server.getPort(), 4, 3);
+            generator.run(300, 5, 8L);
+            assertEquals(1500, generator.getGames(), "Every client should finish its games.");
+            assertEquals(300, server.getRegistry().size(), "Every client should hold one session.");
+        }
+    }
+}
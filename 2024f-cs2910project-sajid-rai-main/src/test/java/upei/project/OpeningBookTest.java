@@ -0,0 +1,52 @@
+package upei.project;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for OpeningBook and BookPlayer.
+ */
+public class OpeningBookTest {
+
+    /**
+     * Test that a 3x3 book holds every undecided position up to symmetry and plays perfectly.
+     */
+    @Test
+    public void testThreeByThreeBook() throws IOException {
+        Path file = Files.createTempFile("book3", ".bin");
+        try {
+            // 765 essentially different positions, 138 of which are already decided
+            assertEquals(627, OpeningBook.build(3, 3, file), "Every undecided canonical position should be solved.");
+            Player bookX = new BookPlayer('X', file);
+            Player bookO = new BookPlayer('O', file);
+            TicTacToe game = new TicTacToe(3);
+            assertEquals('-', SimulationRunner.playGame(game, bookX, bookO), "Perfect play should draw.");
+            Random random = new Random(3L);
+            for (int i = 0; i < 200; i++) {
+                assertNotEquals('O', SimulationRunner.playGame(game, bookX, new RandomPlayer('O', random)), "Player X should never lose.");
+                assertNotEquals('X', SimulationRunner.playGame(game, new RandomPlayer('X', random), bookO), "Player O should never lose.");
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Test that a file without the book header is rejected.
+     */
+    @Test
+    public void testRejectsOtherFiles() throws IOException {
+        Path file = Files.createTempFile("notabook", ".bin");
+        try {
+            Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+            assertThrows(IOException.class, () -> new BookPlayer('X', file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package upei.project;
+
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RandomSource.
+ */
+public class RandomSourceTest {
+
+    /**
+     * Test that every source repeats its sequence for the same seed and not for another.
+     */
+    @Test
+    public void testSeededSequences() {
+        for (RandomSource source : RandomSource.values()) {
+            RandomGenerator first = source.create(2910L);
+            RandomGenerator second = source.create(2910L);
+            RandomGenerator other = source.create(2911L);
+            boolean differs = false;
+            for (int i = 0; i < 16; i++) {
+                long value = first.nextLong();
+                assertEquals(value, second.nextLong(), source + " should repeat for the same seed.");
+                differs |= value != other.nextLong();
+            }
+            assertTrue(differs, source + " should differ for another seed.");
+        }
+    }
+
+    /**
+     * Test that names are looked up ignoring case.
+     */
+    @Test
+    public void testLookup() {
+        assertEquals(RandomSource.L64X128, RandomSource.of("l64x128"), "Lower case names should be accepted.");
+        assertThrows(IllegalArgumentException.class, () -> RandomSource.of("mersenne"), "Unknown names should fail.");
+    }
+
+    /**
+     * Test that neighbouring streams of a run get unrelated seeds.
+     */
+    @Test
+    public void testMixSpreadsStreams() {
+        long a = RandomSource.mix(42L, 1);
+        long b = RandomSource.mix(42L, 2);
+        int differentBits = Long.bitCount(a ^ b);
+        assertTrue(differentBits > 16 && differentBits < 48, "About half the bits should differ.");
+    }
+
+    /**
+     * Test that a run on every source is reproducible and independent of the thread count.
+     */
+    @Test
+    public void testRunnerIsReproducibleOnEverySource() {
+        for (RandomSource source : RandomSource.values()) {
+            SimulationRunner single = new SimulationRunner(3, 5000, 1, 7L);
+            SimulationRunner parallel = new SimulationRunner(3, 5000, 4, 7L);
+            single.setRandomSource(source);
+            parallel.setRandomSource(source);
+            SimulationRunner.Tally expected = single.run(RandomPlayer::new, ThreatPlayer::new);
+            SimulationRunner.Tally tally = parallel.run(RandomPlayer::new, ThreatPlayer::new);
+            assertEquals(expected.playerXWins, tally.playerXWins, source + " X wins should not depend on threads.");
+            assertEquals(expected.playerOWins, tally.playerOWins, source + " O wins should not depend on threads.");
+            assertEquals(5000, tally.total(), source + " should play every trial.");
+        }
+    }
+}
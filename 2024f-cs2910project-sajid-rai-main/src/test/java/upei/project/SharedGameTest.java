@@ -0,0 +1,145 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for BoardState, SharedGame and the lock-free GameSession.
+ */
+public class SharedGameTest {
+
+    /**
+     * Test that playing a move leaves the old state unchanged and detects a win.
+     */
+    @Test
+    public void testStatesAreImmutable() {
+        BoardState empty = BoardState.empty(new WinRule(3, 3));
+        BoardState state = empty.play(0).play(3).play(1).play(4);
+        assertEquals("---/---/---", empty.toString(), "Playing should not change the earlier state.");
+        assertEquals("XX-/OO-/---", state.toString(), "Moves should alternate from 'X'.");
+        assertFalse(state.isOver(), "The game should go on.");
+        BoardState won = state.play(2);
+        assertEquals('X', won.getWinner(), "'X' should complete the top row.");
+        assertFalse(won.isLegal(5), "No move should be legal after the game ends.");
+        assertThrows(IllegalArgumentException.class, () -> state.play(0), "An occupied cell should be refused.");
+
+        char[][] copy = won.toArray();
+        copy[2][2] = 'O';
+        assertEquals('-', won.get(2, 2), "The array copy should be private.");
+    }
+
+    /**
+     * Test that a TicTacToe snapshot matches the game and does not follow it.
+     */
+    @Test
+    public void testTicTacToeSnapshot() {
+        TicTacToe game = new TicTacToe(3);
+        game.playMove(4);
+        game.playMove(0);
+        BoardState state = game.snapshot();
+        assertEquals("O--/-X-/---", state.toString(), "The snapshot should copy the board.");
+        assertEquals(0, state.getLastMove(), "The last move should be taken from the history.");
+        assertEquals('X', state.getCurrentPlayer(), "'X' should be to move.");
+        game.playMove(8);
+        assertEquals('-', state.get(2, 2), "Later moves should not show up in the snapshot.");
+    }
+
+    /**
+     * Test that of two threads moving from the same position only one succeeds, and that
+     * racing players never lose or duplicate a move.
+     */
+    @Test
+    public void testConcurrentMoves() throws InterruptedException {
+        SharedGame game = new SharedGame(8, 8);
+        BoardState start = game.snapshot();
+        assertTrue(game.compareAndSet(start, start.play(0)), "The first update should be installed.");
+        assertFalse(game.compareAndSet(start, start.play(1)), "An update from a stale snapshot should fail.");
+        game.reset();
+
+        int threads = 4;
+        AtomicInteger played = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int cell = first; cell < 64; cell += threads) {
+                    while (true) {
+                        BoardState current = game.snapshot();
+                        if (current.isOver() || !current.isLegal(cell)) {
+                            break;
+                        }
+                        if (game.compareAndSet(current, current.play(cell))) {
+                            played.incrementAndGet();
+                            break;
+                        }
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        go.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        BoardState end = game.snapshot();
+        assertEquals(played.get(), end.getMoveCount(), "Every installed move should be counted once.");
+        int stones = 0;
+        for (int cell = 0; cell < 64; cell++) {
+            stones += end.get(cell / 8, cell % 8) == '-' ? 0 : 1;
+        }
+        assertEquals(end.getMoveCount(), stones, "Every move should leave exactly one stone.");
+    }
+
+    /**
+     * Test that a spectator reading a session while players move always sees a whole
+     * position: alternating stones and a status consistent with the board.
+     */
+    @Test
+    public void testSpectatorSeesConsistentBoards() throws InterruptedException {
+        GameSession session = new GameSession(1, 4, 4, RandomPlayer::new);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger bad = new AtomicInteger();
+        Thread spectator = new Thread(() -> {
+            while (!done.get()) {
+                BoardState state = session.snapshot();
+                int x = 0;
+                int o = 0;
+                for (int row = 0; row < 4; row++) {
+                    for (int col = 0; col < 4; col++) {
+                        x += state.get(row, col) == 'X' ? 1 : 0;
+                        o += state.get(row, col) == 'O' ? 1 : 0;
+                    }
+                }
+                if (x + o != state.getMoveCount() || x - o < 0 || x - o > 1) {
+                    bad.incrementAndGet();
+                }
+            }
+        });
+        spectator.start();
+        for (int game = 0; game < 200; game++) {
+            for (int cell = 0; cell < 16 && session.snapshot().getWinner() == BoardState.ONGOING; cell++) {
+                session.move(cell / 4, cell % 4);
+            }
+            session.reset();
+        }
+        done.set(true);
+        spectator.join();
+        assertEquals(0, bad.get(), "No snapshot should show a half-played move.");
+        String[] score = session.score().split(" ");
+        int total = Integer.parseInt(score[1]) + Integer.parseInt(score[2]) + Integer.parseInt(score[3]);
+        assertEquals(200, total, "Every game should be scored exactly once.");
+    }
+}
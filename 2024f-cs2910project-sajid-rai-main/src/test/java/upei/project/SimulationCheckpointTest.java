@@ -0,0 +1,134 @@
+package upei.project;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SimulationCheckpoint and checkpointed SimulationRunner runs.
+ */
+public class SimulationCheckpointTest {
+    private static final long TRIALS = 20 * SimulationRunner.CHUNK_SIZE + 100;
+
+    /**
+     * Test that a run that fails part way resumes from its checkpoint with the totals of
+     * an uninterrupted run, without replaying the chunks it had finished.
+     */
+    @Test
+    public void testResumeMatchesUninterruptedRun() throws IOException {
+        SimulationRunner.Tally expected = new SimulationRunner(3, TRIALS, 2, 42L)
+                .run(RandomPlayer::new, BlockingPlayer::new);
+
+        Path directory = Files.createTempDirectory("checkpoints");
+        AtomicInteger chunksStarted = new AtomicInteger();
+        PlayerFactory failing = (symbol, random) -> {
+            if (chunksStarted.incrementAndGet() > 8) {
+                throw new IllegalStateException("simulated crash");
+            }
+            return new RandomPlayer(symbol, random);
+        };
+        SimulationRunner crashed = new SimulationRunner(3, TRIALS, 2, 42L);
+        crashed.setCheckpoint(directory, 0);
+        assertThrows(IllegalStateException.class, () -> crashed.run("Random-Blocking", failing, BlockingPlayer::new, null),
+                "The simulated crash should end the run.");
+
+        AtomicInteger chunksResumed = new AtomicInteger();
+        PlayerFactory counting = (symbol, random) -> {
+            chunksResumed.incrementAndGet();
+            return new RandomPlayer(symbol, random);
+        };
+        SimulationRunner resumed = new SimulationRunner(3, TRIALS, 2, 42L);
+        resumed.setCheckpoint(directory, 0);
+        SimulationRunner.Tally tally = resumed.run("Random-Blocking", counting, BlockingPlayer::new, null);
+        assertEquals(expected.playerXWins, tally.playerXWins, "X wins should match the uninterrupted run.");
+        assertEquals(expected.playerOWins, tally.playerOWins, "O wins should match the uninterrupted run.");
+        assertEquals(expected.draws, tally.draws, "Draws should match the uninterrupted run.");
+        assertTrue(chunksResumed.get() < 21, "Finished chunks should not be played again.");
+
+        SimulationRunner other = new SimulationRunner(3, TRIALS, 2, 42L);
+        other.setCheckpoint(directory, 0);
+        other.run("Random-Random", RandomPlayer::new, RandomPlayer::new, null);
+        assertTrue(Files.exists(directory.resolve("run1-Random-Random.ckpt")),
+                "Another pairing should keep its own checkpoint.");
+
+        SimulationRunner again = new SimulationRunner(3, TRIALS, 2, 42L);
+        again.setCheckpoint(directory, 0);
+        AtomicInteger chunksAgain = new AtomicInteger();
+        SimulationRunner.Tally finished = again.run("Random-Blocking", (symbol, random) -> {
+            chunksAgain.incrementAndGet();
+            return new RandomPlayer(symbol, random);
+        }, BlockingPlayer::new, null);
+        assertEquals(TRIALS, finished.total(), "A finished run should return its totals.");
+        assertEquals(0, chunksAgain.get(), "A finished run should play nothing.");
+    }
+
+    /**
+     * Test that progress survives a round trip through the file.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path file = Files.createTempFile("run", ".ckpt");
+        Files.delete(file);
+        SimulationCheckpoint checkpoint =
+                SimulationCheckpoint.open(file, "Random-Blocking", 3, 3, TRIALS, 7L, RandomSource.SPLITTABLE, 60_000);
+        SimulationRunner.Tally tally = new SimulationRunner.Tally();
+        tally.record('X');
+        tally.record('-');
+        checkpoint.complete(3, tally);
+        checkpoint.complete(20, tally);
+        assertFalse(Files.exists(file), "Nothing should be written before the interval.");
+        checkpoint.write();
+
+        SimulationCheckpoint read =
+                SimulationCheckpoint.open(file, "Random-Blocking", 3, 3, TRIALS, 7L, RandomSource.SPLITTABLE, 60_000);
+        assertTrue(read.isDone(3) && read.isDone(20), "Finished chunks should be read back.");
+        assertFalse(read.isDone(4), "Other chunks should not be done.");
+        assertEquals(2, read.completedChunks(), "Two chunks should be done.");
+        assertEquals(2, read.total().playerXWins, "The tally should be read back.");
+        assertEquals(2, read.total().draws, "The tally should be read back.");
+    }
+
+    /**
+     * Test that a checkpoint of another run or a damaged file is refused.
+     */
+    @Test
+    public void testRejectsForeignAndCorruptFiles() throws IOException {
+        Path file = Files.createTempFile("run", ".ckpt");
+        Files.delete(file);
+        SimulationCheckpoint.open(file, "Random-Blocking", 3, 3, TRIALS, 7L, RandomSource.SPLITTABLE, 0).write();
+        assertThrows(IllegalStateException.class,
+                () -> SimulationCheckpoint.open(file, "Random-Blocking", 3, 3, TRIALS, 8L, RandomSource.SPLITTABLE, 0),
+                "A checkpoint of another seed should be refused.");
+        assertThrows(IllegalStateException.class,
+                () -> SimulationCheckpoint.open(file, "Random-Blocking", 3, 3, TRIALS, 7L, RandomSource.L64X128, 0),
+                "A checkpoint of another generator should be refused.");
+        assertThrows(IllegalStateException.class,
+                () -> SimulationCheckpoint.open(file, "Blocking-Random", 3, 3, TRIALS, 7L, RandomSource.SPLITTABLE, 0),
+                "A checkpoint of another pairing should be refused.");
+        assertThrows(IllegalStateException.class,
+                () -> SimulationCheckpoint.open(file, "cache-Random-Blocking", 3, 3, TRIALS, 7L, RandomSource.SPLITTABLE, 0),
+                "A checkpoint of another mode should be refused.");
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 12] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class,
+                () -> SimulationCheckpoint.open(file, "Random-Blocking", 3, 3, TRIALS, 7L, RandomSource.SPLITTABLE, 0),
+                "A damaged checkpoint should be refused.");
+
+        SimulationRunner runner = new SimulationRunner(3, TRIALS, 1, 7L);
+        Path directory = Files.createTempDirectory("checkpoints");
+        Files.write(directory.resolve("run1-Random-Random.ckpt"), new byte[]{1, 2, 3});
+        runner.setCheckpoint(directory, 0);
+        assertThrows(UncheckedIOException.class,
+                () -> runner.run("Random-Random", RandomPlayer::new, RandomPlayer::new, null),
+                "A run should not start over an unreadable checkpoint.");
+        assertThrows(IllegalStateException.class, () -> runner.run(RandomPlayer::new, RandomPlayer::new),
+                "An unnamed run should not be checkpointed.");
+    }
+}
@@ -1,20 +1,168 @@
 package upei.project;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
+import javax.management.JMException;
 
 /**
  * SimulationExperiment class to conduct experiments comparing different player strategies.
+ * Usage: SimulationExperiment [-trials N] [-size N] [-k N] [-threads N] [-seed N] [-batch true] [-records DIR]
+ *        [-metrics FILE] [-checkpoint DIR] [-rng random|splittable|l64x128|xoroshiro128]
+ * With -batch the games run on the lockstep BatchEngine instead of Player objects.
+ * With -records every game of each experiment is streamed to DIR/experimentN.ttr
+ * (player-based runs only); read them back with GameRecordReader.
+ * With -metrics FILE live counters and latency percentiles are written to FILE every
+ * second and published as the JMX MBean
+ * upei.project:type=GameMetrics,name="SimulationExperiment".
+ * With -checkpoint DIR each experiment's progress is saved in DIR every ten seconds;
+ * rerunning the same command after a crash resumes where it stopped.
+ * -rng picks the generator the players draw from (splittable by default).
+ * -cache N lets the Blocking players share a MoveCache of N moves and prints its statistics.
  */
 public class SimulationExperiment {
-    private static final int NUM_TRIALS = 100;
+    static final int NUM_TRIALS = 100;
+    private static final int BOARD_SIZE = 3;
+    private static final long SEED = 2910L;
 
-    public static void main(String[] args) {
-        runExperiment();
+    public static void main(String[] args) throws IOException, JMException {
+        long trials = NUM_TRIALS;
+        int boardSize = BOARD_SIZE;
+        int winLength = 0;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long seed = SEED;
+        boolean batch = false;
+        Path records = null;
+        Path metricsFile = null;
+        Path checkpoints = null;
+        RandomSource randomSource = RandomSource.SPLITTABLE;
+        MoveCache cache = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "-trials" -> trials = Long.parseLong(args[i + 1]);
+                case "-size" -> boardSize = Integer.parseInt(args[i + 1]);
+                case "-k" -> winLength = Integer.parseInt(args[i + 1]);
+                case "-threads" -> parallelism = Integer.parseInt(args[i + 1]);
+                case "-seed" -> seed = Long.parseLong(args[i + 1]);
+                case "-batch" -> batch = Boolean.parseBoolean(args[i + 1]);
+                case "-records" -> records = Paths.get(args[i + 1]);
+                case "-metrics" -> metricsFile = Paths.get(args[i + 1]);
+                case "-checkpoint" -> checkpoints = Paths.get(args[i + 1]);
+                case "-rng" -> randomSource = RandomSource.of(args[i + 1]);
+                case "-cache" -> cache = new MoveCache(Integer.parseInt(args[i + 1]));
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        // Without -k a full line is needed, as in classic tic-tac-toe
+        if (winLength == 0) {
+            winLength = boardSize;
+        }
+        SimulationRunner runner = new SimulationRunner(boardSize, winLength, trials, parallelism, seed);
+        runner.setCheckpoint(checkpoints, 10_000);
+        runner.setRandomSource(randomSource);
+        MetricsReporter reporter = null;
+        if (metricsFile != null) {
+            GameMetrics metrics = new GameMetrics();
+            metrics.registerMBean("SimulationExperiment");
+            runner.setMetrics(metrics);
+            reporter = new MetricsReporter(metrics, metricsFile, 1000);
+        }
+        try {
+            if (batch) {
+                runBatchedExperiment(runner, trials);
+            } else if (records != null) {
+                runRecordedExperiment(runner, trials, records, boardSize, winLength, seed);
+            } else if (cache != null) {
+                runExperiment(runner, trials, "cache", CachingPlayer.caching(BlockingPlayer::new, cache));
+                System.out.println("Move cache: " + cache);
+            } else {
+                runExperiment(runner, trials);
+            }
+        } finally {
+            if (reporter != null) {
+                reporter.close();
+            }
+        }
+    }
+
+    /**
+     * Method to run the experiment with different player strategies on all cores.
+     * @param runner The configured parallel runner.
+     * @param trials The number of games the runner plays per pairing.
+     */
+    public static void runExperiment(SimulationRunner runner, long trials) {
+        runExperiment(runner, trials, "players", BlockingPlayer::new);
+    }
+
+    /**
+     * Method to run the experiment with the given factory for the Blocking players.
+     * @param runner The configured parallel runner.
+     * @param trials The number of games the runner plays per pairing.
+     * @param mode The mode the run names start with, so checkpoints of other modes are not resumed.
+     * @param blocking The factory of the Blocking players, e.g. a caching one.
+     */
+    public static void runExperiment(SimulationRunner runner, long trials, String mode, PlayerFactory blocking) {
+        // Experiment 1: Random Player vs Blocking Player
+        System.out.println("Experiment 1: Random Player vs Blocking Player");
+        printResults(runner.run(mode + "-Random-Blocking", RandomPlayer::new, blocking, null), trials);
+
+        // Experiment 2: Blocking Player vs Random Player
+        System.out.println("Experiment 2: Blocking Player vs Random Player");
+        printResults(runner.run(mode + "-Blocking-Random", blocking, RandomPlayer::new, null), trials);
+
+        // Experiment 3: Blocking Player vs Blocking Player
+        System.out.println("Experiment 3: Blocking Player vs Blocking Player");
+        printResults(runner.run(mode + "-Blocking-Blocking", blocking, blocking, null), trials);
     }
 
     /**
-     * Method to run the experiment with different player strategies.
+     * Method to run the experiment on all cores, streaming each pairing's games to its own file.
+     * @param runner The configured parallel runner.
+     * @param trials The number of games the runner plays per pairing.
+     * @param directory The directory the record files are written to.
+     * @param boardSize The board size, stored in the file headers.
+     * @param winLength The win length, stored in the file headers.
+     * @param seed The run seed, stored in the file headers.
+     * @throws IOException If a record file cannot be written.
+     */
+    public static void runRecordedExperiment(SimulationRunner runner, long trials, Path directory,
+                                             int boardSize, int winLength, long seed) throws IOException {
+        String[][] pairings = {{"Random", "Blocking"}, {"Blocking", "Random"}, {"Blocking", "Blocking"}};
+        for (int e = 0; e < pairings.length; e++) {
+            String nameX = pairings[e][0];
+            String nameO = pairings[e][1];
+            System.out.println("Experiment " + (e + 1) + ": " + nameX + " Player vs " + nameO + " Player");
+            Path file = directory.resolve("experiment" + (e + 1) + ".ttr");
+            try (GameRecordWriter writer = new GameRecordWriter(file, boardSize, winLength, nameX, nameO, seed)) {
+                printResults(runner.run("records-" + nameX + "-" + nameO, factory(nameX), factory(nameO), writer), trials);
+            }
+        }
+    }
+
+    private static PlayerFactory factory(String name) {
+        return name.equals("Random") ? RandomPlayer::new : BlockingPlayer::new;
+    }
+
+    /**
+     * Method to run the same three experiments on the batch engine.
+     * @param runner The configured parallel runner.
+     * @param trials The number of games the runner plays per pairing.
+     */
+    public static void runBatchedExperiment(SimulationRunner runner, long trials) {
+        System.out.println("Experiment 1: Random Player vs Blocking Player");
+        printResults(runner.runBatched(BatchEngine.Strategy.RANDOM, BatchEngine.Strategy.BLOCKING), trials);
+
+        System.out.println("Experiment 2: Blocking Player vs Random Player");
+        printResults(runner.runBatched(BatchEngine.Strategy.BLOCKING, BatchEngine.Strategy.RANDOM), trials);
+
+        System.out.println("Experiment 3: Blocking Player vs Blocking Player");
+        printResults(runner.runBatched(BatchEngine.Strategy.BLOCKING, BatchEngine.Strategy.BLOCKING), trials);
+    }
+
+    /**
+     * Method to run the experiment with different player strategies on a single thread.
      */
     public static void runExperiment() {
         Player randomPlayerX = new RandomPlayer('X');
@@ -58,8 +206,8 @@ public class SimulationExperiment {
             game.initializeBoard();
 
             while (true) {
-                int[] move = currentPlayer.makeMove(game.getBoard());
-                if (game.playMove(move[0], move[1])) {
+                int move = currentPlayer.chooseMove(game.getBoard());
+                if (game.playMove(move)) {
                     if (game.checkWinner()) {
                         if (currentPlayer == playerX) {
                             results.put("Player X Wins", results.get("Player X Wins") + 1);
@@ -89,4 +237,17 @@ public class SimulationExperiment {
         System.out.println("Draws: " + results.get("Draws"));
         System.out.println();
     }
+
+    /**
+     * Method to print the results of a parallel run.
+     * @param tally The merged counters of the run.
+     * @param trials The number of games played.
+     */
+    public static void printResults(SimulationRunner.Tally tally, long trials) {
+        System.out.println("Results after " + trials + " trials:");
+        System.out.println("Player X Wins: " + tally.playerXWins);
+        System.out.println("Player O Wins: " + tally.playerOWins);
+        System.out.println("Draws: " + tally.draws);
+        System.out.println();
+    }
 }
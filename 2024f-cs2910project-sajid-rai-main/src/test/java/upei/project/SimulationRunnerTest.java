@@ -0,0 +1,33 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SimulationRunner.
+ */
+public class SimulationRunnerTest {
+
+    /**
+     * Test that every trial is counted exactly once, including a partial last chunk.
+     */
+    @Test
+    public void testAllTrialsCounted() {
+        long trials = 3 * SimulationRunner.CHUNK_SIZE + 17;
+        SimulationRunner.Tally tally = new SimulationRunner(3, trials, 4, 1L).run(RandomPlayer::new, BlockingPlayer::new);
+        assertEquals(trials, tally.total(), "Every trial should produce exactly one result.");
+    }
+
+    /**
+     * Test that the totals depend on the seed only, not on the number of threads.
+     */
+    @Test
+    public void testReproducibleAcrossThreadCounts() {
+        long trials = 5000;
+        SimulationRunner.Tally single = new SimulationRunner(3, trials, 1, 42L).run(RandomPlayer::new, BlockingPlayer::new);
+        SimulationRunner.Tally parallel = new SimulationRunner(3, trials, 6, 42L).run(RandomPlayer::new, BlockingPlayer::new);
+        assertEquals(single.playerXWins, parallel.playerXWins, "Player X wins should not depend on the thread count.");
+        assertEquals(single.playerOWins, parallel.playerOWins, "Player O wins should not depend on the thread count.");
+        assertEquals(single.draws, parallel.draws, "Draws should not depend on the thread count.");
+    }
+}
@@ -0,0 +1,40 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for Sprt.
+ */
+public class SprtTest {
+
+    /**
+     * Test that a clear edge is accepted as H1 and a clear deficit as H0.
+     */
+    @Test
+    public void testClearResults() {
+        Sprt sprt = new Sprt(0, 20, 0.05, 0.05);
+        assertEquals(Sprt.Decision.ACCEPT_H1, sprt.decide(30, 2, 0), "Winning every game should accept H1.");
+        assertEquals(Sprt.Decision.ACCEPT_H0, sprt.decide(0, 2, 30), "Losing every game should accept H0.");
+        assertEquals(Sprt.Decision.ACCEPT_H0, sprt.decide(0, 64, 0), "Drawing every game should accept no edge.");
+    }
+
+    /**
+     * Test that a few even games are not enough to decide.
+     */
+    @Test
+    public void testContinuesOnThinEvidence() {
+        Sprt sprt = new Sprt(0, 20, 0.05, 0.05);
+        assertEquals(Sprt.Decision.CONTINUE, sprt.decide(5, 2, 5), "Twelve even games should not decide.");
+        assertEquals(0.0, sprt.logLikelihoodRatio(0, 0, 0), 0.0, "No games should carry no evidence.");
+    }
+
+    /**
+     * Test the Elo expected-score curve.
+     */
+    @Test
+    public void testExpectedScore() {
+        assertEquals(0.5, Sprt.expectedScore(0), 1e-12, "Equal ratings should expect half the points.");
+        assertEquals(10.0 / 11.0, Sprt.expectedScore(400), 1e-12, "400 points should expect 10 to 1.");
+    }
+}
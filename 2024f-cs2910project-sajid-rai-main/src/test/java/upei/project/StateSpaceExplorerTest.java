@@ -0,0 +1,104 @@
+package upei.project;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StateSpaceExplorer and OffHeapLongSet.
+ */
+public class StateSpaceExplorerTest {
+    private static final long[] POSITIONS_3X3 = {1, 9, 72, 252, 756, 1260, 1520, 1140, 390, 78};
+
+    /**
+     * Test that the 3x3 game has its well-known 5478 positions and 958 finished games,
+     * with the visited set in direct memory and in a mapped file.
+     */
+    @Test
+    public void testThreeByThree() throws IOException {
+        for (boolean mapped : new boolean[]{false, true}) {
+            Path directory = Files.createTempDirectory("layers");
+            StateSpaceExplorer explorer = new StateSpaceExplorer(3, 3, 2, directory);
+            explorer.setMapped(mapped);
+            List<StateSpaceExplorer.Layer> layers = explorer.explore();
+            assertEquals(POSITIONS_3X3.length, layers.size(), "Every depth should be explored.");
+            long xWins = 0;
+            long oWins = 0;
+            long draws = 0;
+            for (int depth = 0; depth < POSITIONS_3X3.length; depth++) {
+                StateSpaceExplorer.Layer layer = layers.get(depth);
+                assertEquals(POSITIONS_3X3[depth], layer.positions, "Positions at depth " + depth);
+                assertEquals(8 * layer.positions, Files.size(explorer.layerFile(depth)), "Layer file of depth " + depth);
+                xWins += layer.xWins;
+                oWins += layer.oWins;
+                draws += layer.draws;
+            }
+            assertEquals(120, layers.get(5).xWins, "X can first win with its third stone.");
+            assertEquals(626, xWins, "X wins should be counted.");
+            assertEquals(316, oWins, "O wins should be counted.");
+            assertEquals(16, draws, "Draws should be counted.");
+            assertFalse(Files.exists(directory.resolve("visited.bin")), "The mapped set should be removed.");
+        }
+    }
+
+    /**
+     * Test that a depth limit stops the search and that a set too small for a layer fails
+     * rather than loops.
+     */
+    @Test
+    public void testDepthAndCapacityLimits() throws IOException {
+        StateSpaceExplorer explorer = new StateSpaceExplorer(4, 3, 1, Files.createTempDirectory("layers"));
+        explorer.setMaxDepth(2);
+        List<StateSpaceExplorer.Layer> layers = explorer.explore();
+        assertEquals(3, layers.size(), "Only depths 0 to 2 should be explored.");
+        assertEquals(16 * 15, layers.get(2).positions, "Two stones can be anywhere.");
+
+        explorer.setMaxDepth(4);
+        explorer.setMaxCapacity(1 << 10);
+        assertThrows(IllegalStateException.class, explorer::explore, "A full set should be reported.");
+    }
+
+    /**
+     * Test that concurrent adds store each value exactly once.
+     */
+    @Test
+    public void testConcurrentAdds() throws Exception {
+        OffHeapLongSet set = new OffHeapLongSet(1 << 16);
+        AtomicLong added = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] tasks = new Future<?>[4];
+            for (int t = 0; t < tasks.length; t++) {
+                tasks[t] = executor.submit(() -> {
+                    for (long value = 1; value <= 40_000; value++) {
+                        if (set.add(value)) {
+                            added.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(40_000, added.get(), "Each value should be added once.");
+        assertEquals(40_000, set.size(), "The size should count each value once.");
+        assertTrue(set.contains(12_345) && !set.contains(40_001), "Lookups should find exactly the added values.");
+        AtomicLong sum = new AtomicLong();
+        set.forEach(sum::addAndGet);
+        assertEquals(40_000L * 40_001 / 2, sum.get(), "Iteration should visit every value once.");
+        set.clear();
+        assertEquals(0, set.size(), "A cleared set should be empty.");
+        assertFalse(set.contains(1), "A cleared set should hold nothing.");
+    }
+}
@@ -0,0 +1,92 @@
+package upei.project;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ThreatPlayer.
+ */
+public class ThreatPlayerTest {
+
+    /**
+     * Test that the player completes its own line before blocking the opponent's.
+     */
+    @Test
+    public void testPrefersWinOverBlock() {
+        char[][] board = {
+                {'X', 'X', '-'},
+                {'O', 'O', '-'},
+                {'-', '-', '-'}
+        };
+        assertEquals(5, new ThreatPlayer('O', new Random(1L)).chooseMove(board), "Player O should complete row 1.");
+        assertEquals(2, new ThreatPlayer('X', new Random(1L)).chooseMove(board), "Player X should complete row 0.");
+    }
+
+    /**
+     * Test that the player blocks an open four on a Gomoku board.
+     */
+    @Test
+    public void testBlocksFourInARow() {
+        TicTacToe game = new TicTacToe(15, 5);
+        int[] moves = {7 * 15 + 5, 0, 7 * 15 + 6, 14, 7 * 15 + 7, 14 * 15, 7 * 15 + 8};
+        for (int move : moves) {
+            game.playMove(move);
+        }
+        ThreatPlayer player = new ThreatPlayer('O', new Random(1L));
+        player.setRule(game.getRule());
+        int move = player.chooseMove(game.getBoard());
+        assertTrue(move == 7 * 15 + 4 || move == 7 * 15 + 9, "Player O should block one end of the four.");
+    }
+
+    /**
+     * Test that the map kept across games matches a map built from scratch every move,
+     * including after the board is reset for a new game.
+     */
+    @Test
+    public void testIncrementalMatchesRebuild() {
+        TicTacToe game = new TicTacToe(19, 5);
+        ThreatPlayer incremental = new ThreatPlayer('X', new Random(7L));
+        incremental.setRule(game.getRule());
+        Random random = new Random(3L);
+        for (int round = 0; round < 2; round++) {
+            game.initializeBoard();
+            while (!game.checkWinner() && !game.isBoardFull()) {
+                int move = incremental.chooseMove(game.getBoard());
+                ThreatPlayer fresh = new ThreatPlayer('X', new Random(7L));
+                fresh.setRule(game.getRule());
+                fresh.chooseMove(game.getBoard());
+                for (int cell = 0; cell < 19 * 19; cell++) {
+                    for (char player : new char[]{'X', 'O'}) {
+                        assertEquals(fresh.threatAt(cell, player), incremental.threatAt(cell, player),
+                                "Threat at " + cell + " after " + game.getMoveCount() + " moves should match.");
+                    }
+                }
+                if (game.getCurrentPlayer() == 'O' || random.nextBoolean()) {
+                    move = new RandomPlayer(game.getCurrentPlayer(), random).chooseMove(game.getBoard());
+                }
+                assertTrue(game.playMove(move), "Every move should be legal.");
+            }
+        }
+    }
+
+    /**
+     * Test that the player beats the blocking player on a large Gomoku board.
+     */
+    @Test
+    public void testBeatsBlockingPlayer() {
+        TicTacToe game = new TicTacToe(19, 5);
+        Player threat = new ThreatPlayer('X', new Random(5L));
+        Player blocking = new BlockingPlayer('O', new Random(5L));
+        threat.setRule(game.getRule());
+        blocking.setRule(game.getRule());
+        int threatWins = 0;
+        for (int g = 0; g < 10; g++) {
+            if (SimulationRunner.playGame(game, threat, blocking) == 'X') {
+                threatWins++;
+            }
+        }
+        assertEquals(10, threatWins, "The threat player should win every game.");
+    }
+}
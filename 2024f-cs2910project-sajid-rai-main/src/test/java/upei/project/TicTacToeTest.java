@@ -66,6 +66,18 @@ public class TicTacToeTest {
         assertFalse(movePlayed, "Move should be invalid if cell is already occupied.");
     }
 
+    /**
+     * Test that the turn passes to the other player after each valid move.
+     */
+    @Test
+    public void testPlayMoveAlternatesPlayers() {
+        game.playMove(0, 0);
+        game.playMove(1, 1);
+        assertEquals('X', game.getBoard()[0][0], "First move should belong to Player X.");
+        assertEquals('O', game.getBoard()[1][1], "Second move should belong to Player O.");
+        assertEquals('X', game.getCurrentPlayer(), "Player X should be next to move.");
+    }
+
     /**
      * Test the checkWinner method when a player has won in a row.
      */
@@ -118,6 +130,73 @@ public class TicTacToeTest {
         assertTrue(game.checkWinner(), "Player X should win with a complete anti-diagonal.");
     }
 
+    /**
+     * Test that undoing the winning move clears the win and restores the turn.
+     */
+    @Test
+    public void testUndoMove() {
+        game.playMove(0, 0);
+        game.playMove(1, 0);
+        game.playMove(0, 1);
+        game.playMove(1, 1);
+        game.playMove(0, 2);
+        assertTrue(game.checkWinner(), "Player X should win with a complete row.");
+        assertTrue(game.undoMove(), "The last move should be undone.");
+        assertFalse(game.checkWinner(), "No player should have won after the undo.");
+        assertEquals('-', game.getBoard()[0][2], "The undone cell should be empty again.");
+        assertEquals('X', game.getCurrentPlayer(), "Player X should be back on move.");
+    }
+
+    /**
+     * Test that redo replays undone moves, including the win they made, and that a new
+     * move drops the redo line.
+     */
+    @Test
+    public void testRedoMove() {
+        int[] moves = {0, 3, 1, 4, 2};
+        for (int move : moves) {
+            game.playMove(move);
+        }
+        assertFalse(game.redoMove(), "Nothing should be redone at the end of the history.");
+        game.undoMove();
+        game.undoMove();
+        assertTrue(game.redoMove(), "An undone move should be redone.");
+        assertEquals('O', game.getBoard()[1][1], "Player O's move should be back.");
+        assertTrue(game.redoMove(), "The winning move should be redone.");
+        assertTrue(game.checkWinner(), "The redone row should win again.");
+
+        game.undoMove();
+        game.undoMove();
+        assertTrue(game.playMove(4), "Replaying the undone move should be allowed.");
+        assertEquals(5, game.getHistoryLength(), "The same move should keep the redo line.");
+        assertTrue(game.playMove(8), "A different move should be allowed.");
+        assertEquals(5, game.getMoveCount(), "Five moves should have been played.");
+        assertFalse(game.redoMove(), "A different move should drop the redo line.");
+        assertFalse(game.checkWinner(), "Player X should not have won without the top row.");
+    }
+
+    /**
+     * Test that jumping through the history restores each position and turn.
+     */
+    @Test
+    public void testJumpTo() {
+        int[] moves = {4, 0, 8, 2, 1, 7};
+        for (int move : moves) {
+            game.playMove(move);
+        }
+        game.jumpTo(2);
+        assertEquals("O--/-X-/---", game.snapshot().toString(), "Two moves should remain.");
+        assertEquals('X', game.getCurrentPlayer(), "Player X should be on move after two moves.");
+        game.jumpTo(5);
+        assertEquals("OXO/-X-/--X", game.snapshot().toString(), "Five moves should be redone.");
+        assertEquals('O', game.getCurrentPlayer(), "Player O should be on move after five moves.");
+        game.jumpTo(0);
+        assertEquals(0, game.getMoveCount(), "Jumping to the start should undo every move.");
+        game.jumpTo(6);
+        assertEquals(7, game.getMove(5), "The whole history should be kept.");
+        assertThrows(IndexOutOfBoundsException.class, () -> game.jumpTo(7), "Jumping past the history should fail.");
+    }
+
     /**
      * Test the isBoardFull method when the board is full.
      */
@@ -155,4 +234,26 @@ public class TicTacToeTest {
         int[] move = blockingPlayer.makeMove(game.getBoard());
         assertArrayEquals(new int[]{0, 2}, move, "BlockingPlayer should block Player X from winning.");
     }
+
+    /**
+     * Test that moves encoded as cell indices address the same cells as row and column.
+     */
+    @Test
+    public void testPlayMoveByCellIndex() {
+        assertTrue(game.playMove(5), "Cell 5 should be a valid move.");
+        assertEquals('X', game.getBoard()[1][2], "Cell 5 should be row 1, column 2.");
+        assertFalse(game.playMove(9), "Cell 9 is outside a 3x3 board.");
+        assertEquals(1, game.getMoveCount(), "Only the valid move should be recorded.");
+    }
+
+    /**
+     * Test that BlockingPlayer reports its block as a cell index.
+     */
+    @Test
+    public void testBlockingPlayerChooseMove() {
+        game.playMove(0, 0); // X
+        game.playMove(1, 1); // O
+        game.playMove(1, 0); // X
+        assertEquals(6, blockingPlayer.chooseMove(game.getBoard()), "BlockingPlayer should block column 0 at cell 6.");
+    }
 }
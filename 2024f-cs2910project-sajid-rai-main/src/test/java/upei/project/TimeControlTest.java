@@ -0,0 +1,165 @@
+package upei.project;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for GameController under TimeControl.
+ */
+public class TimeControlTest {
+
+    /**
+     * Player that never answers until released.
+     */
+    private static final class StuckPlayer extends Player {
+        private final CountDownLatch release;
+
+        StuckPlayer(char symbol, CountDownLatch release) {
+            super(symbol);
+            this.release = release;
+        }
+
+        @Override
+        public int chooseMove(char[][] board) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return -1;
+        }
+    }
+
+    private static List<String> messagesOf(GameController controller) {
+        List<String> messages = new ArrayList<>();
+        controller.setRenderer(new BoardRenderer() {
+            @Override
+            public void gameStarted(TicTacToe game) {
+            }
+
+            @Override
+            public void movePlayed(TicTacToe game, int cell) {
+            }
+
+            @Override
+            public void message(String text) {
+                messages.add(text);
+            }
+        });
+        return messages;
+    }
+
+    /**
+     * Test that a player that never answers loses on time instead of stalling the game.
+     */
+    @Test
+    public void testStuckPlayerForfeits() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            GameController controller = new GameController(3, new StuckPlayer('X', release), new RandomPlayer('O'));
+            List<String> messages = messagesOf(controller);
+            GameMetrics metrics = new GameMetrics();
+            controller.setMetrics(metrics);
+            controller.setTimeControl(new TimeControl(20, 0), executor);
+            long start = System.nanoTime();
+            controller.playGame();
+            assertTrue(System.nanoTime() - start < 2_000_000_000L, "The game should not wait for the stuck player.");
+            assertTrue(messages.contains("Player X ran out of time."), "Lateness should be reported.");
+            assertTrue(messages.contains("Player X forfeits. Player O wins!"), "The stuck player should forfeit.");
+            assertEquals(1, metrics.getPlayerOWins(), "The forfeit should count as a win for O.");
+            assertTrue(messages.get(messages.size() - 1).contains("Player O Wins: 1"), "The scoreboard should show the win.");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that with the random-move policy a stuck player's moves are played for it and
+     * the game runs to its end.
+     */
+    @Test
+    public void testLateMovesPlayedAtRandom() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            GameController controller = new GameController(3, new RandomPlayer('X'), new StuckPlayer('O', release));
+            List<String> messages = messagesOf(controller);
+            TimeControl timeControl = new TimeControl(10, 0);
+            timeControl.setGraceMillis(0);
+            timeControl.setLatePolicy(TimeControl.Policy.RANDOM_MOVE);
+            controller.setTimeControl(timeControl, executor);
+            controller.playGame();
+            assertTrue(messages.contains("Player O ran out of time."), "Lateness should be reported.");
+            assertFalse(messages.stream().anyMatch(m -> m.contains("forfeits")), "Nobody should forfeit.");
+            String result = messages.get(messages.size() - 2);
+            assertTrue(result.endsWith("wins!") || result.equals("The game is a draw!"), "The game should be played out.");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that invalid moves are no longer retried forever under time control.
+     */
+    @Test
+    public void testRepeatedInvalidMoves() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Player invalid = new Player('X') {
+                @Override
+                public int chooseMove(char[][] board) {
+                    return 99;
+                }
+            };
+            GameController controller = new GameController(3, invalid, new RandomPlayer('O'));
+            List<String> messages = messagesOf(controller);
+            GameMetrics metrics = new GameMetrics();
+            controller.setMetrics(metrics);
+            TimeControl timeControl = new TimeControl(0, 0);
+            controller.setTimeControl(timeControl, executor);
+            controller.playGame();
+            assertEquals(3, metrics.getInvalidMoves(), "The player should get three attempts.");
+            assertTrue(messages.contains("Player X forfeits. Player O wins!"), "The player should then forfeit.");
+
+            timeControl.setInvalidPolicy(TimeControl.Policy.RANDOM_MOVE);
+            timeControl.setMaxInvalidMoves(1);
+            controller.playGame();
+            assertTrue(metrics.getInvalidMoves() > 3, "Every move of X should be replaced after one attempt.");
+            assertEquals(1, messages.stream().filter(m -> m.contains("forfeits")).count(), "The second game should be played out.");
+            assertEquals(2, metrics.getGames(), "Both games should be recorded.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that a searching player told the deadline answers in time with its best move so far.
+     */
+    @Test
+    public void testAnytimePlayerAnswersInTime() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            // Unlimited depth on 6x6 would take far longer than the budget
+            GameController controller = new GameController(6, 4,
+                    new AlphaBetaPlayer('X', Integer.MAX_VALUE, 0), new MctsPlayer('O', 1, 0, 60_000, 7L));
+            List<String> messages = messagesOf(controller);
+            TimeControl timeControl = new TimeControl(30, 5_000);
+            timeControl.setGraceMillis(500);
+            controller.setTimeControl(timeControl, executor);
+            controller.playGame();
+            assertFalse(messages.stream().anyMatch(m -> m.contains("ran out of time")), "No move should be late.");
+            assertFalse(messages.stream().anyMatch(m -> m.contains("forfeits")), "Nobody should forfeit.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package upei.project;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for Tournament.
+ */
+public class TournamentTest {
+
+    /**
+     * Test that a round robin plays every pairing, settles it early and ranks the perfect player first.
+     */
+    @Test
+    public void testRoundRobin() throws InterruptedException {
+        Tournament tournament = new Tournament(3, 3, 3, 1L);
+        tournament.add("Random", RandomPlayer::new);
+        tournament.add("Blocking", BlockingPlayer::new);
+        tournament.add("AlphaBeta", (symbol, random) -> new AlphaBetaPlayer(symbol));
+        tournament.add("AlphaBeta-copy", (symbol, random) -> new AlphaBetaPlayer(symbol));
+        List<Tournament.Entrant> standings = tournament.runRoundRobin();
+        assertEquals(6, tournament.getMatchups().size(), "Every pairing should be played once.");
+        for (Tournament.Matchup matchup : tournament.getMatchups()) {
+            assertTrue(matchup.games() < 4096, "Every matchup should stop before the game limit: " + matchup);
+            assertEquals(0, matchup.games() % 2, "Both colour assignments should be played equally often.");
+        }
+        Tournament.Matchup perfectPair = tournament.getMatchups().get(5);
+        assertEquals(Tournament.Result.EVEN, perfectPair.result, "Two perfect players should be found even.");
+        assertEquals(Tournament.Result.SECOND_STRONGER, tournament.getMatchups().get(0).result, "Blocking should beat Random.");
+        assertTrue(standings.get(0).name.startsWith("AlphaBeta"), "A perfect player should be rated first.");
+        assertEquals("Random", standings.get(3).name, "The random player should be rated last.");
+    }
+
+    /**
+     * Test that matchups are reproducible whatever the number of workers.
+     */
+    @Test
+    public void testReproducibleMatchups() throws InterruptedException {
+        long[][] results = new long[2][];
+        int[] workers = {1, 4};
+        for (int run = 0; run < 2; run++) {
+            Tournament tournament = new Tournament(3, 3, workers[run], 7L);
+            tournament.add("Random", RandomPlayer::new);
+            tournament.add("Blocking", BlockingPlayer::new);
+            tournament.add("Random-copy", RandomPlayer::new);
+            tournament.runRoundRobin();
+            results[run] = tournament.getMatchups().stream()
+                    .flatMapToLong(m -> LongStream.of(m.wins, m.draws, m.losses)).toArray();
+        }
+        assertArrayEquals(results[0], results[1], "Matchup results should not depend on the worker count.");
+    }
+
+    /**
+     * Test that a Swiss system never repeats a pairing while a new one is available.
+     */
+    @Test
+    public void testSwissPairings() throws InterruptedException {
+        Tournament tournament = new Tournament(3, 3, 2, 3L);
+        tournament.add("Random", RandomPlayer::new);
+        tournament.add("Blocking", BlockingPlayer::new);
+        tournament.add("AlphaBeta", (symbol, random) -> new AlphaBetaPlayer(symbol));
+        tournament.add("AlphaBeta-1", (symbol, random) -> new AlphaBetaPlayer(symbol, 1, 0));
+        List<Tournament.Entrant> standings = tournament.runSwiss(3);
+        assertEquals(6, tournament.getMatchups().size(), "Three rounds of two matchups should be played.");
+        Set<String> pairs = new HashSet<>();
+        for (Tournament.Matchup matchup : tournament.getMatchups()) {
+            String a = matchup.first.name;
+            String b = matchup.second.name;
+            assertTrue(pairs.add(a.compareTo(b) < 0 ? a + "/" + b : b + "/" + a), "No pairing should repeat: " + matchup);
+        }
+        assertEquals("Random", standings.get(3).name, "The random player should finish last.");
+    }
+}
@@ -0,0 +1,64 @@
+package upei.project;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for WinRule and k-in-a-row games.
+ */
+public class WinRuleTest {
+
+    /**
+     * Test that five in a row wins on a 15x15 board, wherever the last stone lands in the run.
+     */
+    @Test
+    public void testFiveInARowOnLargeBoard() {
+        TicTacToe game = new TicTacToe(15, 5);
+        int[][] xMoves = {{3, 4}, {4, 5}, {6, 7}, {7, 8}, {5, 6}};
+        int[][] oMoves = {{0, 0}, {0, 1}, {0, 2}, {14, 14}};
+        for (int i = 0; i < xMoves.length; i++) {
+            game.playMove(xMoves[i][0], xMoves[i][1]);
+            if (i < xMoves.length - 1) {
+                assertFalse(game.checkWinner(), "Player X should not have won yet.");
+                game.playMove(oMoves[i][0], oMoves[i][1]);
+                assertFalse(game.checkWinner(), "Player O should not have won.");
+            }
+        }
+        assertTrue(game.checkWinner(), "Player X should win with five on a diagonal.");
+    }
+
+    /**
+     * Test that four in a row is not enough when five are needed, and that runs stop at the edge.
+     */
+    @Test
+    public void testShortRunAndEdges() {
+        WinRule rule = new WinRule(6, 4);
+        char[][] board = new char[6][6];
+        for (char[] row : board) {
+            Arrays.fill(row, '-');
+        }
+        board[0][3] = 'O';
+        board[0][4] = 'O';
+        board[0][5] = 'O';
+        assertTrue(rule.completesLine(board, 0, 2, 'O'), "A stone at (0, 2) should make four in a row.");
+        assertFalse(rule.completesLine(board, 1, 0, 'O'), "Row 1 holds no stones.");
+        assertFalse(new WinRule(6, 5).completesLine(board, 0, 2, 'O'), "Four stones should not satisfy five in a row.");
+    }
+
+    /**
+     * Test that BlockingPlayer blocks a three-in-a-row threat on a larger board.
+     */
+    @Test
+    public void testBlockingPlayerUsesRule() {
+        TicTacToe game = new TicTacToe(7, 3);
+        Player blocker = new BlockingPlayer('O');
+        blocker.setRule(game.getRule());
+        game.playMove(3, 3); // X
+        game.playMove(0, 0); // O
+        game.playMove(4, 4); // X
+        int move = blocker.chooseMove(game.getBoard());
+        assertTrue(move == 2 * 7 + 2 || move == 5 * 7 + 5, "BlockingPlayer should block the diagonal.");
+    }
+}